@@ -0,0 +1,136 @@
+package com.example.demo.benchmark.search;
+
+import com.example.demo.repository.search.Trigrams;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Page of societies whose name contains the search, read with the plain LIKE and with the LIKE narrowed by the
+// search_trigram table, on an in-memory H2 database migrated with the application's Flyway scripts. The queries are
+// the ones the society specification renders when no name is indexed as ANY. Larger tables are run with
+// -p rows=1000000,10000000, the trigram table holds about 15 rows per society so those need a heap of several
+// gigabytes. Narrowing pays off for fragments few rows contain, a fragment most rows contain makes the subqueries
+// return nearly every id and the LIKE alone is faster
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TrigramSearchBenchmark {
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final String LIKE_SQL =
+        "SELECT id, cif_dni, name FROM society WHERE name LIKE ? ORDER BY LENGTH(name) LIMIT 20";
+    private static final String TRIGRAM_SQL = "SELECT id, cif_dni, name FROM society WHERE name LIKE ? AND %s "
+        + "ORDER BY LENGTH(name) LIMIT 20";
+    private static final String CANDIDATES_SQL =
+        "id IN (SELECT entity_id FROM search_trigram WHERE trigram = ? AND entity = 'Society' AND field = 'name')";
+
+    @Param({"100000"})
+    private int rows;
+
+    // REGULAR is plain H2, MySQL the compatibility mode the tests run in
+    @Param({"REGULAR", "MySQL"})
+    private String mode;
+
+    // A fragment a handful of names contain and one every name contains
+    @Param({"qzmkv", "Society"})
+    private String search;
+
+    private Connection connection;
+    private PreparedStatement like;
+    private PreparedStatement trigram;
+
+    @Setup
+    public void setUp() throws SQLException {
+        String url = "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER;MODE=" + mode;
+        Flyway.configure().dataSource(url, "sa", "").load().migrate();
+        connection = DriverManager.getConnection(url, "sa", "");
+        populate();
+
+        List<String> trigrams = Trigrams.search(search);
+        like = connection.prepareStatement(LIKE_SQL);
+        like.setString(1, "%" + search + "%");
+        trigram = connection.prepareStatement(
+            TRIGRAM_SQL.formatted(String.join(" AND ", Collections.nCopies(trigrams.size(), CANDIDATES_SQL))));
+        trigram.setString(1, "%" + search + "%");
+        for (int i = 0; i < trigrams.size(); i++) {
+            trigram.setString(i + 2, trigrams.get(i));
+        }
+    }
+
+    private void populate() throws SQLException {
+        Random random = new Random(42);
+        connection.setAutoCommit(false);
+        try (PreparedStatement society = connection.prepareStatement(
+                 "INSERT INTO society (id, cif_dni, name) VALUES (?, ?, ?)");
+             PreparedStatement trigrams = connection.prepareStatement(
+                 "INSERT INTO search_trigram (entity, field, trigram, entity_id) VALUES ('Society', 'name', ?, ?)")) {
+            for (int id = 1; id <= rows; id++) {
+                String name = "Society " + word(random, 8);
+                society.setLong(1, id);
+                society.setString(2, "C" + id);
+                society.setString(3, name);
+                society.addBatch();
+                for (String value : Trigrams.index(name)) {
+                    trigrams.setString(1, value);
+                    trigrams.setLong(2, id);
+                    trigrams.addBatch();
+                }
+                if (id % BATCH_SIZE == 0) {
+                    society.executeBatch();
+                    trigrams.executeBatch();
+                }
+            }
+            society.executeBatch();
+            trigrams.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    private static String word(Random random, int length) {
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.createStatement().execute("SHUTDOWN");
+        connection.close();
+    }
+
+    @Benchmark
+    public int like() throws SQLException {
+        return read(like);
+    }
+
+    @Benchmark
+    public int likeNarrowedByTrigrams() throws SQLException {
+        return read(trigram);
+    }
+
+    private static int read(PreparedStatement statement) throws SQLException {
+        int found = 0;
+        try (ResultSet result = statement.executeQuery()) {
+            while (result.next()) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
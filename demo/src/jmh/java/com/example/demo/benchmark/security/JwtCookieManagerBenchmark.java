@@ -0,0 +1,31 @@
+package com.example.demo.benchmark.security;
+
+import com.example.demo.security.jwt.component.JwtCookieManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpCookie;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtCookieManagerBenchmark {
+
+    // Size of a signed access token as stored in the AuthToken cookie
+    private static final String TOKEN = "eyJhbGciOiJIUzI1NiJ9." + "x".repeat(260) + ".y7Zq3m4dVGdS1lkQv8yD6zX1d1Q9nA8aY2vJfR0pK4c";
+
+    private final JwtCookieManager jwtCookieManager = new JwtCookieManager();
+
+    @Benchmark
+    public HttpCookie createAccessTokenCookie() {
+        return jwtCookieManager.createAccessTokenCookie(TOKEN);
+    }
+
+    // The Set-Cookie header value is rendered for every response that carries a new token
+    @Benchmark
+    public String createAccessTokenCookieHeader() {
+        return jwtCookieManager.createAccessTokenCookie(TOKEN).toString();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.demo.benchmark.security;
+
+import com.example.demo.repository.RevokedTokenRepository;
+import com.example.demo.security.UserPrincipal;
+import com.example.demo.security.jwt.component.JwtCookieManager;
+import com.example.demo.security.jwt.component.JwtRequestFilter;
+import com.example.demo.security.jwt.component.JwtTokenProvider;
+import com.example.demo.security.jwt.component.TokenRevocationList;
+import com.example.demo.security.jwt.util.SecurityCipher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Full per-request cost of the JWT filter: cookie lookup, decryption, verification and principal creation
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtRequestFilterBenchmark {
+
+    private static final String JWT_SECRET = "guybew6584gyfuv6c4t6byuy45V6EcytDY4ECYRDy54vdy";
+    // The authorizing chain asks for the authentication like an authenticated() rule does, a permitAll route never does
+    private static final FilterChain AUTHORIZING_CHAIN = (request, response) -> SecurityContextHolder.getContext().getAuthentication();
+    private static final FilterChain PERMIT_ALL_CHAIN = (request, response) -> { };
+
+    // Stateful mode resolves the user through UserDetailsService, which is served from memory here
+    @Param({"false", "true"})
+    public boolean stateless;
+
+    private JwtRequestFilter jwtRequestFilter;
+    private MockHttpServletRequest authenticatedRequest;
+    private MockHttpServletRequest anonymousRequest;
+    private MockHttpServletRequest publicRequest;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        UserPrincipal user = new UserPrincipal(1, "admin@gmail.com", "password",
+            List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER")));
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(username -> user,
+            new TokenRevocationList(Mockito.mock(RevokedTokenRepository.class), Duration.ofMinutes(10)), JWT_SECRET,
+            JwtTokenProvider.TokenFormat.JWT);
+        jwtRequestFilter = new JwtRequestFilter(username -> user, jwtTokenProvider, new JwtCookieManager(), stateless,
+            Duration.ofMinutes(10), Duration.ofMinutes(5), List.of("/api/auth/**"), new SimpleMeterRegistry());
+
+        String token = jwtTokenProvider.generateToken(user).getTokenValue();
+        authenticatedRequest = new MockHttpServletRequest("GET", "/api/users/1");
+        authenticatedRequest.setCookies(new Cookie(JwtCookieManager.ACCESS_TOKEN_COOKIE_NAME, SecurityCipher.encrypt(token)));
+        anonymousRequest = new MockHttpServletRequest("GET", "/api/users/1");
+        publicRequest = new MockHttpServletRequest("POST", "/api/auth/login");
+        publicRequest.setCookies(authenticatedRequest.getCookies());
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void authenticatedRequest() throws ServletException, IOException {
+        filter(authenticatedRequest, AUTHORIZING_CHAIN);
+    }
+
+    @Benchmark
+    public void authenticatedRequestToPermitAllRoute() throws ServletException, IOException {
+        filter(authenticatedRequest, PERMIT_ALL_CHAIN);
+    }
+
+    @Benchmark
+    public void anonymousRequest() throws ServletException, IOException {
+        filter(anonymousRequest, AUTHORIZING_CHAIN);
+    }
+
+    @Benchmark
+    public void publicPathRequest() throws ServletException, IOException {
+        filter(publicRequest, PERMIT_ALL_CHAIN);
+    }
+
+    private void filter(MockHttpServletRequest request, FilterChain filterChain) throws ServletException, IOException {
+        // OncePerRequestFilter marks the request as filtered, the mark is cleared so the request can be reused
+        request.clearAttributes();
+        jwtRequestFilter.doFilter(request, response, filterChain);
+        SecurityContextHolder.clearContext();
+    }
+}
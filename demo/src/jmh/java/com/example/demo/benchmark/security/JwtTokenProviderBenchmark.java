@@ -0,0 +1,100 @@
+package com.example.demo.benchmark.security;
+
+import com.example.demo.repository.RevokedTokenRepository;
+import com.example.demo.security.UserPrincipal;
+import com.example.demo.security.jwt.component.JwtCookieManager;
+import com.example.demo.security.jwt.component.JwtTokenProvider;
+import com.example.demo.security.jwt.component.TokenRevocationList;
+import com.example.demo.security.jwt.dto.Token;
+import com.example.demo.security.jwt.dto.TokenClaims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtTokenProviderBenchmark {
+
+    private static final String JWT_SECRET = "guybew6584gyfuv6c4t6byuy45V6EcytDY4ECYRDy54vdy";
+
+    private final JwtCookieManager jwtCookieManager = new JwtCookieManager();
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtTokenProvider sealedJwtTokenProvider;
+    private UserPrincipal user;
+    private String token;
+    private String cookieValue;
+    private String sealedCookieValue;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(username -> null,
+            new TokenRevocationList(Mockito.mock(RevokedTokenRepository.class), Duration.ofMinutes(10)), JWT_SECRET,
+            JwtTokenProvider.TokenFormat.JWT);
+        user = new UserPrincipal(1, "admin@gmail.com", "password",
+            List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER")));
+        token = jwtTokenProvider.generateToken(user).getTokenValue();
+        sealedJwtTokenProvider = new JwtTokenProvider(username -> null,
+            new TokenRevocationList(Mockito.mock(RevokedTokenRepository.class), Duration.ofMinutes(10)), JWT_SECRET,
+            JwtTokenProvider.TokenFormat.SEALED);
+        cookieValue = jwtCookieManager.createAccessTokenCookie(token).getValue();
+        sealedCookieValue = jwtCookieManager.createAccessTokenCookie(
+            sealedJwtTokenProvider.generateToken(user).getTokenValue()).getValue();
+    }
+
+    @Benchmark
+    public Token generateToken() {
+        return jwtTokenProvider.generateToken(user);
+    }
+
+    @Benchmark
+    public Token generateRefreshToken() {
+        return jwtTokenProvider.generateRefreshToken(user);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenProvider.validateToken(token);
+    }
+
+    // Path used by JwtRequestFilter before the verification was done once with a prebuilt parser
+    @Benchmark
+    public String validateThenGetUsernameWithParserPerCall() {
+        Jwts.parserBuilder().setSigningKey(new SecretKeySpec(JWT_SECRET.getBytes(), SignatureAlgorithm.HS256.getJcaName()))
+            .build().parseClaimsJws(token);
+        return Jwts.parserBuilder().setSigningKey(new SecretKeySpec(JWT_SECRET.getBytes(), SignatureAlgorithm.HS256.getJcaName()))
+            .build().parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public Optional<TokenClaims> parseToken() {
+        return jwtTokenProvider.parseToken(token);
+    }
+
+    @Benchmark
+    public Token generateSealedToken() {
+        return sealedJwtTokenProvider.generateToken(user);
+    }
+
+    // What the filter does per request with the AuthToken cookie: cookie cipher, then JWT signature
+    @Benchmark
+    public Optional<TokenClaims> readAndParseCookie() {
+        return jwtTokenProvider.parseToken(jwtCookieManager.readToken(cookieValue));
+    }
+
+    // Same with jwt.token-format=sealed, where the cookie value is opened in a single AES-GCM pass
+    @Benchmark
+    public Optional<TokenClaims> readAndParseSealedCookie() {
+        return sealedJwtTokenProvider.parseToken(jwtCookieManager.readToken(sealedCookieValue));
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.benchmark.security;
+
+import com.example.demo.security.jwt.util.SecurityCipher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SecurityCipherBenchmark {
+
+    // Size of a signed access token as stored in the AuthToken cookie
+    private static final String TOKEN = "eyJhbGciOiJIUzI1NiJ9." + "x".repeat(220) + ".y7Zq3m4dVGdS1lkQv8yD6zX1d1Q9nA8aY2vJfR0pK4c";
+
+    private String encryptedToken;
+
+    @Setup
+    public void setUp() {
+        encryptedToken = SecurityCipher.encrypt(TOKEN);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String encrypt1Thread() {
+        return SecurityCipher.encrypt(TOKEN);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String encrypt4Threads() {
+        return SecurityCipher.encrypt(TOKEN);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public String encrypt16Threads() {
+        return SecurityCipher.encrypt(TOKEN);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String decrypt1Thread() {
+        return SecurityCipher.decrypt(encryptedToken);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String decrypt4Threads() {
+        return SecurityCipher.decrypt(encryptedToken);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public String decrypt16Threads() {
+        return SecurityCipher.decrypt(encryptedToken);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.demo.config;
+
+import com.example.demo.repository.BaseSearchRepository;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+@Configuration
+@EnableJpaRepositories(basePackages = "com.example.demo.repository", repositoryBaseClass = BaseSearchRepository.class)
+public class RepositoryConfig {
+}
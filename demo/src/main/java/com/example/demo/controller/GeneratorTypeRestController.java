@@ -1,9 +1,12 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.GeneratorTypeView;
 import com.example.demo.exception.ErrorInfo;
 import com.example.demo.exception.GeneratorTypeNotFoundException;
 import com.example.demo.model.GeneratorType;
 import com.example.demo.repository.criteria.GeneratorTypeCriteria;
+import com.example.demo.repository.cursor.CursorPage;
+import com.example.demo.repository.page.CountStrategy;
 import com.example.demo.service.GeneratorTypeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,10 +19,13 @@ import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @Tag(name = "Generator Type", description = "API related to all aspects about the Generator Type")
 @RestController
 @RequestMapping("/api/generator-types")
@@ -32,26 +38,60 @@ public class GeneratorTypeRestController {
         this.generatorTypeService = generatorTypeService;
     }
 
-    @Operation(summary = "Get Generator Types")
+    @Operation(summary = "Get Generator Types",
+               description = "count picks how the total is obtained: EXACT, NONE (no totals, only whether there is a next page) or ESTIMATED. "
+                           + "fields picks the fields returned, among id, name, and only those are read; the id is always returned")
     @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Generator Types found successfully",
                                         content = { @Content(mediaType = "application/json",
-                                        schema = @Schema(implementation = Page.class, type = "Page<GeneratorType>")) }),
+                                        schema = @Schema(implementation = Page.class, type = "Page<GeneratorTypeView>")) }),
+                            @ApiResponse(responseCode = "400", description = "Unknown field",
+                                        content = {@Content(mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorInfo.class))}),
                             @ApiResponse(responseCode = "401", description = "Unauthorized",
                                         content = @Content),
                             @ApiResponse(responseCode = "403", description = "Forbidden without permission",
                                         content = @Content)
     })
     @GetMapping
-    public ResponseEntity<Page<GeneratorType>> getGeneratorTypes(@ParameterObject GeneratorTypeCriteria filters,
-                                                                 @ParameterObject Pageable pageable) {
-        Page<GeneratorType> generatorTypes = generatorTypeService.findAll(filters, pageable);
+    public ResponseEntity<Slice<GeneratorTypeView>> getGeneratorTypes(@ParameterObject GeneratorTypeCriteria filters,
+                                                                      @RequestParam(required = false) CountStrategy count,
+                                                                      @RequestParam(required = false) List<String> fields,
+                                                                      @ParameterObject Pageable pageable) {
+        Slice<GeneratorTypeView> generatorTypes = generatorTypeService.findAll(filters, count, pageable, fields);
+        return new ResponseEntity<>(generatorTypes, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Get Generator Types after a cursor",
+               description = "Keyset pagination: an empty cursor gives the first page, each page gives the cursor of the next one. "
+                           + "fields picks the fields returned, among id, name; the id and the sort field are always returned")
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Generator Types found successfully",
+                                        content = { @Content(mediaType = "application/json",
+                                        schema = @Schema(implementation = CursorPage.class, type = "CursorPage<GeneratorTypeView>")) }),
+                            @ApiResponse(responseCode = "400", description = "Invalid cursor, sort or field",
+                                        content = {@Content(mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorInfo.class))}),
+                            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                                        content = @Content),
+                            @ApiResponse(responseCode = "403", description = "Forbidden without permission",
+                                        content = @Content)
+    })
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<GeneratorTypeView>> getGeneratorTypesAfter(@ParameterObject GeneratorTypeCriteria filters,
+                                                                                @RequestParam(defaultValue = "") String after,
+                                                                                @RequestParam(required = false) List<String> fields,
+                                                                                @ParameterObject Pageable pageable) {
+        CursorPage<GeneratorTypeView> generatorTypes = generatorTypeService.findAll(filters, after, pageable, fields);
         return new ResponseEntity<>(generatorTypes, HttpStatus.OK);
     }
 
-    @Operation(summary = "Get Generator Type by id")
+    @Operation(summary = "Get Generator Type by id",
+               description = "fields picks the fields returned, among id, name, and only those are read; the id is always returned")
     @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Generator Type found successfully",
                                         content = { @Content(mediaType = "application/json",
-                                        schema = @Schema(implementation = GeneratorType.class)) }),
+                                        schema = @Schema(implementation = GeneratorTypeView.class)) }),
+                            @ApiResponse(responseCode = "400", description = "Unknown field",
+                                        content = {@Content(mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorInfo.class))}),
                             @ApiResponse(responseCode = "401", description = "Unauthorized",
                                         content = @Content),
                             @ApiResponse(responseCode = "403", description = "Forbidden without permission",
@@ -61,8 +101,9 @@ public class GeneratorTypeRestController {
                                         schema = @Schema(implementation = ErrorInfo.class))})
     })
     @GetMapping("/{id}")
-    public ResponseEntity<GeneratorType> getGeneratorType(@PathVariable long id) {
-        GeneratorType generatorType = generatorTypeService.findById(id)
+    public ResponseEntity<GeneratorTypeView> getGeneratorType(@PathVariable long id,
+                                                              @RequestParam(required = false) List<String> fields) {
+        GeneratorTypeView generatorType = generatorTypeService.findById(id, fields)
             .orElseThrow(() -> new GeneratorTypeNotFoundException(id));
         return new ResponseEntity<>(generatorType, HttpStatus.OK);
     }
@@ -1,9 +1,12 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.SocietyView;
 import com.example.demo.exception.ErrorInfo;
 import com.example.demo.exception.SocietyNotFoundException;
 import com.example.demo.model.Society;
 import com.example.demo.repository.criteria.SocietyCriteria;
+import com.example.demo.repository.cursor.CursorPage;
+import com.example.demo.repository.page.CountStrategy;
 import com.example.demo.service.SocietyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,10 +19,13 @@ import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @Tag(name = "Society", description = "API related to all aspects about the Society")
 @RestController
 @RequestMapping("/api/societies")
@@ -32,26 +38,60 @@ public class SocietyRestController {
         this.societyService = societyService;
     }
 
-    @Operation(summary = "Get Societies")
+    @Operation(summary = "Get Societies",
+               description = "count picks how the total is obtained: EXACT, NONE (no totals, only whether there is a next page) or ESTIMATED. "
+                           + "fields picks the fields returned, among id, cifDni, name, and only those are read; the id is always returned")
     @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Societies found successfully",
                                         content = { @Content(mediaType = "application/json",
-                                        schema = @Schema(implementation = Page.class, type = "Page<Society>")) }),
+                                        schema = @Schema(implementation = Page.class, type = "Page<SocietyView>")) }),
+                            @ApiResponse(responseCode = "400", description = "Unknown field",
+                                        content = {@Content(mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorInfo.class))}),
                             @ApiResponse(responseCode = "401", description = "Unauthorized",
                                         content = @Content),
                             @ApiResponse(responseCode = "403", description = "Forbidden without permission",
                                         content = @Content)
     })
     @GetMapping
-    public ResponseEntity<Page<Society>> getSocieties(@ParameterObject SocietyCriteria filters,
-                                                      @ParameterObject Pageable pageable) {
-        Page<Society> societies = societyService.findAll(filters, pageable);
+    public ResponseEntity<Slice<SocietyView>> getSocieties(@ParameterObject SocietyCriteria filters,
+                                                           @RequestParam(required = false) CountStrategy count,
+                                                           @RequestParam(required = false) List<String> fields,
+                                                           @ParameterObject Pageable pageable) {
+        Slice<SocietyView> societies = societyService.findAll(filters, count, pageable, fields);
+        return new ResponseEntity<>(societies, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Get Societies after a cursor",
+               description = "Keyset pagination: an empty cursor gives the first page, each page gives the cursor of the next one. "
+                           + "fields picks the fields returned, among id, cifDni, name; the id and the sort field are always returned")
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Societies found successfully",
+                                        content = { @Content(mediaType = "application/json",
+                                        schema = @Schema(implementation = CursorPage.class, type = "CursorPage<SocietyView>")) }),
+                            @ApiResponse(responseCode = "400", description = "Invalid cursor, sort or field",
+                                        content = {@Content(mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorInfo.class))}),
+                            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                                        content = @Content),
+                            @ApiResponse(responseCode = "403", description = "Forbidden without permission",
+                                        content = @Content)
+    })
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<SocietyView>> getSocietiesAfter(@ParameterObject SocietyCriteria filters,
+                                                                     @RequestParam(defaultValue = "") String after,
+                                                                     @RequestParam(required = false) List<String> fields,
+                                                                     @ParameterObject Pageable pageable) {
+        CursorPage<SocietyView> societies = societyService.findAll(filters, after, pageable, fields);
         return new ResponseEntity<>(societies, HttpStatus.OK);
     }
 
-    @Operation(summary = "Get Society by id")
+    @Operation(summary = "Get Society by id",
+               description = "fields picks the fields returned, among id, cifDni, name, and only those are read; the id is always returned")
     @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Society found successfully",
                                         content = { @Content(mediaType = "application/json",
-                                        schema = @Schema(implementation = Society.class)) }),
+                                        schema = @Schema(implementation = SocietyView.class)) }),
+                            @ApiResponse(responseCode = "400", description = "Unknown field",
+                                        content = {@Content(mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorInfo.class))}),
                             @ApiResponse(responseCode = "401", description = "Unauthorized",
                                         content = @Content),
                             @ApiResponse(responseCode = "403", description = "Forbidden without permission",
@@ -61,8 +101,9 @@ public class SocietyRestController {
                                         schema = @Schema(implementation = ErrorInfo.class))})
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Society> getSociety(@PathVariable long id) {
-        Society society = societyService.findById(id)
+    public ResponseEntity<SocietyView> getSociety(@PathVariable long id,
+                                                  @RequestParam(required = false) List<String> fields) {
+        SocietyView society = societyService.findById(id, fields)
             .orElseThrow(() -> new SocietyNotFoundException(id));
         return new ResponseEntity<>(society, HttpStatus.OK);
     }
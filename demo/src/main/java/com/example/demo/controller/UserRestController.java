@@ -1,9 +1,13 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.UserView;
 import com.example.demo.exception.ErrorInfo;
 import com.example.demo.exception.UserNotFoundException;
 import com.example.demo.model.User;
 import com.example.demo.repository.criteria.UserCriteria;
+import com.example.demo.repository.cursor.CursorPage;
+import com.example.demo.repository.page.CountStrategy;
+import com.example.demo.security.LoginThrottle;
 import com.example.demo.security.config.SecurityExpressions.UserRole;
 import com.example.demo.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -18,43 +22,82 @@ import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @Tag(name = "User", description = "API related to all aspects about the User")
 @RestController
 @RequestMapping("/api/users")
 public class UserRestController {
 
     private final UserService userService;
+    private final LoginThrottle loginThrottle;
 
     @Autowired
-    public UserRestController(UserService userService) {
+    public UserRestController(UserService userService, LoginThrottle loginThrottle) {
         this.userService = userService;
+        this.loginThrottle = loginThrottle;
     }
 
-    @Operation(summary = "Get Users")
+    @Operation(summary = "Get Users",
+               description = "count picks how the total is obtained: EXACT, NONE (no totals, only whether there is a next page) or ESTIMATED. "
+                           + "fields picks the fields returned, among id, name, email, roles, and only those are read; the id is always returned")
     @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Users found successfully",
                                         content = { @Content(mediaType = "application/json",
-                                        schema = @Schema(implementation = Page.class, type = "Page<User>")) }),
+                                        schema = @Schema(implementation = Page.class, type = "Page<UserView>")) }),
+                            @ApiResponse(responseCode = "400", description = "Unknown field",
+                                        content = {@Content(mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorInfo.class))}),
                             @ApiResponse(responseCode = "401", description = "Unauthorized",
                                         content = @Content),
                             @ApiResponse(responseCode = "403", description = "Forbidden without permission",
                                         content = @Content)
     })
     @GetMapping
-    public ResponseEntity<Page<User>> getUsers(@ParameterObject UserCriteria filters,
-                                               @ParameterObject Pageable pageable) {
-        Page<User> users = userService.findAll(filters, pageable);
+    public ResponseEntity<Slice<UserView>> getUsers(@ParameterObject UserCriteria filters,
+                                                    @RequestParam(required = false) CountStrategy count,
+                                                    @RequestParam(required = false) List<String> fields,
+                                                    @ParameterObject Pageable pageable) {
+        Slice<UserView> users = userService.findAll(filters, count, pageable, fields);
+        return new ResponseEntity<>(users, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Get Users after a cursor",
+               description = "Keyset pagination: an empty cursor gives the first page, each page gives the cursor of the next one. "
+                           + "fields picks the fields returned, among id, name, email, roles; the id and the sort field are always returned")
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Users found successfully",
+                                        content = { @Content(mediaType = "application/json",
+                                        schema = @Schema(implementation = CursorPage.class, type = "CursorPage<UserView>")) }),
+                            @ApiResponse(responseCode = "400", description = "Invalid cursor, sort or field",
+                                        content = {@Content(mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorInfo.class))}),
+                            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                                        content = @Content),
+                            @ApiResponse(responseCode = "403", description = "Forbidden without permission",
+                                        content = @Content)
+    })
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<UserView>> getUsersAfter(@ParameterObject UserCriteria filters,
+                                                              @RequestParam(defaultValue = "") String after,
+                                                              @RequestParam(required = false) List<String> fields,
+                                                              @ParameterObject Pageable pageable) {
+        CursorPage<UserView> users = userService.findAll(filters, after, pageable, fields);
         return new ResponseEntity<>(users, HttpStatus.OK);
     }
 
-    @Operation(summary = "Get User by id")
+    @Operation(summary = "Get User by id",
+               description = "fields picks the fields returned, among id, name, email, roles, and only those are read; the id is always returned")
     @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "User found successfully",
                                         content = { @Content(mediaType = "application/json",
-                                        schema = @Schema(implementation = User.class)) }),
+                                        schema = @Schema(implementation = UserView.class)) }),
+                            @ApiResponse(responseCode = "400", description = "Unknown field",
+                                        content = {@Content(mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorInfo.class))}),
                             @ApiResponse(responseCode = "401", description = "Unauthorized",
                                         content = @Content),
                             @ApiResponse(responseCode = "403", description = "Forbidden without permission",
@@ -64,14 +107,15 @@ public class UserRestController {
                                         schema = @Schema(implementation = ErrorInfo.class))})
     })
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUser(HttpServletRequest request, @PathVariable long id) {
-        User currentUser = userService.getCurrentUser(request)
+    public ResponseEntity<UserView> getUser(HttpServletRequest request, @PathVariable long id,
+                                            @RequestParam(required = false) List<String> fields) {
+        long currentUserId = userService.getCurrentUserId(request)
             .orElseThrow(() -> new AccessDeniedException("You must be logged in to access the account"));
         if (!request.isUserInRole(UserRole.ADMIN.name())
-            && currentUser.getId() != id) {
+            && currentUserId != id) {
             throw new AccessDeniedException("You don't have permission to get another user's account");
         }
-        User user = userService.findById(id)
+        UserView user = userService.findById(id, fields)
             .orElseThrow(() -> new UserNotFoundException(id));
         return new ResponseEntity<>(user, HttpStatus.OK);
     }
@@ -88,15 +132,22 @@ public class UserRestController {
                             @ApiResponse(responseCode = "403", description = "Forbidden without permission",
                                         content = @Content),
                             @ApiResponse(responseCode = "422", description = "Duplicate User",
+                                        content = {@Content(mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorInfo.class))}),
+                            @ApiResponse(responseCode = "429", description = "Too many sign up attempts",
                                         content = {@Content(mediaType = "application/json",
                                         schema = @Schema(implementation = ErrorInfo.class))})
     })
     @PostMapping
     public ResponseEntity<User> addUser(HttpServletRequest request, @Valid @RequestBody User user) {
-        if (!request.isUserInRole(UserRole.ADMIN.name())
-            && user.getRoles().contains(UserRole.ADMIN.name())){
+        boolean isAdmin = request.isUserInRole(UserRole.ADMIN.name());
+        if (!isAdmin && user.getUserRoles().contains(UserRole.ADMIN)){
             throw new AccessDeniedException("You don't have permission to add an admin account");
         }
+        if (!isAdmin) {
+            // Sign ups hash a password as well, so they share the login throttle
+            loginThrottle.acquire(user.getEmail(), request.getRemoteAddr());
+        }
         User createdUser = userService.addUser(user);
         return new ResponseEntity<>(createdUser, HttpStatus.CREATED);
     }
@@ -121,10 +172,10 @@ public class UserRestController {
     })
     @PutMapping("/{id}")
     public ResponseEntity<User> updateUser(HttpServletRequest request, @PathVariable long id, @Valid @RequestBody User newUser) {
-        User currentUser = userService.getCurrentUser(request)
+        long currentUserId = userService.getCurrentUserId(request)
             .orElseThrow(() -> new AccessDeniedException("You must be logged in to modify your account"));
         if (!request.isUserInRole(UserRole.ADMIN.name())
-            && currentUser.getId() != id) {
+            && currentUserId != id) {
             throw new AccessDeniedException("You don't have permission to update another user's account");
         }
         User updatedUser = userService.updateUser(id, newUser);
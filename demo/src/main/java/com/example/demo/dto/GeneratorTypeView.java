@@ -0,0 +1,19 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.GeneratorType;
+import com.example.demo.repository.projection.Projection;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Represents the information of a Generator Type")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record GeneratorTypeView(
+    @Schema(description = "Generator Type Identifier", example = "1")
+    long id,
+    @Schema(description = "Generator Type name", example = "Example name")
+    String name
+) {
+
+    public static final Projection<GeneratorType, GeneratorTypeView> PROJECTION =
+        Projection.of(GeneratorType.class, GeneratorTypeView.class, "id", "name");
+}
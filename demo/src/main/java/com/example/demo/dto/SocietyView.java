@@ -0,0 +1,21 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.Society;
+import com.example.demo.repository.projection.Projection;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Represents the information of a Society")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SocietyView(
+    @Schema(description = "Society Identifier", example = "1")
+    long id,
+    @Schema(description = "CIF or DNI of the Society", example = "XXXXXXXXXX")
+    String cifDni,
+    @Schema(description = "Society name", example = "Example name")
+    String name
+) {
+
+    public static final Projection<Society, SocietyView> PROJECTION =
+        Projection.of(Society.class, SocietyView.class, "id", "cifDni", "name");
+}
@@ -0,0 +1,33 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.RolesMask;
+import com.example.demo.model.User;
+import com.example.demo.repository.projection.Projection;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Represents the information of a User, without its password")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserView(
+    @Schema(description = "User Identifier", example = "1")
+    long id,
+    @Schema(description = "User name", example = "Example name")
+    String name,
+    @Schema(description = "User email", example = "example@gmail.com")
+    String email,
+    @ArraySchema(schema = @Schema(description = "Role name", example = "ADMIN"),
+                arraySchema = @Schema(description = "List of user roles", example = "[\"ADMIN\", \"USER\"]"))
+    List<String> roles
+) {
+
+    // The roles are read as the mask column and unpacked into its shared list of names, none when they were not read
+    public static final Projection<User, UserView> PROJECTION =
+        Projection.of(User.class, UserView.class, "id", "name", "email", "rolesMask");
+
+    public UserView(long id, String name, String email, Integer rolesMask) {
+        this(id, name, email, rolesMask == null ? null : RolesMask.names(rolesMask));
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.demo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.NOT_FOUND)
+public class ApiKeyNotFoundException extends RuntimeException{
+
+    public ApiKeyNotFoundException(long apiKeyId) {
+        super("API key " + apiKeyId + " not found");
+    }
+}
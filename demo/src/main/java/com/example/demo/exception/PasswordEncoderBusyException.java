@@ -0,0 +1,12 @@
+package com.example.demo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordEncoderBusyException extends RuntimeException{
+
+    public PasswordEncoderBusyException() {
+        super("Too many password operations in progress, try again later");
+    }
+}
@@ -2,6 +2,7 @@ package com.example.demo.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -48,9 +49,41 @@ public class RestExceptionHandler{
         return new ResponseEntity<>(errorInfo, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(ApiKeyNotFoundException.class)
+    public ResponseEntity<ErrorInfo> handleApiKeyNotFoundException(HttpServletRequest request, ApiKeyNotFoundException e) {
+        ErrorInfo errorInfo = new ErrorInfo(HttpStatus.NOT_FOUND.value(), e.getMessage(), request.getRequestURI());
+        return new ResponseEntity<>(errorInfo, HttpStatus.NOT_FOUND);
+    }
+
     @ExceptionHandler(GeneratorTypeNotFoundException.class)
     public ResponseEntity<ErrorInfo> handleGeneratorTypeNotFoundException(HttpServletRequest request, GeneratorTypeNotFoundException e) {
         ErrorInfo errorInfo = new ErrorInfo(HttpStatus.NOT_FOUND.value(), e.getMessage(), request.getRequestURI());
         return new ResponseEntity<>(errorInfo, HttpStatus.NOT_FOUND);
     }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorInfo> handleInvalidCursorException(HttpServletRequest request, InvalidCursorException e) {
+        ErrorInfo errorInfo = new ErrorInfo(HttpStatus.BAD_REQUEST.value(), e.getMessage(), request.getRequestURI());
+        return new ResponseEntity<>(errorInfo, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidFieldsException.class)
+    public ResponseEntity<ErrorInfo> handleInvalidFieldsException(HttpServletRequest request, InvalidFieldsException e) {
+        ErrorInfo errorInfo = new ErrorInfo(HttpStatus.BAD_REQUEST.value(), e.getMessage(), request.getRequestURI());
+        return new ResponseEntity<>(errorInfo, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(PasswordEncoderBusyException.class)
+    public ResponseEntity<ErrorInfo> handlePasswordEncoderBusyException(HttpServletRequest request, PasswordEncoderBusyException e) {
+        ErrorInfo errorInfo = new ErrorInfo(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage(), request.getRequestURI());
+        return new ResponseEntity<>(errorInfo, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorInfo> handleTooManyRequestsException(HttpServletRequest request, TooManyRequestsException e) {
+        ErrorInfo errorInfo = new ErrorInfo(HttpStatus.TOO_MANY_REQUESTS.value(), e.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .body(errorInfo);
+    }
 }
@@ -0,0 +1,97 @@
+package com.example.demo.model;
+
+import com.example.demo.security.config.SecurityExpressions.UserRole;
+import jakarta.persistence.*;
+
+import java.util.Objects;
+
+@Entity
+public class ApiKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+    @Column(nullable = false)
+    private String name;
+    // Keyed hash of the key, the key itself is only shown once when it is created
+    @Column(unique = true, nullable = false, length = 64)
+    private String keyHash;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UserRole role;
+    // Epoch millis at which the key was created
+    @Column(nullable = false)
+    private long createdAt;
+
+    public ApiKey() {
+        //Default empty constructor
+    }
+
+    public ApiKey(String name, String keyHash, UserRole role, long createdAt) {
+        this.name = name;
+        this.keyHash = keyHash;
+        this.role = role;
+        this.createdAt = createdAt;
+    }
+
+    public ApiKey(long id, String name, String keyHash, UserRole role, long createdAt) {
+        this.id = id;
+        this.name = name;
+        this.keyHash = keyHash;
+        this.role = role;
+        this.createdAt = createdAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getKeyHash() {
+        return keyHash;
+    }
+
+    public void setKeyHash(String keyHash) {
+        this.keyHash = keyHash;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
+    public void setRole(UserRole role) {
+        this.role = role;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ApiKey apiKey)) return false;
+        return id == apiKey.id && createdAt == apiKey.createdAt && Objects.equals(name, apiKey.name)
+            && Objects.equals(keyHash, apiKey.keyHash) && role == apiKey.role;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, keyHash, role, createdAt);
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.demo.model;
 
+import com.example.demo.repository.search.SearchText;
+import com.example.demo.repository.search.TrigramIndexListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
@@ -8,6 +11,7 @@ import java.util.Objects;
 
 @Schema(description = "Represents the information of a Generator Type")
 @Entity
+@EntityListeners(TrigramIndexListener.class)
 public class GeneratorType {
 
     @Schema(description = "Generator Type Identifier", example = "1")
@@ -19,6 +23,15 @@ public class GeneratorType {
     @NotBlank
     private String name;
 
+    // Lowercased copies without accents read by the match modes of the searches, kept up to date on every write
+    @JsonIgnore
+    @Column(nullable = false, length = 768)
+    private String nameNormalized;
+    // Lengths of the values, indexed together with them so searches can list their best matches in index order
+    @JsonIgnore
+    @Column(nullable = false)
+    private int nameLength;
+
     public GeneratorType() {
         //Default empty constructor
     }
@@ -48,6 +61,13 @@ public class GeneratorType {
         this.name = name;
     }
 
+    @PrePersist
+    @PreUpdate
+    void updateSearchColumns() {
+        nameNormalized = SearchText.normalize(name);
+        nameLength = SearchText.length(name);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
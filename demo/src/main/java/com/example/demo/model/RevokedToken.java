@@ -0,0 +1,54 @@
+package com.example.demo.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import java.util.Objects;
+
+@Entity
+public class RevokedToken {
+
+    @Id
+    private String tokenId;
+    // Epoch millis at which the token expires and the revocation can be forgotten
+    @Column(nullable = false)
+    private long expiresAt;
+
+    public RevokedToken() {
+        //Default empty constructor
+    }
+
+    public RevokedToken(String tokenId, long expiresAt) {
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public void setTokenId(String tokenId) {
+        this.tokenId = tokenId;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RevokedToken that)) return false;
+        return expiresAt == that.expiresAt && Objects.equals(tokenId, that.tokenId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tokenId, expiresAt);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.demo.model;
+
+import com.example.demo.security.config.SecurityExpressions.UserRole;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+// Roles of a user packed into the user.roles_mask column. Bit n stands for the role with ordinal n, the same layout
+// as the sealed tokens, so new roles have to be appended to the enum
+public final class RolesMask {
+
+    private static final UserRole[] ROLES = UserRole.values();
+    private static final int ALL = (1 << ROLES.length) - 1;
+    // One shared immutable list of role names per mask, in ordinal order
+    private static final List<List<String>> NAMES_BY_MASK = new ArrayList<>(ALL + 1);
+
+    static {
+        for (int mask = 0; mask <= ALL; mask++) {
+            NAMES_BY_MASK.add(roles(mask).stream().map(UserRole::name).toList());
+        }
+    }
+
+    private RolesMask() {
+    }
+
+    public static int of(Set<UserRole> roles) {
+        int mask = 0;
+        if (roles != null) {
+            for (UserRole role : roles) {
+                mask |= 1 << role.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    public static EnumSet<UserRole> roles(int mask) {
+        EnumSet<UserRole> roles = EnumSet.noneOf(UserRole.class);
+        for (UserRole role : ROLES) {
+            if ((mask & 1 << role.ordinal()) != 0) {
+                roles.add(role);
+            }
+        }
+        return roles;
+    }
+
+    // Bits with no role are ignored, as in roles, a mask written by a newer release with more roles still reads
+    public static List<String> names(int mask) {
+        return NAMES_BY_MASK.get(mask & ALL);
+    }
+
+    // Every mask holding all the given roles. With a handful of roles there are few of them, and an IN over the
+    // indexed column can be answered from the index where a bitwise test on it could not. None when one of the
+    // names is not a role
+    public static List<Integer> containing(Collection<String> roles) {
+        int required = 0;
+        for (String role : roles) {
+            int bit = bit(role);
+            if (bit < 0) {
+                return List.of();
+            }
+            required |= bit;
+        }
+        List<Integer> masks = new ArrayList<>();
+        for (int mask = required; mask <= ALL; mask++) {
+            if ((mask & required) == required) {
+                masks.add(mask);
+            }
+        }
+        return masks;
+    }
+
+    private static int bit(String role) {
+        for (UserRole candidate : ROLES) {
+            if (candidate.name().equalsIgnoreCase(role)) {
+                return 1 << candidate.ordinal();
+            }
+        }
+        return -1;
+    }
+}
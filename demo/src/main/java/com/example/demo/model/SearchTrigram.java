@@ -0,0 +1,59 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+// Three character slice of a searchable column value, mapped only so that searches can narrow their candidates
+// with a subquery. Rows are written by the trigram index listener, never through this entity
+@Entity
+@IdClass(SearchTrigram.Key.class)
+public class SearchTrigram {
+
+    @Id
+    private String entity;
+    @Id
+    private String field;
+    @Id
+    private String trigram;
+    @Id
+    private long entityId;
+
+    public String getEntity() {
+        return entity;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public String getTrigram() {
+        return trigram;
+    }
+
+    public long getEntityId() {
+        return entityId;
+    }
+
+    public static class Key implements Serializable {
+
+        private String entity;
+        private String field;
+        private String trigram;
+        private long entityId;
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return entityId == key.entityId && Objects.equals(entity, key.entity)
+                && Objects.equals(field, key.field) && Objects.equals(trigram, key.trigram);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(entity, field, trigram, entityId);
+        }
+    }
+}
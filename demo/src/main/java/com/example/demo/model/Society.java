@@ -1,5 +1,8 @@
 package com.example.demo.model;
 
+import com.example.demo.repository.search.SearchText;
+import com.example.demo.repository.search.TrigramIndexListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
@@ -8,6 +11,7 @@ import java.util.Objects;
 
 @Schema(description = "Represents the information of a Society")
 @Entity
+@EntityListeners(TrigramIndexListener.class)
 public class Society {
 
     @Schema(description = "Society Identifier", example = "1")
@@ -23,6 +27,21 @@ public class Society {
     @NotBlank
     private String name;
 
+    // Lowercased copies without accents read by the match modes of the searches, kept up to date on every write
+    @JsonIgnore
+    @Column(nullable = false, length = 768)
+    private String cifDniNormalized;
+    @JsonIgnore
+    @Column(nullable = false, length = 768)
+    private String nameNormalized;
+    // Lengths of the values, indexed together with them so searches can list their best matches in index order
+    @JsonIgnore
+    @Column(nullable = false)
+    private int cifDniLength;
+    @JsonIgnore
+    @Column(nullable = false)
+    private int nameLength;
+
     public Society() {
         //Default empty constructor
     }
@@ -62,6 +81,15 @@ public class Society {
         this.cifDni = cifDni;
     }
 
+    @PrePersist
+    @PreUpdate
+    void updateSearchColumns() {
+        cifDniNormalized = SearchText.normalize(cifDni);
+        nameNormalized = SearchText.normalize(name);
+        cifDniLength = SearchText.length(cifDni);
+        nameLength = SearchText.length(name);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
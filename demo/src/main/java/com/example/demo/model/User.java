@@ -1,5 +1,9 @@
 package com.example.demo.model;
 
+import com.example.demo.repository.search.SearchText;
+import com.example.demo.repository.search.TrigramIndexListener;
+import com.example.demo.security.config.SecurityExpressions.UserRole;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
@@ -9,14 +13,24 @@ import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Pattern;
 import org.hibernate.validator.constraints.UniqueElements;
 
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Schema(description = "Represents the information of a User")
 @Entity
+// The password is kept apart in user_credential, so the rows listings and searches scan stay narrow
+@SecondaryTable(name = "user_credential", pkJoinColumns = @PrimaryKeyJoinColumn(name = "user_id"))
+@EntityListeners(TrigramIndexListener.class)
 public class User {
 
+    private static final Map<String, UserRole> ROLES_BY_NAME = Arrays.stream(UserRole.values())
+        .collect(Collectors.toUnmodifiableMap(UserRole::name, role -> role));
+
     @Schema(description = "User Identifier", example = "1")
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,16 +45,30 @@ public class User {
     @NotBlank
     private String email;
     @Schema(description = "User password", example = "ZXhhbXBsZSBwYXNzd29yZA==")
-    @Column(nullable = false)
+    @Column(table = "user_credential", nullable = false)
     @NotBlank
     private String password;
-    @ArraySchema(schema = @Schema(description = "Role name", example = "ADMIN"),
-                arraySchema = @Schema(description = "List of user roles", example = "[\"ADMIN\", \"USER\"]"))
-    @ElementCollection(fetch = FetchType.EAGER)
+    // Stored packed into the roles_mask column, which Hibernate reads and writes through the accessors below
+    @Transient
+    private EnumSet<UserRole> userRoles;
+    // Names given as roles that do not make a set of roles, unknown or repeated ones, kept for validation to report
+    @Transient
+    private List<String> invalidRoles;
+
+    // Lowercased copies without accents read by the match modes of the searches, kept up to date on every write
+    @JsonIgnore
+    @Column(nullable = false, length = 768)
+    private String nameNormalized;
+    @JsonIgnore
+    @Column(nullable = false, length = 768)
+    private String emailNormalized;
+    // Lengths of the values, indexed together with them so searches can list their best matches in index order
+    @JsonIgnore
     @Column(nullable = false)
-    @UniqueElements
-    @NotEmpty
-    private List<@Pattern(regexp = "^(ADMIN|USER)$") String> roles;
+    private int nameLength;
+    @JsonIgnore
+    @Column(nullable = false)
+    private int emailLength;
 
     public User() {
         //Default empty constructor
@@ -50,7 +78,7 @@ public class User {
         this.name = name;
         this.email = email;
         this.password = password;
-        this.roles = roles;
+        setRoles(roles);
     }
 
     public User(long id, String name, String email, String password, List<String> roles) {
@@ -58,7 +86,7 @@ public class User {
         this.name = name;
         this.email = email;
         this.password = password;
-        this.roles = roles;
+        setRoles(roles);
     }
 
     public long getId() {
@@ -93,12 +121,63 @@ public class User {
         this.password = password;
     }
 
-    public List<String> getRoles() {
-        return roles;
+    @ArraySchema(schema = @Schema(description = "Role name", example = "ADMIN"),
+                arraySchema = @Schema(description = "List of user roles", example = "[\"ADMIN\", \"USER\"]"))
+    @UniqueElements
+    @NotEmpty
+    public List<@Pattern(regexp = "^(ADMIN|USER)$") String> getRoles() {
+        if (invalidRoles != null) {
+            return invalidRoles;
+        }
+        return userRoles == null ? null : RolesMask.names(RolesMask.of(userRoles));
     }
 
     public void setRoles(List<String> roles) {
-        this.roles = roles;
+        userRoles = null;
+        invalidRoles = null;
+        if (roles == null) {
+            return;
+        }
+        EnumSet<UserRole> parsed = EnumSet.noneOf(UserRole.class);
+        for (String role : roles) {
+            UserRole userRole = role == null ? null : ROLES_BY_NAME.get(role);
+            if (userRole == null || !parsed.add(userRole)) {
+                invalidRoles = roles;
+                return;
+            }
+        }
+        userRoles = parsed;
+    }
+
+    @JsonIgnore
+    public Set<UserRole> getUserRoles() {
+        return userRoles;
+    }
+
+    public void setUserRoles(Set<UserRole> userRoles) {
+        this.userRoles = EnumSet.noneOf(UserRole.class);
+        this.userRoles.addAll(userRoles);
+        this.invalidRoles = null;
+    }
+
+    @Access(AccessType.PROPERTY)
+    @Column(name = "roles_mask", nullable = false)
+    private int getRolesMask() {
+        return RolesMask.of(userRoles);
+    }
+
+    private void setRolesMask(int rolesMask) {
+        this.userRoles = RolesMask.roles(rolesMask);
+        this.invalidRoles = null;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateSearchColumns() {
+        nameNormalized = SearchText.normalize(name);
+        emailNormalized = SearchText.normalize(email);
+        nameLength = SearchText.length(name);
+        emailLength = SearchText.length(email);
     }
 
     @Override
@@ -108,11 +187,17 @@ public class User {
         return id == user.id && Objects.equals(name, user.name) &&
             Objects.equals(email, user.email) &&
             Objects.equals(password, user.password) &&
-            new HashSet<>(roles).equals(new HashSet<>(user.roles));
+            Objects.equals(userRoles, user.userRoles) &&
+            Objects.equals(invalidRoles, user.invalidRoles);
     }
 
+    // Spelled out rather than Objects.hash, which boxes the id and allocates an array on every call
     @Override
     public int hashCode() {
-        return Objects.hash(id, name, email, password, roles);
+        int result = Long.hashCode(id);
+        result = 31 * result + Objects.hashCode(name);
+        result = 31 * result + Objects.hashCode(email);
+        result = 31 * result + Objects.hashCode(password);
+        return 31 * result + RolesMask.of(userRoles);
     }
 }
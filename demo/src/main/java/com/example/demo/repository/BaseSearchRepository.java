@@ -0,0 +1,172 @@
+package com.example.demo.repository;
+
+import com.example.demo.repository.cursor.Cursor;
+import com.example.demo.repository.projection.Projection;
+import com.example.demo.repository.search.BestMatch;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+// Base class of every repository, registered through @EnableJpaRepositories
+public class BaseSearchRepository<T, ID> extends SimpleJpaRepository<T, ID> implements SearchRepository<T, ID> {
+
+    private final JpaEntityInformation<T, ?> entityInformation;
+    private final EntityManager entityManager;
+
+    public BaseSearchRepository(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityInformation = entityInformation;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public <V> Page<V> findAll(Specification<T> specification, Projection<T, V> projection, Pageable pageable) {
+        TypedQuery<V> query = getQuery(specification, projection, pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(query.getResultList());
+        }
+
+        List<V> results = query
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize())
+            .getResultList();
+        return PageableExecutionUtils.getPage(results, pageable, () -> count(specification));
+    }
+
+    // The key of the cursor is read whatever the fields, the cursor of the next page is taken from the last row
+    @Override
+    public <V> List<V> findAll(Specification<T> specification, Projection<T, V> projection, Cursor cursor, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<V> query = criteriaBuilder.createQuery(projection.viewClass());
+        Root<T> root = select(query, projection.with(cursor.getProperty()), criteriaBuilder);
+        List<Predicate> predicates = predicates(specification, root, query, criteriaBuilder);
+
+        Path<Long> id = root.get(entityInformation.getIdAttribute().getName());
+        boolean ascending = cursor.getDirection().isAscending();
+        List<Order> orders = new ArrayList<>();
+        if (entityInformation.getIdAttribute().getName().equals(cursor.getProperty())) {
+            if (!cursor.isFirst()) {
+                predicates.add(ascending
+                    ? criteriaBuilder.greaterThan(id, cursor.getLastId())
+                    : criteriaBuilder.lessThan(id, cursor.getLastId()));
+            }
+        } else {
+            Path<String> key = root.get(cursor.getProperty());
+            if (!cursor.isFirst()) {
+                // (key, id) > (lastValue, lastId) spelled out, since JPA has no row value comparison
+                Predicate keyPastCursor = ascending
+                    ? criteriaBuilder.greaterThan(key, cursor.getLastValue())
+                    : criteriaBuilder.lessThan(key, cursor.getLastValue());
+                Predicate idPastCursor = ascending
+                    ? criteriaBuilder.greaterThan(id, cursor.getLastId())
+                    : criteriaBuilder.lessThan(id, cursor.getLastId());
+                predicates.add(criteriaBuilder.or(keyPastCursor,
+                    criteriaBuilder.and(criteriaBuilder.equal(key, cursor.getLastValue()), idPastCursor)));
+            }
+            orders.add(ascending ? criteriaBuilder.asc(key) : criteriaBuilder.desc(key));
+        }
+        orders.add(ascending ? criteriaBuilder.asc(id) : criteriaBuilder.desc(id));
+
+        // Replaces any order the specification set, the seek only holds for the (key, id) order
+        query.where(predicates.toArray(new Predicate[0])).orderBy(orders);
+
+        return entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    @Override
+    public <V> Slice<V> findSlice(Specification<T> specification, Projection<T, V> projection, Pageable pageable) {
+        TypedQuery<V> query = getQuery(specification, projection, pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList(), pageable, false);
+        }
+
+        List<V> results = query
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize() + 1)
+            .getResultList();
+        boolean hasNext = results.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? results.subList(0, pageable.getPageSize()) : results, pageable, hasNext);
+    }
+
+    @Override
+    public <V> Optional<V> findById(ID id, Projection<T, V> projection) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<V> query = criteriaBuilder.createQuery(projection.viewClass());
+        Root<T> root = select(query, projection, criteriaBuilder);
+        query.where(criteriaBuilder.equal(root.get(entityInformation.getIdAttribute().getName()), id));
+        return entityManager.createQuery(query).getResultList().stream().findFirst();
+    }
+
+    // Every page, slice and sorted read of entities goes through here. The best match is added to the query only, the
+    // pages keep answering for the requested sort
+    @Override
+    protected <S extends T> TypedQuery<S> getQuery(Specification<S> specification, Class<S> domainClass, Sort sort) {
+        return super.getQuery(specification, domainClass, bestMatch(specification, sort));
+    }
+
+    // The same for the reads of views
+    private <V> TypedQuery<V> getQuery(Specification<T> specification, Projection<T, V> projection, Sort sort) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<V> query = criteriaBuilder.createQuery(projection.viewClass());
+        Root<T> root = select(query, projection, criteriaBuilder);
+        query.where(predicates(specification, root, query, criteriaBuilder).toArray(new Predicate[0]));
+        Sort order = bestMatch(specification, sort);
+        if (order.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(order, root, criteriaBuilder));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private static Sort bestMatch(Specification<?> specification, Sort sort) {
+        return specification instanceof BestMatch.Ordered ordered ? BestMatch.after(sort, ordered.bestMatch()) : sort;
+    }
+
+    // SELECT new View(property, ...) FROM the entity, Hibernate builds the views from the columns alone. Properties
+    // left out of the projection are passed as typed nulls, so the database does not read their columns
+    private <V> Root<T> select(CriteriaQuery<V> query, Projection<T, V> projection, CriteriaBuilder criteriaBuilder) {
+        Root<T> root = query.from(getDomainClass());
+        query.select(criteriaBuilder.construct(projection.viewClass(), projection.properties().stream()
+            .map(property -> selection(root.get(property), projection.isSelected(property), criteriaBuilder))
+            .toArray(Selection<?>[]::new)));
+        return root;
+    }
+
+    private static Selection<?> selection(Path<?> property, boolean selected, CriteriaBuilder criteriaBuilder) {
+        return selected ? property : criteriaBuilder.nullLiteral(property.getJavaType());
+    }
+
+    private List<Predicate> predicates(Specification<T> specification, Root<T> root, CriteriaQuery<?> query,
+                                       CriteriaBuilder criteriaBuilder) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        return predicates;
+    }
+}
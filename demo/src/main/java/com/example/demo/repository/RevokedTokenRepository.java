@@ -0,0 +1,36 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+    List<RevokedToken> findByExpiresAtGreaterThan(long now);
+
+    // Tokens can share an id, legacy access and refresh tokens of one login do, so a revocation never shortens the
+    // expiry already stored for its id
+    @Transactional
+    default void saveLatest(RevokedToken revokedToken) {
+        if (extendExpiry(revokedToken.getTokenId(), revokedToken.getExpiresAt()) == 0
+                && !existsById(revokedToken.getTokenId())) {
+            save(revokedToken);
+        }
+    }
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE RevokedToken t SET t.expiresAt = :expiresAt WHERE t.tokenId = :tokenId AND t.expiresAt < :expiresAt")
+    int extendExpiry(@Param("tokenId") String tokenId, @Param("expiresAt") long expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") long now);
+}
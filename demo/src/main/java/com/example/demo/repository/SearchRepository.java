@@ -0,0 +1,30 @@
+package com.example.demo.repository;
+
+import com.example.demo.repository.cursor.Cursor;
+import com.example.demo.repository.projection.Projection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.List;
+import java.util.Optional;
+
+@NoRepositoryBean
+public interface SearchRepository<T, ID> extends JpaRepository<T, ID>, JpaSpecificationExecutor<T> {
+
+    // Reads of views select only the columns of the projection, filtered and ordered the same as the entity reads
+    <V> Page<V> findAll(Specification<T> specification, Projection<T, V> projection, Pageable pageable);
+
+    // Seeks past the cursor on (property, id) instead of skipping an offset, so every page costs the same
+    // and no count query is issued
+    <V> List<V> findAll(Specification<T> specification, Projection<T, V> projection, Cursor cursor, int limit);
+
+    // Reads one row more than the page size instead of counting, the extra row only tells whether there is a next page
+    <V> Slice<V> findSlice(Specification<T> specification, Projection<T, V> projection, Pageable pageable);
+
+    <V> Optional<V> findById(ID id, Projection<T, V> projection);
+}
@@ -1,10 +1,8 @@
 package com.example.demo.repository;
 
 import com.example.demo.model.Society;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface SocietyRepository extends JpaRepository<Society, Long>, JpaSpecificationExecutor<Society> {
+public interface SocietyRepository extends SearchRepository<Society, Long> {
 }
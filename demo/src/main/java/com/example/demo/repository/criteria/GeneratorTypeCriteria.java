@@ -8,6 +8,9 @@ public class GeneratorTypeCriteria {
 
     @Schema(description = "Name of the requested Generator Type", example = "Example name")
     private String name;
+    @Schema(description = "How the text filters are compared, case and accent insensitively. Without it they are "
+        + "matched anywhere in the value as the column collation compares them", example = "prefix")
+    private MatchMode match;
 
     public GeneratorTypeCriteria(String name) {
         this.name = name;
@@ -21,15 +24,23 @@ public class GeneratorTypeCriteria {
         this.name = name;
     }
 
+    public MatchMode getMatch() {
+        return match;
+    }
+
+    public void setMatch(MatchMode match) {
+        this.match = match;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof GeneratorTypeCriteria that)) return false;
-        return Objects.equals(name, that.name);
+        return Objects.equals(name, that.name) && match == that.match;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name);
+        return Objects.hash(name, match);
     }
 }
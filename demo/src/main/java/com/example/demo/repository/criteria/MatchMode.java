@@ -0,0 +1,9 @@
+package com.example.demo.repository.criteria;
+
+// How a text filter is compared with the normalized copy of its column: lowercased and without accents on both
+// sides. PREFIX and EXACT are range reads of the column index, CONTAINS still reads every row
+public enum MatchMode {
+    PREFIX,
+    EXACT,
+    CONTAINS
+}
@@ -10,6 +10,9 @@ public class SocietyCriteria {
     private String cifDni;
     @Schema(description = "Name of the requested Society", example = "Example name")
     private String name;
+    @Schema(description = "How the text filters are compared, case and accent insensitively. Without it they are "
+        + "matched anywhere in the value as the column collation compares them", example = "prefix")
+    private MatchMode match;
 
     public SocietyCriteria(String cifDni, String name) {
         this.cifDni = cifDni;
@@ -32,15 +35,23 @@ public class SocietyCriteria {
         this.name = name;
     }
 
+    public MatchMode getMatch() {
+        return match;
+    }
+
+    public void setMatch(MatchMode match) {
+        this.match = match;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof SocietyCriteria that)) return false;
-        return Objects.equals(cifDni, that.cifDni) && Objects.equals(name, that.name);
+        return Objects.equals(cifDni, that.cifDni) && Objects.equals(name, that.name) && match == that.match;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(cifDni, name);
+        return Objects.hash(cifDni, name, match);
     }
 }
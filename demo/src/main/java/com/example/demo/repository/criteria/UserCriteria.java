@@ -15,6 +15,9 @@ public class UserCriteria {
     @ArraySchema(schema = @Schema(description = "Role name", example = "ADMIN"),
         arraySchema = @Schema(description = "List of roles of the requested User", example = "[\"ADMIN\", \"USER\"]"))
     private List<String> roles;
+    @Schema(description = "How the text filters are compared, case and accent insensitively. Without it they are "
+        + "matched anywhere in the value as the column collation compares them", example = "prefix")
+    private MatchMode match;
 
     public UserCriteria(String name, String email, List<String> roles) {
         this.name = name;
@@ -46,15 +49,24 @@ public class UserCriteria {
         this.roles = roles;
     }
 
+    public MatchMode getMatch() {
+        return match;
+    }
+
+    public void setMatch(MatchMode match) {
+        this.match = match;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof UserCriteria that)) return false;
-        return Objects.equals(name, that.name) && Objects.equals(email, that.email) && Objects.equals(roles, that.roles);
+        return Objects.equals(name, that.name) && Objects.equals(email, that.email) && Objects.equals(roles, that.roles)
+            && match == that.match;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, email, roles);
+        return Objects.hash(name, email, roles, match);
     }
 }
@@ -0,0 +1,62 @@
+package com.example.demo.repository.cursor;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Objects;
+
+// Position in a keyset ordered by (property, id). The first page has no last seen row yet
+public class Cursor {
+
+    private final String property;
+    private final Sort.Direction direction;
+    private final String lastValue;
+    private final Long lastId;
+
+    private Cursor(String property, Sort.Direction direction, String lastValue, Long lastId) {
+        this.property = property;
+        this.direction = direction;
+        this.lastValue = lastValue;
+        this.lastId = lastId;
+    }
+
+    public static Cursor first(String property, Sort.Direction direction) {
+        return new Cursor(property, direction, null, null);
+    }
+
+    public Cursor after(String value, long id) {
+        return new Cursor(property, direction, value, id);
+    }
+
+    public boolean isFirst() {
+        return lastId == null;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public String getLastValue() {
+        return lastValue;
+    }
+
+    public Long getLastId() {
+        return lastId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Cursor cursor)) return false;
+        return Objects.equals(property, cursor.property) && direction == cursor.direction
+            && Objects.equals(lastValue, cursor.lastValue) && Objects.equals(lastId, cursor.lastId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(property, direction, lastValue, lastId);
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.demo.repository.cursor;
+
+import com.example.demo.exception.InvalidCursorException;
+import org.springframework.beans.PropertyAccessor;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+// Cursors are handed to clients as base64url(position + signature), so they stay opaque and a client cannot make
+// the seek start at a position it did not get from us or reuse a cursor of one entity on another
+@Component
+public class CursorCodec {
+
+    private static final String SIGNATURE_ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_LENGTH = 16;
+    private static final String ID_PROPERTY = "id";
+
+    private final SecretKeySpec signingKey;
+    // Mac instances are not thread-safe, each thread reuses its own
+    private final ThreadLocal<Mac> mac = ThreadLocal.withInitial(this::createMac);
+
+    public CursorCodec(@Value("${pagination.cursor.secret}") String secret) {
+        this.signingKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), SIGNATURE_ALGORITHM);
+    }
+
+    private Mac createMac() {
+        try {
+            Mac instance = Mac.getInstance(SIGNATURE_ALGORITHM);
+            instance.init(signingKey);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Algorithm " + SIGNATURE_ALGORITHM + " is not available", e);
+        }
+    }
+
+    // An empty value starts at the first page, ordered by the requested sort. A cursor keeps the order it was
+    // issued with, whatever sort comes along with it
+    public Cursor decode(String after, Class<?> domainClass, Sort sort, List<String> sortableProperties) {
+        if (after == null || after.isBlank()) {
+            return firstCursor(sort, sortableProperties);
+        }
+
+        byte[] token;
+        try {
+            token = Base64.getUrlDecoder().decode(after);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+        if (token.length <= SIGNATURE_LENGTH) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+        byte[] payload = Arrays.copyOf(token, token.length - SIGNATURE_LENGTH);
+        byte[] signature = Arrays.copyOfRange(token, payload.length, token.length);
+        if (!MessageDigest.isEqual(sign(payload), signature)) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload))) {
+            String scope = input.readUTF();
+            String property = input.readUTF();
+            Sort.Direction direction = input.readBoolean() ? Sort.Direction.ASC : Sort.Direction.DESC;
+            long lastId = input.readLong();
+            String lastValue = input.readBoolean() ? input.readUTF() : null;
+            if (!scope.equals(domainClass.getSimpleName()) || !isSortable(property, sortableProperties)) {
+                throw new InvalidCursorException("Cursor was not issued for this resource");
+            }
+            return Cursor.first(property, direction).after(lastValue, lastId);
+        } catch (IOException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
+    public String encode(Cursor cursor, Class<?> domainClass) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeUTF(domainClass.getSimpleName());
+            output.writeUTF(cursor.getProperty());
+            output.writeBoolean(cursor.getDirection().isAscending());
+            output.writeLong(cursor.getLastId());
+            output.writeBoolean(cursor.getLastValue() != null);
+            if (cursor.getLastValue() != null) {
+                output.writeUTF(cursor.getLastValue());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        byte[] payload = bytes.toByteArray();
+        byte[] token = Arrays.copyOf(payload, payload.length + SIGNATURE_LENGTH);
+        System.arraycopy(sign(payload), 0, token, payload.length, SIGNATURE_LENGTH);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+
+    // Expects up to one row more than the page size, whose presence tells there is a next page. The rows are read
+    // through their fields, which entities and views alike name after the properties
+    public <T> CursorPage<T> toPage(List<T> results, Cursor cursor, int size, Class<?> domainClass) {
+        if (results.size() <= size) {
+            return new CursorPage<>(results, size, null);
+        }
+
+        List<T> content = results.subList(0, size);
+        PropertyAccessor last = PropertyAccessorFactory.forDirectFieldAccess(content.get(size - 1));
+        long lastId = (long) last.getPropertyValue(ID_PROPERTY);
+        String lastValue = ID_PROPERTY.equals(cursor.getProperty())
+            ? null
+            : (String) last.getPropertyValue(cursor.getProperty());
+        return new CursorPage<>(List.copyOf(content), size, encode(cursor.after(lastValue, lastId), domainClass));
+    }
+
+    private Cursor firstCursor(Sort sort, List<String> sortableProperties) {
+        if (sort.isUnsorted()) {
+            return Cursor.first(ID_PROPERTY, Sort.Direction.ASC);
+        }
+
+        List<Sort.Order> orders = sort.toList();
+        Sort.Order order = orders.get(0);
+        if (orders.size() > 1 || !isSortable(order.getProperty(), sortableProperties)) {
+            throw new InvalidCursorException("Cursor pagination can only be sorted by one of id, "
+                + String.join(", ", sortableProperties));
+        }
+        return Cursor.first(order.getProperty(), order.getDirection());
+    }
+
+    private static boolean isSortable(String property, List<String> sortableProperties) {
+        return ID_PROPERTY.equals(property) || sortableProperties.contains(property);
+    }
+
+    private byte[] sign(byte[] payload) {
+        return Arrays.copyOf(mac.get().doFinal(payload), SIGNATURE_LENGTH);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.demo.repository.cursor;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Objects;
+
+@Schema(description = "Page of results read after a cursor, without a total count")
+public class CursorPage<T> {
+
+    @Schema(description = "Results of the page")
+    private final List<T> content;
+    @Schema(description = "Requested page size", example = "20")
+    private final int size;
+    @Schema(description = "Opaque cursor of the next page, absent on the last page", example = "eyJuYW1lIjo...")
+    private final String next;
+
+    public CursorPage(List<T> content, int size, String next) {
+        this.content = content;
+        this.size = size;
+        this.next = next;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getNumberOfElements() {
+        return content.size();
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public boolean isLast() {
+        return next == null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CursorPage<?> that)) return false;
+        return size == that.size && Objects.equals(content, that.content) && Objects.equals(next, that.next);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(content, size, next);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.demo.repository.page;
+
+// How the total of a paged query is obtained. EXACT runs a count query, NONE skips it and only tells whether
+// there is a next page, ESTIMATED reuses a recent count of the same filters
+public enum CountStrategy {
+    EXACT,
+    NONE,
+    ESTIMATED
+}
@@ -0,0 +1,42 @@
+package com.example.demo.repository.page;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Objects;
+
+// Page that tells how its total was obtained. An estimated total can be stale, so whether there is a next page
+// comes from the rows actually read instead of from the total
+public class CountedPage<T> extends PageImpl<T> {
+
+    private final CountStrategy countStrategy;
+    private final boolean hasNext;
+
+    public CountedPage(List<T> content, Pageable pageable, long total, CountStrategy countStrategy, boolean hasNext) {
+        super(content, pageable, total);
+        this.countStrategy = countStrategy;
+        this.hasNext = hasNext;
+    }
+
+    public CountStrategy getCountStrategy() {
+        return countStrategy;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CountedPage<?> that)) return false;
+        return super.equals(o) && countStrategy == that.countStrategy && hasNext == that.hasNext;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), countStrategy, hasNext);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.demo.repository.page;
+
+import com.example.demo.repository.SearchRepository;
+import com.example.demo.repository.projection.Projection;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.concurrent.Future;
+
+@Component
+public class PageLoader {
+
+    private final CountStrategy defaultCountStrategy;
+    private final ParallelCounter parallelCounter;
+    // Specifications compare by their criteria, so the same filters on the same entity share one count
+    private final Cache<Specification<?>, Long> counts;
+
+    @Autowired
+    public PageLoader(
+            @Value("${pagination.count-strategy:exact}") CountStrategy defaultCountStrategy,
+            @Value("${pagination.count-cache.maximum-size:1000}") long maximumSize,
+            @Value("${pagination.count-cache.expire-after-write:1m}") Duration expireAfterWrite,
+            ParallelCounter parallelCounter,
+            MeterRegistry meterRegistry
+    ) {
+        this.defaultCountStrategy = defaultCountStrategy;
+        this.parallelCounter = parallelCounter;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "pageCounts");
+    }
+
+    // Without a strategy the configured default applies
+    public <T, V> Slice<V> findAll(SearchRepository<T, ?> repository, Specification<T> specification,
+                                   Projection<T, V> projection, Pageable pageable, CountStrategy countStrategy) {
+        CountStrategy strategy = countStrategy != null ? countStrategy : defaultCountStrategy;
+        if (strategy == CountStrategy.EXACT) {
+            return findExactPage(repository, specification, projection, pageable);
+        }
+
+        Slice<V> slice = repository.findSlice(specification, projection, pageable);
+        if (strategy == CountStrategy.NONE) {
+            return new UncountedSlice<>(slice.getContent(), pageable, slice.hasNext());
+        }
+        // The last page already tells the exact total, only earlier pages need the estimate
+        if (isLastPage(slice, pageable)) {
+            return new CountedPage<>(slice.getContent(), pageable, lastPageTotal(slice, pageable), CountStrategy.EXACT, false);
+        }
+        long total = counts.get(specification, key -> repository.count(specification));
+        return new CountedPage<>(slice.getContent(), pageable, total, CountStrategy.ESTIMATED, slice.hasNext());
+    }
+
+    // The count is started before the page is read, so both queries run at the same time on their own connections
+    private <T, V> Slice<V> findExactPage(SearchRepository<T, ?> repository, Specification<T> specification,
+                                                Projection<T, V> projection, Pageable pageable) {
+        Future<Long> count = parallelCounter.start(() -> repository.count(specification));
+        if (count == null) {
+            Page<V> page = repository.findAll(specification, projection, pageable);
+            return new CountedPage<>(page.getContent(), pageable, page.getTotalElements(), CountStrategy.EXACT,
+                page.hasNext());
+        }
+
+        Slice<V> slice;
+        try {
+            slice = repository.findSlice(specification, projection, pageable);
+        } catch (RuntimeException e) {
+            count.cancel(true);
+            throw e;
+        }
+        if (isLastPage(slice, pageable)) {
+            count.cancel(true);
+            return new CountedPage<>(slice.getContent(), pageable, lastPageTotal(slice, pageable), CountStrategy.EXACT, false);
+        }
+        OptionalLong total = parallelCounter.await(count);
+        if (total.isPresent()) {
+            // Kept as the estimate of the same filters, for estimated reads and for counts that time out
+            counts.put(specification, total.getAsLong());
+            return new CountedPage<>(slice.getContent(), pageable, total.getAsLong(), CountStrategy.EXACT,
+                slice.hasNext());
+        }
+        // A count that timed out leaves the page with the estimate of the same filters, if there is one, or no total
+        Long estimate = counts.getIfPresent(specification);
+        if (estimate != null) {
+            return new CountedPage<>(slice.getContent(), pageable, estimate, CountStrategy.ESTIMATED, slice.hasNext());
+        }
+        return new UncountedSlice<>(slice.getContent(), pageable, slice.hasNext());
+    }
+
+    // An empty slice past the first page does not tell where the results end
+    private static boolean isLastPage(Slice<?> slice, Pageable pageable) {
+        return !slice.hasNext() && (pageable.isUnpaged() || slice.hasContent() || pageable.getOffset() == 0);
+    }
+
+    private static long lastPageTotal(Slice<?> slice, Pageable pageable) {
+        return (pageable.isPaged() ? pageable.getOffset() : 0) + slice.getNumberOfElements();
+    }
+}
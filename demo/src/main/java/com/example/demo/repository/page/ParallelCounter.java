@@ -0,0 +1,124 @@
+package com.example.demo.repository.page;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+
+// Runs count queries on a few dedicated threads while the request thread reads the page itself. Each count takes
+// a second connection, so no more counts run at once than there are threads. A count that cannot start straight
+// away is run on the request thread instead of waiting for the pool, one that does not finish in time gives no total
+@Component
+public class ParallelCounter {
+
+    private final boolean enabled;
+    private final long timeoutMillis;
+    private final Semaphore permits;
+    private final ThreadPoolExecutor executor;
+    private final Counter parallelCounts;
+    private final Counter inlineCounts;
+    private final Counter fallbackCounts;
+
+    @Autowired
+    public ParallelCounter(
+            @Value("${pagination.parallel-count.enabled:false}") boolean enabled,
+            @Value("${pagination.parallel-count.threads:2}") int threads,
+            @Value("${pagination.parallel-count.timeout:2s}") Duration timeout,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.timeoutMillis = timeout.toMillis();
+        this.permits = new Semaphore(threads);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("page-count-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(threads), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.parallelCounts = countQueries(meterRegistry, "parallel");
+        this.inlineCounts = countQueries(meterRegistry, "inline");
+        this.fallbackCounts = countQueries(meterRegistry, "fallback");
+        new ExecutorServiceMetrics(executor, "pageCount", null).bindTo(meterRegistry);
+    }
+
+    private static Counter countQueries(MeterRegistry meterRegistry, String mode) {
+        return Counter.builder("pagination.count.queries")
+            .description("Exact counts of paged queries by whether they ran next to the page query")
+            .tag("mode", mode)
+            .register(meterRegistry);
+    }
+
+    // Gives null when counting in parallel is disabled or every permit is taken, the caller then counts itself
+    public Future<Long> start(LongSupplier countQuery) {
+        if (!enabled) {
+            return null;
+        }
+        if (!permits.tryAcquire()) {
+            inlineCounts.increment();
+            return null;
+        }
+
+        // The permit is given back once the thread is done with the count, not when it is cancelled: interrupting
+        // the thread does not stop a statement the database is still running
+        FutureTask<Long> task = new FutureTask<>(countQuery::getAsLong) {
+            @Override
+            public void run() {
+                try {
+                    super.run();
+                } finally {
+                    permits.release();
+                }
+            }
+        };
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            inlineCounts.increment();
+            return null;
+        }
+        parallelCounts.increment();
+        return task;
+    }
+
+    // Gives no total when the count takes longer than the timeout. It is not run again, a count that slow would only
+    // hold up the request thread and one more connection for as long
+    public OptionalLong await(Future<Long> count) {
+        try {
+            return OptionalLong.of(count.get(timeoutMillis, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            count.cancel(true);
+            fallbackCounts.increment();
+            return OptionalLong.empty();
+        } catch (InterruptedException e) {
+            count.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the count", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
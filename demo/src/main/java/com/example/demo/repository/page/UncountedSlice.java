@@ -0,0 +1,18 @@
+package com.example.demo.repository.page;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+// Slice read without a count query, serialized without totals
+public class UncountedSlice<T> extends SliceImpl<T> {
+
+    public UncountedSlice(List<T> content, Pageable pageable, boolean hasNext) {
+        super(content, pageable, hasNext);
+    }
+
+    public CountStrategy getCountStrategy() {
+        return CountStrategy.NONE;
+    }
+}
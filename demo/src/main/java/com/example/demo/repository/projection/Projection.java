@@ -0,0 +1,70 @@
+package com.example.demo.repository.projection;
+
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Read-only shape of the rows of an entity: the properties selected, in the order the view's constructor takes them.
+// Views are built straight from the selected columns, no entity is loaded or kept in the persistence context
+public record Projection<T, V>(Class<T> domainClass, Class<V> viewClass, List<String> properties,
+                               Set<String> selected) {
+
+    private static final String ID_PROPERTY = "id";
+    // Components of each view, read once per class rather than on every request that narrows the read
+    private static final ClassValue<List<String>> FIELDS = new ClassValue<>() {
+        @Override
+        protected List<String> computeValue(Class<?> type) {
+            return Arrays.stream(type.getRecordComponents()).map(RecordComponent::getName).toList();
+        }
+    };
+
+    public static <T, V> Projection<T, V> of(Class<T> domainClass, Class<V> viewClass, String... properties) {
+        List<String> all = List.of(properties);
+        return new Projection<>(domainClass, viewClass, all, Set.copyOf(all));
+    }
+
+    // The fields clients may ask for, named after the components of the view. Each one is read from the property in
+    // the same position
+    public List<String> fields() {
+        return FIELDS.get(viewClass);
+    }
+
+    // Narrows the read to the given fields, the rest of the view is left null and no column is read for it. The id is
+    // always read, it is what the rows are told apart by. None or no fields keeps every field. Fields come from clients,
+    // so callers check them against fields() first and answer for unknown ones
+    public Projection<T, V> only(Collection<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return this;
+        }
+
+        List<String> known = fields();
+        Set<String> narrowed = new HashSet<>();
+        narrowed.add(ID_PROPERTY);
+        for (String field : fields) {
+            int position = known.indexOf(field);
+            if (position < 0) {
+                throw new IllegalArgumentException("Unknown field " + field + " of " + viewClass.getSimpleName());
+            }
+            narrowed.add(properties.get(position));
+        }
+        return new Projection<>(domainClass, viewClass, properties, Set.copyOf(narrowed));
+    }
+
+    // Reads the property as well, for reads that cannot do without it, like the key of a cursor
+    public Projection<T, V> with(String property) {
+        if (selected.contains(property) || !properties.contains(property)) {
+            return this;
+        }
+
+        Set<String> widened = new HashSet<>(selected);
+        widened.add(property);
+        return new Projection<>(domainClass, viewClass, properties, Set.copyOf(widened));
+    }
+
+    public boolean isSelected(String property) {
+        return selected.contains(property);
+    }
+}
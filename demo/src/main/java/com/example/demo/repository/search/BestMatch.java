@@ -0,0 +1,37 @@
+package com.example.demo.repository.search;
+
+import org.springframework.data.domain.Sort;
+
+// Ordering of substring searches by how much of each filtered value the search covers: the shorter the value, the
+// better the match. It reads the maintained <property>Length columns instead of computing LENGTH() for every matching
+// row. Ties are broken by the value and then by the id, the order InnoDB keeps the (length, value) indexes in, so the
+// rows can be read from the index without a filesort
+public final class BestMatch {
+
+    private static final String ID_PROPERTY = "id";
+    private static final String LENGTH_SUFFIX = "Length";
+
+    private BestMatch() {
+    }
+
+    // Nothing to order by when the property is not filtered
+    public static Sort by(String property, String value) {
+        return value == null ? Sort.unsorted() : Sort.by(Sort.Direction.ASC, property + LENGTH_SUFFIX, property);
+    }
+
+    // The requested sort comes first and the best match only breaks its ties, or orders the results on its own when
+    // none was requested. The id last keeps pages stable between rows of the same value
+    public static Sort after(Sort requested, Sort bestMatch) {
+        if (bestMatch.isUnsorted()) {
+            return requested;
+        }
+        Sort sort = requested.and(bestMatch);
+        return sort.getOrderFor(ID_PROPERTY) == null ? sort.and(Sort.by(Sort.Direction.ASC, ID_PROPERTY)) : sort;
+    }
+
+    // Specifications whose results are ordered by best match, the search repositories add the order to their queries
+    public interface Ordered {
+
+        Sort bestMatch();
+    }
+}
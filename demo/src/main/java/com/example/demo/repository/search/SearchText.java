@@ -0,0 +1,57 @@
+package com.example.demo.repository.search;
+
+import com.example.demo.repository.criteria.MatchMode;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Normalized form of searchable text, stored next to the original column and applied to the searched value, so
+// that a match does not depend on case, accents or the collation of the column
+public final class SearchText {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    // Not the backslash, which MySQL would also read as the escape of the string literal rendering it
+    private static final char LIKE_ESCAPE = '!';
+
+    private SearchText() {
+    }
+
+    public static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFKD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    // Length in characters, as CHAR_LENGTH counts them, of a value ordered by best match
+    public static int length(String value) {
+        return value == null ? 0 : value.codePointCount(0, value.length());
+    }
+
+    // The searched value is taken literally, LIKE wildcards in it are escaped
+    public static Predicate matches(CriteriaBuilder criteriaBuilder, Expression<String> normalizedColumn,
+                                    String value, MatchMode match) {
+        String normalized = normalize(value);
+        return switch (match) {
+            case EXACT -> criteriaBuilder.equal(normalizedColumn, normalized);
+            case PREFIX -> criteriaBuilder.like(normalizedColumn, escape(normalized) + "%", LIKE_ESCAPE);
+            case CONTAINS -> criteriaBuilder.like(normalizedColumn, "%" + escape(normalized) + "%", LIKE_ESCAPE);
+        };
+    }
+
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
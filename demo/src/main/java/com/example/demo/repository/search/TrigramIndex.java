@@ -0,0 +1,59 @@
+package com.example.demo.repository.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Reads and writes of the search_trigram table. Rows are kept up to date on every write whether or not searches
+// are narrowed with them, so enabling the narrowing never starts from a stale index
+@Component
+public class TrigramIndex {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO search_trigram (trigram, entity, field, entity_id) VALUES (?, ?, ?, ?)";
+    private static final String DELETE_SQL = "DELETE FROM search_trigram WHERE entity = ? AND entity_id = ?";
+    private static final String UNFOLDED_FIELDS_SQL =
+        "SELECT DISTINCT field FROM search_trigram WHERE trigram = ? AND entity = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    @Autowired
+    public TrigramIndex(JdbcTemplate jdbcTemplate, @Value("${search.trigram.enabled:false}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    // The fields needing their ANY rows searched are only looked up once a search has a value it narrows, lists
+    // without such a value cost no read of the table
+    public TrigramSearch searchFor(Class<?> domainClass) {
+        if (!enabled) {
+            return TrigramSearch.NONE;
+        }
+        return new TrigramSearch(domainClass.getSimpleName(), this);
+    }
+
+    // Which fields of the entity need their ANY rows searched as well, read with a single index range read
+    public Set<String> unfoldedFields(String entity) {
+        return Set.copyOf(jdbcTemplate.queryForList(UNFOLDED_FIELDS_SQL, String.class, Trigrams.ANY, entity));
+    }
+
+    public void index(String entity, long id, Map<String, String> values) {
+        List<Object[]> rows = new ArrayList<>();
+        values.forEach((field, value) -> Trigrams.index(value)
+            .forEach(trigram -> rows.add(new Object[]{trigram, entity, field, id})));
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+    }
+
+    public void remove(String entity, long id) {
+        jdbcTemplate.update(DELETE_SQL, entity, id);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.demo.repository.search;
+
+import com.example.demo.model.GeneratorType;
+import com.example.demo.model.Society;
+import com.example.demo.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+import java.util.Map;
+
+// Keeps the search_trigram rows of an entity in step with its searchable columns. Runs inside the flush, on the
+// connection and transaction of the write, so the index never outlives a rolled back change. Hibernate gets the
+// listener from the Spring context, which is what hands it the trigram index
+public class TrigramIndexListener {
+
+    private final TrigramIndex trigramIndex;
+
+    public TrigramIndexListener(TrigramIndex trigramIndex) {
+        this.trigramIndex = trigramIndex;
+    }
+
+    @PostPersist
+    public void created(Object entity) {
+        Indexed indexed = Indexed.of(entity);
+        trigramIndex.index(indexed.entity(), indexed.id(), indexed.values());
+    }
+
+    @PostUpdate
+    public void updated(Object entity) {
+        Indexed indexed = Indexed.of(entity);
+        trigramIndex.remove(indexed.entity(), indexed.id());
+        trigramIndex.index(indexed.entity(), indexed.id(), indexed.values());
+    }
+
+    @PostRemove
+    public void removed(Object entity) {
+        Indexed indexed = Indexed.of(entity);
+        trigramIndex.remove(indexed.entity(), indexed.id());
+    }
+
+    // Searchable columns of an entity by property, the same names the specifications narrow by
+    private record Indexed(String entity, long id, Map<String, String> values) {
+
+        static Indexed of(Object entity) {
+            if (entity instanceof Society society) {
+                return new Indexed(Society.class.getSimpleName(), society.getId(),
+                    Map.of("cifDni", society.getCifDni(), "name", society.getName()));
+            }
+            if (entity instanceof GeneratorType generatorType) {
+                return new Indexed(GeneratorType.class.getSimpleName(), generatorType.getId(),
+                    Map.of("name", generatorType.getName()));
+            }
+            if (entity instanceof User user) {
+                return new Indexed(User.class.getSimpleName(), user.getId(),
+                    Map.of("name", user.getName(), "email", user.getEmail()));
+            }
+            throw new IllegalArgumentException(entity.getClass().getName() + " is not indexed for search");
+        }
+    }
+}
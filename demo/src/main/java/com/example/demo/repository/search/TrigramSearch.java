@@ -0,0 +1,87 @@
+package com.example.demo.repository.search;
+
+import com.example.demo.model.SearchTrigram;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+// How the substring searches of one entity are narrowed by the search_trigram table, NONE leaves them to the LIKE
+public final class TrigramSearch {
+
+    public static final TrigramSearch NONE = new TrigramSearch(null, null);
+
+    private final String entity;
+    private final TrigramIndex trigramIndex;
+    // Fields holding values indexed as ANY, those rows stay candidates of every search on the field. Read from the
+    // index the first time a value is narrowed and kept for the rest of the request, the page and count queries of
+    // one request build their predicates from the same search
+    private Set<String> unfoldedFields;
+
+    public TrigramSearch(String entity, TrigramIndex trigramIndex) {
+        this.entity = entity;
+        this.trigramIndex = trigramIndex;
+    }
+
+    // Ids of the rows whose field holds every searched trigram of the value, or nothing when the value cannot be
+    // narrowed. One subquery per trigram keeps each of them a lookup on the leading primary key column, the rows
+    // indexed as ANY are only added, with a subquery of their own, on fields that hold some
+    public Optional<Predicate> candidates(Root<?> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder,
+                                          String field, String value) {
+        List<String> trigrams = entity == null ? List.of() : Trigrams.search(value);
+        if (trigrams.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<Predicate> predicates = new ArrayList<>();
+        for (String trigram : trigrams) {
+            predicates.add(root.get("id").in(matching(query, criteriaBuilder, field, trigram)));
+        }
+        Predicate candidates = criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        if (unfoldedFields().contains(field)) {
+            candidates = criteriaBuilder.or(candidates,
+                root.get("id").in(matching(query, criteriaBuilder, field, Trigrams.ANY)));
+        }
+        return Optional.of(candidates);
+    }
+
+    // The count of a page can build its predicate on another thread while the page query builds its own
+    private synchronized Set<String> unfoldedFields() {
+        if (unfoldedFields == null) {
+            unfoldedFields = trigramIndex.unfoldedFields(entity);
+        }
+        return unfoldedFields;
+    }
+
+    private Subquery<Long> matching(CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder, String field,
+                                    String trigram) {
+        Subquery<Long> matches = query.subquery(Long.class);
+        Root<SearchTrigram> row = matches.from(SearchTrigram.class);
+        return matches.select(row.get("entityId")).where(
+            criteriaBuilder.equal(row.get("trigram"), trigram),
+            criteriaBuilder.equal(row.get("entity"), entity),
+            criteriaBuilder.equal(row.get("field"), field)
+        );
+    }
+
+    // Searches of the same entity narrow the same way, the fields looked up so far play no part, comparing them
+    // would read the index as well
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TrigramSearch that)) return false;
+        return Objects.equals(entity, that.entity);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(entity);
+    }
+}
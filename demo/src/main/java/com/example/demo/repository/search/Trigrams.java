@@ -0,0 +1,64 @@
+package com.example.demo.repository.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Trigrams of searchable values, folded to lowercase ASCII without accents so that every row the database LIKE
+// matches case and accent insensitively holds all the trigrams of the searched value. Values the folding cannot
+// bring down to printable ASCII are indexed as ANY instead, which keeps them a candidate of every search
+public final class Trigrams {
+
+    public static final String ANY = "*";
+    private static final int LENGTH = 3;
+    // Each searched trigram costs a subquery, a few of them already leave little for the LIKE to check
+    private static final int MAX_SEARCHED = 4;
+
+    private Trigrams() {
+    }
+
+    // Trigrams stored for a column value, none when it is too short to contain any searched value
+    public static Set<String> index(String value) {
+        if (value == null) {
+            return Set.of();
+        }
+        String folded = SearchText.normalize(value);
+        return isPrintableAscii(folded) ? slices(folded) : Set.of(ANY);
+    }
+
+    // Trigrams every value matching LIKE '%value%' contains, at most a few of them taken apart from each other along
+    // the value. None when the value cannot narrow the search: it is shorter than a trigram, carries LIKE wildcards
+    // or the escape character, or does not fold to plain ASCII
+    public static List<String> search(String value) {
+        if (value == null || value.indexOf('%') >= 0 || value.indexOf('_') >= 0 || value.indexOf('\\') >= 0) {
+            return List.of();
+        }
+        String folded = SearchText.normalize(value);
+        if (!isPrintableAscii(folded)) {
+            return List.of();
+        }
+        List<String> trigrams = new ArrayList<>(slices(folded));
+        if (trigrams.size() <= MAX_SEARCHED) {
+            return trigrams;
+        }
+        List<String> spread = new ArrayList<>(MAX_SEARCHED);
+        for (int i = 0; i < MAX_SEARCHED; i++) {
+            spread.add(trigrams.get(i * (trigrams.size() - 1) / (MAX_SEARCHED - 1)));
+        }
+        return spread;
+    }
+
+    private static Set<String> slices(String folded) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + LENGTH <= folded.length(); i++) {
+            trigrams.add(folded.substring(i, i + LENGTH));
+        }
+        return trigrams;
+    }
+
+    // Control characters are ignorable in some collations, so they are left out as well
+    private static boolean isPrintableAscii(String value) {
+        return value.chars().allMatch(c -> c >= 0x20 && c < 0x7f);
+    }
+}
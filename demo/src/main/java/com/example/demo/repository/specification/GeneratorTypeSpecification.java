@@ -1,11 +1,16 @@
 package com.example.demo.repository.specification;
 
 import com.example.demo.model.GeneratorType;
+import com.example.demo.repository.criteria.MatchMode;
 import com.example.demo.repository.criteria.GeneratorTypeCriteria;
+import com.example.demo.repository.search.BestMatch;
+import com.example.demo.repository.search.SearchText;
+import com.example.demo.repository.search.TrigramSearch;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.ArrayList;
@@ -13,12 +18,19 @@ import java.util.List;
 import java.util.Objects;
 import java.util.function.BiConsumer;
 
-public class GeneratorTypeSpecification implements Specification<GeneratorType> {
+public class GeneratorTypeSpecification implements Specification<GeneratorType>, BestMatch.Ordered {
 
     private final transient GeneratorTypeCriteria filters;
+    // Narrows substring searches with the search_trigram table before the LIKE checks the remaining rows
+    private final transient TrigramSearch trigramSearch;
 
     public GeneratorTypeSpecification(GeneratorTypeCriteria filters) {
+        this(filters, TrigramSearch.NONE);
+    }
+
+    public GeneratorTypeSpecification(GeneratorTypeCriteria filters, TrigramSearch trigramSearch) {
         this.filters = filters;
+        this.trigramSearch = trigramSearch;
     }
 
     @Override
@@ -27,8 +39,15 @@ public class GeneratorTypeSpecification implements Specification<GeneratorType>
 
         BiConsumer<String, String> addStringPredicate = (attribute, value) -> {
             if (value != null) {
-                predicates.add(criteriaBuilder.like(root.get(attribute), "%" + value + "%"));
-                query.orderBy(criteriaBuilder.asc(criteriaBuilder.length(root.get(attribute))));
+                MatchMode match = filters.getMatch();
+                if (match == null) {
+                    predicates.add(criteriaBuilder.like(root.get(attribute), "%" + value + "%"));
+                } else {
+                    predicates.add(SearchText.matches(criteriaBuilder, root.get(attribute + "Normalized"), value, match));
+                }
+                if (match == null || match == MatchMode.CONTAINS) {
+                    trigramSearch.candidates(root, query, criteriaBuilder, attribute, value).ifPresent(predicates::add);
+                }
             }
         };
 
@@ -37,15 +56,21 @@ public class GeneratorTypeSpecification implements Specification<GeneratorType>
         return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
     }
 
+    // Shortest values of the filtered columns first
+    @Override
+    public Sort bestMatch() {
+        return BestMatch.by("name", filters.getName());
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof GeneratorTypeSpecification that)) return false;
-        return Objects.equals(filters, that.filters);
+        return Objects.equals(filters, that.filters) && Objects.equals(trigramSearch, that.trigramSearch);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(filters);
+        return Objects.hash(filters, trigramSearch);
     }
 }
@@ -1,11 +1,17 @@
 package com.example.demo.repository.specification;
 
+import com.example.demo.model.RolesMask;
 import com.example.demo.model.User;
+import com.example.demo.repository.criteria.MatchMode;
 import com.example.demo.repository.criteria.UserCriteria;
+import com.example.demo.repository.search.BestMatch;
+import com.example.demo.repository.search.SearchText;
+import com.example.demo.repository.search.TrigramSearch;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.ArrayList;
@@ -13,12 +19,19 @@ import java.util.List;
 import java.util.Objects;
 import java.util.function.BiConsumer;
 
-public class UserSpecification implements Specification<User> {
+public class UserSpecification implements Specification<User>, BestMatch.Ordered {
 
     private final transient UserCriteria filters;
+    // Narrows substring searches with the search_trigram table before the LIKE checks the remaining rows
+    private final transient TrigramSearch trigramSearch;
 
     public UserSpecification(UserCriteria filters) {
+        this(filters, TrigramSearch.NONE);
+    }
+
+    public UserSpecification(UserCriteria filters, TrigramSearch trigramSearch) {
         this.filters = filters;
+        this.trigramSearch = trigramSearch;
     }
 
     @Override
@@ -28,34 +41,46 @@ public class UserSpecification implements Specification<User> {
         // Agregar condiciones a las consultas dinámicas
         BiConsumer<String, String> addStringPredicate = (attribute, value) -> {
             if (value != null) {
-                predicates.add(criteriaBuilder.like(root.get(attribute), "%" + value + "%"));
-                query.orderBy(criteriaBuilder.asc(criteriaBuilder.length(root.get(attribute))));
+                MatchMode match = filters.getMatch();
+                if (match == null) {
+                    predicates.add(criteriaBuilder.like(root.get(attribute), "%" + value + "%"));
+                } else {
+                    predicates.add(SearchText.matches(criteriaBuilder, root.get(attribute + "Normalized"), value, match));
+                }
+                if (match == null || match == MatchMode.CONTAINS) {
+                    trigramSearch.candidates(root, query, criteriaBuilder, attribute, value).ifPresent(predicates::add);
+                }
             }
         };
 
         addStringPredicate.accept("name", filters.getName());
         addStringPredicate.accept("email", filters.getEmail());
 
+        // Users holding every requested role, as the masks that have all of their bits set
         if (filters.getRoles() != null && !filters.getRoles().isEmpty()) {
-            List<Predicate> rolePredicates = new ArrayList<>();
-            for (String role : filters.getRoles()) {
-                rolePredicates.add(criteriaBuilder.isMember(role.toUpperCase(), root.get("roles")));
-            }
-            predicates.add(criteriaBuilder.and(rolePredicates.toArray(new Predicate[0])));
+            List<Integer> masks = RolesMask.containing(filters.getRoles());
+            predicates.add(masks.isEmpty() ? criteriaBuilder.disjunction() : root.get("rolesMask").in(masks));
         }
 
         return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
     }
 
+    // Shortest values of the filtered columns first
+    @Override
+    public Sort bestMatch() {
+        return BestMatch.by("name", filters.getName())
+            .and(BestMatch.by("email", filters.getEmail()));
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof UserSpecification that)) return false;
-        return Objects.equals(filters, that.filters);
+        return Objects.equals(filters, that.filters) && Objects.equals(trigramSearch, that.trigramSearch);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(filters);
+        return Objects.hash(filters, trigramSearch);
     }
 }
@@ -0,0 +1,82 @@
+package com.example.demo.security;
+
+import com.example.demo.exception.ErrorInfo;
+import com.example.demo.security.apikey.ApiKeyService;
+import com.example.demo.security.apikey.dto.ApiKeyRequest;
+import com.example.demo.security.apikey.dto.ApiKeyResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Tag(name = "API key", description = "API related to the keys machine clients authenticate with")
+@RestController
+@RequestMapping("/api/api-keys")
+public class ApiKeyRestController {
+
+    private final ApiKeyService apiKeyService;
+
+    @Autowired
+    public ApiKeyRestController(ApiKeyService apiKeyService) {
+        this.apiKeyService = apiKeyService;
+    }
+
+    @Operation(summary = "Get API keys")
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "API keys found successfully",
+                                        content = { @Content(mediaType = "application/json",
+                                        array = @ArraySchema(schema = @Schema(implementation = ApiKeyResponse.class))) }),
+                            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                                        content = @Content),
+                            @ApiResponse(responseCode = "403", description = "Forbidden without permission",
+                                        content = @Content)
+    })
+    @GetMapping
+    public ResponseEntity<List<ApiKeyResponse>> getApiKeys() {
+        return new ResponseEntity<>(apiKeyService.findAll(), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Add API key", description = "The key is only given in this response, send it in the " +
+        "X-API-Key header to authenticate")
+    @ApiResponses(value = { @ApiResponse(responseCode = "201", description = "API key added successfully",
+                                        content = { @Content(mediaType = "application/json",
+                                        schema = @Schema(implementation = ApiKeyResponse.class)) }),
+                            @ApiResponse(responseCode = "400", description = "Invalid API key at creation",
+                                        content = {@Content(mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorInfo.class))}),
+                            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                                        content = @Content),
+                            @ApiResponse(responseCode = "403", description = "Forbidden without permission",
+                                        content = @Content)
+    })
+    @PostMapping
+    public ResponseEntity<ApiKeyResponse> addApiKey(@Valid @RequestBody ApiKeyRequest apiKeyRequest) {
+        return new ResponseEntity<>(apiKeyService.createApiKey(apiKeyRequest), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Delete API key", description = "The key is rejected at once by the instance handling the " +
+        "delete, other instances may accept it for up to security.api-key-cache.expire-after-write (30s by default)")
+    @ApiResponses(value = { @ApiResponse(responseCode = "204", description = "API key deleted successfully (No Content)"),
+                            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                                        content = @Content),
+                            @ApiResponse(responseCode = "403", description = "Forbidden without permission",
+                                        content = @Content),
+                            @ApiResponse(responseCode = "404", description = "API key not found",
+                                        content = {@Content(mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorInfo.class))})
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteApiKey(@PathVariable long id) {
+        apiKeyService.deleteApiKey(id);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+}
@@ -24,10 +24,12 @@ import org.springframework.web.bind.annotation.*;
 public class AuthRestController {
 
     private final AuthService authService;
+    private final LoginThrottle loginThrottle;
 
     @Autowired
-    public AuthRestController(AuthService authService) {
+    public AuthRestController(AuthService authService, LoginThrottle loginThrottle) {
         this.authService = authService;
+        this.loginThrottle = loginThrottle;
     }
 
     @Operation(summary = "Login to API")
@@ -38,7 +40,10 @@ public class AuthRestController {
                                         content = { @Content(mediaType = "application/json",
                                         schema = @Schema(implementation = ErrorInfo.class))}),
                             @ApiResponse(responseCode = "401", description = "Unauthorized",
-                                        content = @Content)
+                                        content = @Content),
+                            @ApiResponse(responseCode = "429", description = "Too many login attempts",
+                                        content = { @Content(mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorInfo.class))})
     })
     @Parameters(value = {@Parameter(name = "AccessToken",
                                     description = "Access token used to authenticate and authorize users in the API. " +
@@ -49,10 +54,12 @@ public class AuthRestController {
     })
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(
+            HttpServletRequest request,
             @CookieValue(name = "AccessToken", required = false) String accessToken,
             @CookieValue(name = "RefreshToken", required = false) String refreshToken,
             @Valid @RequestBody LoginRequest loginRequest
     ) {
+        loginThrottle.acquire(loginRequest.getUsername(), request.getRemoteAddr());
         return authService.login(loginRequest, accessToken, refreshToken);
     }
 
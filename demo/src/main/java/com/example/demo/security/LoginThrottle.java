@@ -0,0 +1,125 @@
+package com.example.demo.security;
+
+import com.example.demo.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class LoginThrottle {
+
+    private final Cache<String, SlidingWindow> accounts;
+    private final Cache<String, SlidingWindow> clients;
+    private final int accountLimit;
+    private final int clientLimit;
+    private final long windowMillis;
+    private final Clock clock;
+    private final Counter rejections;
+
+    @Autowired
+    public LoginThrottle(
+            @Value("${security.login-throttle.account-limit:20}") int accountLimit,
+            @Value("${security.login-throttle.client-limit:100}") int clientLimit,
+            @Value("${security.login-throttle.window:1m}") Duration window,
+            @Value("${security.login-throttle.maximum-keys:100000}") long maximumKeys,
+            MeterRegistry meterRegistry
+    ) {
+        this(accountLimit, clientLimit, window, maximumKeys, meterRegistry, Clock.systemUTC());
+    }
+
+    public LoginThrottle(int accountLimit, int clientLimit, Duration window, long maximumKeys,
+                         MeterRegistry meterRegistry, Clock clock) {
+        this.accountLimit = accountLimit;
+        this.clientLimit = clientLimit;
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+        // A key idle for two windows no longer contributes to any count, and the size bound keeps memory
+        // flat when an attacker cycles through usernames or addresses
+        this.accounts = Caffeine.newBuilder().maximumSize(maximumKeys).expireAfterAccess(window.multipliedBy(2)).build();
+        this.clients = Caffeine.newBuilder().maximumSize(maximumKeys).expireAfterAccess(window.multipliedBy(2)).build();
+        this.rejections = Counter.builder("security.login.throttle.rejections")
+            .description("Login and sign up attempts rejected by the throttle")
+            .register(meterRegistry);
+    }
+
+    public void acquire(String username, String clientAddress) {
+        long now = clock.millis();
+        SlidingWindow client = clients.get(clientAddress, key -> new SlidingWindow());
+        if (!client.tryAcquire(now, clientLimit, windowMillis)) {
+            reject(now);
+        }
+        if (!accounts.get(username.toLowerCase(Locale.ROOT), key -> new SlidingWindow()).tryAcquire(now, accountLimit, windowMillis)) {
+            // The attempt is not made, so it must not use up the client's budget either: retries against one locked
+            // account would otherwise end up locking out every other account behind the same address
+            client.release(now, windowMillis);
+            reject(now);
+        }
+    }
+
+    private void reject(long now) {
+        rejections.increment();
+        throw new TooManyRequestsException(Math.max(1, (windowMillis - now % windowMillis) / 1000));
+    }
+
+    // Sliding window approximated from the count of the current and the previous fixed window. The window
+    // index and both counts are packed into a single long so an attempt is recorded with one CAS
+    private static final class SlidingWindow {
+
+        private static final int MAX_COUNT = 0xFFFF;
+
+        private final AtomicLong state = new AtomicLong();
+
+        boolean tryAcquire(long now, int limit, long windowMillis) {
+            long window = now / windowMillis;
+            double previousWeight = 1 - (double) (now % windowMillis) / windowMillis;
+            while (true) {
+                long current = state.get();
+                long currentWindow = current >>> 32;
+                int previousCount = (int) (current >>> 16) & MAX_COUNT;
+                int count = (int) current & MAX_COUNT;
+                if (currentWindow != window) {
+                    previousCount = currentWindow == window - 1 ? count : 0;
+                    count = 0;
+                }
+                if (previousCount * previousWeight + count >= limit) {
+                    return false;
+                }
+                long next = window << 32 | (long) previousCount << 16 | Math.min(count + 1, MAX_COUNT);
+                if (state.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+
+        // Takes back an attempt recorded at the given time, from the previous window if the window moved on since
+        void release(long now, long windowMillis) {
+            long window = now / windowMillis;
+            while (true) {
+                long current = state.get();
+                long currentWindow = current >>> 32;
+                int previousCount = (int) (current >>> 16) & MAX_COUNT;
+                int count = (int) current & MAX_COUNT;
+                if (currentWindow == window && count > 0) {
+                    count--;
+                } else if (currentWindow == window + 1 && previousCount > 0) {
+                    previousCount--;
+                } else {
+                    return;
+                }
+                long next = currentWindow << 32 | (long) previousCount << 16 | count;
+                if (state.compareAndSet(current, next)) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.demo.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+@Component
+public class UserDetailsCache {
+
+    private final Cache<String, UserPrincipal> cache;
+
+    @Autowired
+    public UserDetailsCache(
+            @Value("${security.user-details-cache.maximum-size:10000}") long maximumSize,
+            @Value("${security.user-details-cache.expire-after-write:5m}") Duration expireAfterWrite,
+            MeterRegistry meterRegistry
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
+    }
+
+    public UserPrincipal get(String email, Function<String, UserPrincipal> loader) {
+        // Concurrent misses for the same email share a single load. A copy is returned because
+        // Spring Security erases the credentials of the principal once the authentication succeeds
+        UserPrincipal user = cache.get(email, loader);
+        return new UserPrincipal(user.getId(), user.getUsername(), user.getPassword(), user.getAuthorities());
+    }
+
+    public void evict(String email) {
+        cache.invalidate(email);
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.demo.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+public class UserPrincipal extends User {
+
+    private final long id;
+
+    public UserPrincipal(long id, String username, String password, Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.id = id;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof UserPrincipal that)) return false;
+        return super.equals(o) && id == that.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+}
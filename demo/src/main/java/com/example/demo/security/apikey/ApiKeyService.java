@@ -0,0 +1,121 @@
+package com.example.demo.security.apikey;
+
+import com.example.demo.exception.ApiKeyNotFoundException;
+import com.example.demo.model.ApiKey;
+import com.example.demo.repository.ApiKeyRepository;
+import com.example.demo.security.apikey.dto.ApiKeyRequest;
+import com.example.demo.security.apikey.dto.ApiKeyResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class ApiKeyService {
+
+    public static final String KEY_PREFIX = "dk_";
+    public static final String PRINCIPAL_PREFIX = "api-key:";
+
+    private static final int KEY_BYTES = 32;
+    private static final int KEY_LENGTH = KEY_PREFIX.length() + Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(new byte[KEY_BYTES]).length();
+    private static final String HASH_ALGORITHM = "HmacSHA256";
+
+    private final ApiKeyRepository apiKeyRepository;
+    private final SecretKeySpec hashKey;
+    // Mac instances are not thread-safe, each thread reuses its own
+    private final ThreadLocal<Mac> mac = ThreadLocal.withInitial(this::createMac);
+    private final SecureRandom secureRandom = new SecureRandom();
+    // Unknown keys are cached as well, so guessing does not reach the database. The cache admission policy
+    // keeps one-off guesses from evicting the keys that are actually in use
+    private final Cache<String, Optional<UserDetails>> cache;
+
+    @Autowired
+    public ApiKeyService(
+            ApiKeyRepository apiKeyRepository,
+            @Value("${security.api-key.secret}") String secret,
+            @Value("${security.api-key-cache.maximum-size:10000}") long maximumSize,
+            @Value("${security.api-key-cache.expire-after-write:30s}") Duration expireAfterWrite,
+            MeterRegistry meterRegistry
+    ) {
+        this.apiKeyRepository = apiKeyRepository;
+        this.hashKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HASH_ALGORITHM);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "apiKeys");
+    }
+
+    private Mac createMac() {
+        try {
+            Mac instance = Mac.getInstance(HASH_ALGORITHM);
+            instance.init(hashKey);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Algorithm " + HASH_ALGORITHM + " is not available", e);
+        }
+    }
+
+    // Keys carry 256 random bits, so a single keyed hash is enough to store them and BCrypt is not needed
+    private String hash(String key) {
+        return HexFormat.of().formatHex(mac.get().doFinal(key.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public ApiKeyResponse createApiKey(ApiKeyRequest apiKeyRequest) {
+        byte[] randomBytes = new byte[KEY_BYTES];
+        secureRandom.nextBytes(randomBytes);
+        String key = KEY_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
+
+        ApiKey apiKey = apiKeyRepository.save(new ApiKey(apiKeyRequest.getName(), hash(key), apiKeyRequest.getRole(),
+            System.currentTimeMillis()));
+        return new ApiKeyResponse(apiKey, key);
+    }
+
+    public List<ApiKeyResponse> findAll() {
+        return apiKeyRepository.findAll().stream()
+            .map(apiKey -> new ApiKeyResponse(apiKey, null))
+            .toList();
+    }
+
+    public void deleteApiKey(long id) {
+        ApiKey apiKey = apiKeyRepository.findById(id)
+            .orElseThrow(() -> new ApiKeyNotFoundException(id));
+        apiKeyRepository.delete(apiKey);
+        // Other instances drop the key when their cached entry expires
+        cache.invalidate(apiKey.getKeyHash());
+    }
+
+    // Runs on every request that carries a key. Only a cache miss reads the api_key table
+    public Optional<UserDetails> authenticate(String key) {
+        if (key == null || key.length() != KEY_LENGTH || !key.startsWith(KEY_PREFIX)) {
+            return Optional.empty();
+        }
+        return cache.get(hash(key), this::loadApiKey);
+    }
+
+    private Optional<UserDetails> loadApiKey(String keyHash) {
+        return apiKeyRepository.findByKeyHash(keyHash)
+            .map(apiKey -> User.withUsername(PRINCIPAL_PREFIX + apiKey.getId())
+                .password("")
+                .roles(apiKey.getRole().name())
+                .build());
+    }
+}
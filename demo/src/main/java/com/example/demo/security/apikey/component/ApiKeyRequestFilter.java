@@ -0,0 +1,81 @@
+package com.example.demo.security.apikey.component;
+
+import com.example.demo.security.apikey.ApiKeyService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+@Component
+public class ApiKeyRequestFilter extends OncePerRequestFilter {
+
+	public static final String API_KEY_HEADER = "X-API-Key";
+
+	private static final Logger LOG = LoggerFactory.getLogger(ApiKeyRequestFilter.class);
+
+	private final ApiKeyService apiKeyService;
+	private final Counter acceptedKeys;
+	private final Counter rejectedKeys;
+
+	@Autowired
+	public ApiKeyRequestFilter(ApiKeyService apiKeyService, MeterRegistry meterRegistry) {
+		this.apiKeyService = apiKeyService;
+		this.acceptedKeys = authenticationCounter(meterRegistry, "accepted");
+		this.rejectedKeys = authenticationCounter(meterRegistry, "rejected");
+	}
+
+	private static Counter authenticationCounter(MeterRegistry meterRegistry, String outcome) {
+		return Counter.builder("security.api-key.authentication.requests")
+				.description("Requests carrying an API key by whether the key was accepted")
+				.tag("outcome", outcome)
+				.register(meterRegistry);
+	}
+
+	@Override
+	protected boolean shouldNotFilter(@NotNull HttpServletRequest request) {
+		return request.getHeader(API_KEY_HEADER) == null;
+	}
+
+	@Override
+	protected void doFilterInternal(
+			@NotNull HttpServletRequest request,
+			@NotNull HttpServletResponse response,
+			@NotNull FilterChain filterChain) throws ServletException, IOException {
+
+		Optional<UserDetails> client = apiKeyService.authenticate(request.getHeader(API_KEY_HEADER));
+		if (client.isPresent()) {
+			UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(
+					client.get(), null, client.get().getAuthorities());
+			authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+			// Replaces the deferred JWT context, so a request with a valid key never decrypts the cookies
+			SecurityContextHolderStrategy strategy = SecurityContextHolder.getContextHolderStrategy();
+			SecurityContext context = strategy.createEmptyContext();
+			context.setAuthentication(authentication);
+			strategy.setContext(context);
+			acceptedKeys.increment();
+		} else {
+			LOG.debug("Invalid API key");
+			rejectedKeys.increment();
+		}
+
+		filterChain.doFilter(request, response);
+	}
+}
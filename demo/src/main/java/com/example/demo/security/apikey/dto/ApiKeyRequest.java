@@ -0,0 +1,42 @@
+package com.example.demo.security.apikey.dto;
+
+import com.example.demo.security.config.SecurityExpressions.UserRole;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Represents the information of an API key request")
+public class ApiKeyRequest {
+
+	@Schema(description = "Name of the client the key is issued to", example = "Billing batch")
+	@NotBlank
+	private String name;
+	@Schema(description = "Role granted to the key", example = "USER")
+	@NotNull
+	private UserRole role;
+
+	public ApiKeyRequest() {
+		//Default empty constructor
+	}
+
+	public ApiKeyRequest(String name, UserRole role) {
+		this.name = name;
+		this.role = role;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public UserRole getRole() {
+		return role;
+	}
+
+	public void setRole(UserRole role) {
+		this.role = role;
+	}
+}
@@ -0,0 +1,73 @@
+package com.example.demo.security.apikey.dto;
+
+import com.example.demo.model.ApiKey;
+import com.example.demo.security.config.SecurityExpressions.UserRole;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Represents the information of an API key")
+public class ApiKeyResponse {
+
+	@Schema(description = "API key Identifier", example = "1")
+	private long id;
+	@Schema(description = "Name of the client the key is issued to", example = "Billing batch")
+	private String name;
+	@Schema(description = "Role granted to the key", example = "USER")
+	private UserRole role;
+	@Schema(description = "Creation time in epoch milliseconds", example = "1700000000000")
+	private long createdAt;
+	@Schema(description = "The key itself, only given once when the key is created",
+			example = "dk_3q2-7wAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA")
+	private String key;
+
+	public ApiKeyResponse() {
+		//Default empty constructor
+	}
+
+	public ApiKeyResponse(ApiKey apiKey, String key) {
+		this.id = apiKey.getId();
+		this.name = apiKey.getName();
+		this.role = apiKey.getRole();
+		this.createdAt = apiKey.getCreatedAt();
+		this.key = key;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public void setId(long id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public UserRole getRole() {
+		return role;
+	}
+
+	public void setRole(UserRole role) {
+		this.role = role;
+	}
+
+	public long getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(long createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	public void setKey(String key) {
+		this.key = key;
+	}
+}
@@ -1,10 +1,15 @@
 package com.example.demo.security.config;
 
+import com.example.demo.security.BoundedPasswordEncoder;
+import com.example.demo.security.apikey.component.ApiKeyRequestFilter;
 import com.example.demo.security.config.SecurityExpressions.Endpoint;
 import com.example.demo.security.config.SecurityExpressions.UserRole;
 import com.example.demo.security.jwt.component.JwtRequestFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -15,13 +20,15 @@ import org.springframework.security.authentication.dao.DaoAuthenticationProvider
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.AccessDeniedHandlerImpl;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.NullSecurityContextRepository;
+import org.springframework.security.web.savedrequest.NullRequestCache;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
@@ -34,16 +41,20 @@ import java.util.List;
 public class AuthConfiguration{
 
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(10, new SecureRandom());
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password-encoder.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int threads,
+            @Value("${security.password-encoder.queue-capacity:100}") int queueCapacity,
+            MeterRegistry meterRegistry
+    ) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(10, new SecureRandom()), threads, queueCapacity, meterRegistry);
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider(UserDetailsService userDetailsService) {
+    public DaoAuthenticationProvider authenticationProvider(UserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
 
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
 
         return authProvider;
     }
@@ -69,8 +80,26 @@ public class AuthConfiguration{
         return new CorsFilter(source);
     }
 
+    // The filters are components so the security chain can be handed them, which would also make Spring Boot register
+    // them with the servlet container. They only belong in the chain, run there as well they would see every request
+    // twice
     @Bean
-    protected SecurityFilterChain filterChain(HttpSecurity http, JwtRequestFilter jwtRequestFilter) throws Exception {
+    public FilterRegistrationBean<JwtRequestFilter> jwtRequestFilterRegistration(JwtRequestFilter jwtRequestFilter) {
+        FilterRegistrationBean<JwtRequestFilter> registration = new FilterRegistrationBean<>(jwtRequestFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ApiKeyRequestFilter> apiKeyRequestFilterRegistration(ApiKeyRequestFilter apiKeyRequestFilter) {
+        FilterRegistrationBean<ApiKeyRequestFilter> registration = new FilterRegistrationBean<>(apiKeyRequestFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    protected SecurityFilterChain filterChain(HttpSecurity http, JwtRequestFilter jwtRequestFilter,
+                                              ApiKeyRequestFilter apiKeyRequestFilter) throws Exception {
 
         // Private endpoints
         http
@@ -83,6 +112,10 @@ public class AuthConfiguration{
                 .requestMatchers(Endpoint.SOCIETIES_DETAIL.getPattern()).authenticated()
                 .requestMatchers(Endpoint.GENERATOR_TYPES.getPattern()).authenticated()
                 .requestMatchers(Endpoint.GENERATOR_TYPES_DETAIL.getPattern()).authenticated()
+                .requestMatchers(Endpoint.API_KEYS.getPattern()).hasRole(UserRole.ADMIN.name())
+                .requestMatchers(Endpoint.API_KEYS_DETAIL.getPattern()).hasRole(UserRole.ADMIN.name())
+                .requestMatchers(Endpoint.ACTUATOR_HEALTH.getPattern()).permitAll()
+                .requestMatchers(Endpoint.ACTUATOR.getPattern()).hasRole(UserRole.ADMIN.name())
             );
 
         // Public endpoints
@@ -112,11 +145,17 @@ public class AuthConfiguration{
             }
         });
 
-        // Avoid creating session
-        http.sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS);
+        // Avoid creating session. The session management filter is left out because it reads the security
+        // context on every request and would defeat the lazy JWT resolution, so the stateless context
+        // repository and request cache are set here instead of through the session creation policy
+        http.sessionManagement().disable();
+        http.securityContext().securityContextRepository(new NullSecurityContextRepository());
+        http.requestCache().requestCache(new NullRequestCache());
 
         // JWT filter
         http.addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
+        // API key filter, placed after the JWT one so a valid key takes precedence over the cookies
+        http.addFilterAfter(apiKeyRequestFilter, JwtRequestFilter.class);
 
         return http.build();
     }
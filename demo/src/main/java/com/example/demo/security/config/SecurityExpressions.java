@@ -1,10 +1,44 @@
 package com.example.demo.security.config;
 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 public class SecurityExpressions {
 
     public enum UserRole {
         ADMIN,
-        USER
+        USER;
+
+        private static final UserRole[] ROLES = values();
+
+        // One shared instance per role, handed to every principal instead of a new one per user or token
+        private final GrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + name());
+
+        public GrantedAuthority getAuthority() {
+            return authority;
+        }
+
+        public static List<GrantedAuthority> authorities(Collection<UserRole> roles) {
+            List<GrantedAuthority> authorities = new ArrayList<>(roles.size());
+            for (UserRole role : roles) {
+                authorities.add(role.authority);
+            }
+            return authorities;
+        }
+
+        // The shared instance of a role authority, or a new one for authorities that are not a role
+        public static GrantedAuthority authority(String name) {
+            for (UserRole role : ROLES) {
+                if (role.authority.getAuthority().equals(name)) {
+                    return role.authority;
+                }
+            }
+            return new SimpleGrantedAuthority(name);
+        }
     }
 
     public enum Endpoint {
@@ -14,7 +48,11 @@ public class SecurityExpressions {
         SOCIETIES_DETAIL("/api/societies/**"),
         GENERATOR_TYPES("/api/generator-types"),
         GENERATOR_TYPES_DETAIL("/api/generator-types/**"),
-        AUTH("/api/auth/**");
+        AUTH("/api/auth/**"),
+        API_KEYS("/api/api-keys"),
+        API_KEYS_DETAIL("/api/api-keys/**"),
+        ACTUATOR_HEALTH("/actuator/health"),
+        ACTUATOR("/actuator/**");
 
         private final String pattern;
 
@@ -2,10 +2,10 @@ package com.example.demo.security.jwt;
 
 import com.example.demo.security.jwt.component.JwtCookieManager;
 import com.example.demo.security.jwt.component.JwtTokenProvider;
+import com.example.demo.security.jwt.component.TokenRevocationList;
 import com.example.demo.security.jwt.dto.AuthResponse;
 import com.example.demo.security.jwt.dto.LoginRequest;
 import com.example.demo.security.jwt.dto.Token;
-import com.example.demo.security.jwt.util.SecurityCipher;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
@@ -27,18 +27,21 @@ public class AuthService {
     private final UserDetailsService userDetailsService;
     private final JwtTokenProvider jwtTokenProvider;
     private final JwtCookieManager cookieUtil;
+    private final TokenRevocationList tokenRevocationList;
 
     @Autowired
     public AuthService(
             AuthenticationManager authenticationManager,
             UserDetailsService userDetailsService,
             JwtTokenProvider jwtTokenProvider,
-            JwtCookieManager cookieUtil
+            JwtCookieManager cookieUtil,
+            TokenRevocationList tokenRevocationList
     ) {
         this.authenticationManager = authenticationManager;
         this.userDetailsService = userDetailsService;
         this.jwtTokenProvider = jwtTokenProvider;
         this.cookieUtil = cookieUtil;
+        this.tokenRevocationList = tokenRevocationList;
 
     }
 
@@ -52,8 +55,8 @@ public class AuthService {
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        String accessToken = SecurityCipher.decrypt(encryptedAccessToken);
-        String refreshToken = SecurityCipher.decrypt(encryptedRefreshToken);
+        String accessToken = cookieUtil.readToken(encryptedAccessToken);
+        String refreshToken = cookieUtil.readToken(encryptedRefreshToken);
 
         String username = loginRequest.getUsername();
         UserDetails user = userDetailsService.loadUserByUsername(username);
@@ -85,7 +88,7 @@ public class AuthService {
     }
 
     public ResponseEntity<AuthResponse> refresh(String encryptedRefreshToken) {
-        String refreshToken = SecurityCipher.decrypt(encryptedRefreshToken);
+        String refreshToken = cookieUtil.readToken(encryptedRefreshToken);
 
         boolean refreshTokenValid = jwtTokenProvider.validateToken(refreshToken);
 
@@ -123,6 +126,7 @@ public class AuthService {
         HttpHeaders responseHeaders = new HttpHeaders();
         if (request.getCookies() != null) {
             for (Cookie cookie : request.getCookies()) {
+                revokeTokenCookie(cookie);
                 deleteTokenCookie(responseHeaders, cookie);
             }
         }
@@ -144,6 +148,14 @@ public class AuthService {
                 cookieUtil.createRefreshTokenCookie(token.getTokenValue()).toString());
     }
 
+    private void revokeTokenCookie(Cookie cookie) {
+        if (JwtCookieManager.ACCESS_TOKEN_COOKIE_NAME.equals(cookie.getName())
+            || JwtCookieManager.REFRESH_TOKEN_COOKIE_NAME.equals(cookie.getName())) {
+            jwtTokenProvider.parseToken(cookieUtil.readToken(cookie.getValue()))
+                .ifPresent(claims -> tokenRevocationList.revoke(claims.getTokenId(), claims.getExpiresAt()));
+        }
+    }
+
     private void deleteTokenCookie(HttpHeaders httpHeaders, Cookie cookie) {
         httpHeaders.add(HttpHeaders.SET_COOKIE,
             cookieUtil.deleteTokenCookie(cookie).toString());
@@ -1,5 +1,6 @@
 package com.example.demo.security.jwt.component;
 
+import com.example.demo.security.jwt.util.SealedTokenCodec;
 import com.example.demo.security.jwt.util.SecurityCipher;
 import jakarta.servlet.http.Cookie;
 import org.springframework.http.HttpCookie;
@@ -13,13 +14,20 @@ public class JwtCookieManager {
 	public static final String REFRESH_TOKEN_COOKIE_NAME = "RefreshToken";
 
 	public HttpCookie createAccessTokenCookie(String token) {
-		String encryptedToken = SecurityCipher.encrypt(token);
-		return ResponseCookie.from(ACCESS_TOKEN_COOKIE_NAME, encryptedToken).maxAge(-1).httpOnly(true).path("/").build();
+		return ResponseCookie.from(ACCESS_TOKEN_COOKIE_NAME, toCookieValue(token)).maxAge(-1).httpOnly(true).path("/").build();
 	}
 
 	public HttpCookie createRefreshTokenCookie(String token) {
-		String encryptedToken = SecurityCipher.encrypt(token);
-		return ResponseCookie.from(REFRESH_TOKEN_COOKIE_NAME, encryptedToken).maxAge(-1).httpOnly(true).path("/").build();
+		return ResponseCookie.from(REFRESH_TOKEN_COOKIE_NAME, toCookieValue(token)).maxAge(-1).httpOnly(true).path("/").build();
+	}
+
+	// Sealed tokens are already encrypted, only signed JWTs are wrapped with the cookie cipher
+	private String toCookieValue(String token) {
+		return SealedTokenCodec.isSealed(token) ? token : SecurityCipher.encrypt(token);
+	}
+
+	public String readToken(String cookieValue) {
+		return SealedTokenCodec.isSealed(cookieValue) ? cookieValue : SecurityCipher.decrypt(cookieValue);
 	}
 
 	public HttpCookie deleteTokenCookie(Cookie cookie) {
@@ -1,6 +1,10 @@
 package com.example.demo.security.jwt.component;
 
-import com.example.demo.security.jwt.util.SecurityCipher;
+import com.example.demo.security.UserPrincipal;
+import com.example.demo.security.jwt.dto.TokenClaims;
+import com.example.demo.security.jwt.util.SampledFailureLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -10,16 +14,30 @@ import jakarta.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
 import org.springframework.util.StringUtils;
+import org.springframework.util.function.SingletonSupplier;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
@@ -28,11 +46,59 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
 	private final UserDetailsService userDetailsService;
 	private final JwtTokenProvider jwtTokenProvider;
+	private final JwtCookieManager jwtCookieManager;
+	private final boolean stateless;
+	private final long renewalWindowMillis;
+	private final long renewalJitterMillis;
+	private final List<String> publicPaths;
+	private final PathMatcher pathMatcher = new AntPathMatcher();
+	private final Counter skippedRequests;
+	private final Counter resolvedRequests;
+	private final Counter unresolvedRequests;
+	private final SampledFailureLog failureLog;
 
 	@Autowired
-	public JwtRequestFilter(UserDetailsService userDetailsService, JwtTokenProvider jwtTokenProvider) {
+	public JwtRequestFilter(
+			UserDetailsService userDetailsService,
+			JwtTokenProvider jwtTokenProvider,
+			JwtCookieManager jwtCookieManager,
+			@Value("${jwt.stateless:false}") boolean stateless,
+			@Value("${jwt.renewal.window:10m}") Duration renewalWindow,
+			@Value("${jwt.renewal.jitter:5m}") Duration renewalJitter,
+			@Value("${security.public-paths:}") List<String> publicPaths,
+			MeterRegistry meterRegistry
+	) {
 		this.userDetailsService = userDetailsService;
 		this.jwtTokenProvider = jwtTokenProvider;
+		this.jwtCookieManager = jwtCookieManager;
+		this.stateless = stateless;
+		this.renewalWindowMillis = renewalWindow.toMillis();
+		this.renewalJitterMillis = renewalJitter.toMillis();
+		this.publicPaths = publicPaths;
+		this.skippedRequests = authenticationCounter(meterRegistry, "skipped");
+		this.resolvedRequests = authenticationCounter(meterRegistry, "resolved");
+		this.unresolvedRequests = authenticationCounter(meterRegistry, "unresolved");
+		this.failureLog = new SampledFailureLog(LOG, "jwt-filter", meterRegistry);
+	}
+
+	private static Counter authenticationCounter(MeterRegistry meterRegistry, String outcome) {
+		return Counter.builder("security.jwt.authentication.requests")
+				.description("Requests seen by the JWT filter by whether the token had to be resolved")
+				.tag("outcome", outcome)
+				.register(meterRegistry);
+	}
+
+	// Public paths never look at the principal, so the cookie is not even decrypted for them
+	@Override
+	protected boolean shouldNotFilter(@NotNull HttpServletRequest request) {
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		for (String publicPath : publicPaths) {
+			if (pathMatcher.match(publicPath, path)) {
+				skippedRequests.increment();
+				return true;
+			}
+		}
+		return false;
 	}
 
 	@Override
@@ -41,26 +107,109 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 			@NotNull HttpServletResponse response,
 			@NotNull FilterChain filterChain) throws ServletException, IOException {
 
+		// The token is only verified and the user loaded once an authorization rule or the application asks for
+		// the authentication, so permitAll routes that never look at it skip the work entirely
+		SecurityContextHolderStrategy strategy = SecurityContextHolder.getContextHolderStrategy();
+		Supplier<SecurityContext> deferredContext = strategy.getDeferredContext();
+		AtomicBoolean resolved = new AtomicBoolean();
+		strategy.setDeferredContext(SingletonSupplier.of(() -> {
+			resolved.set(true);
+			SecurityContext context = deferredContext.get();
+			if (context.getAuthentication() != null) {
+				return context;
+			}
+			SecurityContext authenticatedContext = strategy.createEmptyContext();
+			authenticatedContext.setAuthentication(authenticate(request, response));
+			return authenticatedContext;
+		}));
+
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			(resolved.get() ? resolvedRequests : unresolvedRequests).increment();
+		}
+	}
+
+	private Authentication authenticate(HttpServletRequest request, HttpServletResponse response) {
 		try {
 			String token = getJwtToken(request, true);
-			
-			if (StringUtils.hasText(token) && jwtTokenProvider.validateToken(token)) {
-				String username = jwtTokenProvider.getUsername(token);
-				UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+
+			Optional<TokenClaims> claims = StringUtils.hasText(token) ? jwtTokenProvider.parseToken(token) : Optional.empty();
+			if (claims.isPresent()) {
+				UserDetails userDetails = getUserDetails(claims.get());
 				UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
 						userDetails, null, userDetails.getAuthorities());
 				authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-				SecurityContextHolder.getContext().setAuthentication(authentication);
+
+				if (isAboutToExpire(claims.get())) {
+					renewAccessToken(request, response, claims.get(), userDetails);
+				}
+				return authentication;
 			}
 		} catch (Exception ex) {
-			LOG.error("Exception processing JWT Token",ex);
+			failureLog.failure("Exception processing JWT Token", ex);
 		}
+		return null;
+	}
 
-		filterChain.doFilter(request, response);
-	}	
+	private UserDetails getUserDetails(TokenClaims claims) {
+		// In stateless mode the signed claims are trusted until the token expires, so the user table is not read
+		if (stateless && claims.getUserId() != null) {
+			return new UserPrincipal(claims.getUserId(), claims.getSubject(), "", claims.getAuthorities());
+		}
+		return userDetailsService.loadUserByUsername(claims.getSubject());
+	}
+
+	// Each token gets a stable random share of the jitter, so clients whose tokens were issued together
+	// renew at different times instead of all at the start of the window
+	private boolean isAboutToExpire(TokenClaims claims) {
+		if (renewalWindowMillis <= 0) {
+			return false;
+		}
+		long jitter = renewalJitterMillis > 0 && claims.getTokenId() != null
+				? Math.floorMod(claims.getTokenId().hashCode(), renewalJitterMillis)
+				: 0;
+		return claims.getExpiresAt() - System.currentTimeMillis() <= renewalWindowMillis + jitter;
+	}
+
+	// Reissues the access cookie on this response, sparing the client the 401 and /refresh round trip. The
+	// authentication is resolved lazily, possibly once the response is committed and a cookie added to it would be
+	// lost, so the renewal is then left to a later request of the window
+	private void renewAccessToken(HttpServletRequest request, HttpServletResponse response,
+								  TokenClaims claims, UserDetails userDetails) {
+		if (response.isCommitted()) {
+			return;
+		}
+		String refreshToken = getJwtFromCookie(request, JwtCookieManager.REFRESH_TOKEN_COOKIE_NAME);
+		if (!StringUtils.hasText(refreshToken)) {
+			return;
+		}
+
+		Optional<TokenClaims> refreshClaims = jwtTokenProvider.parseToken(refreshToken);
+		if (refreshClaims.isPresent() && claims.getSubject().equals(refreshClaims.get().getSubject())) {
+			Optional<UserDetails> currentUser = getCurrentUser(claims, userDetails);
+			if (currentUser.isPresent()) {
+				String accessToken = jwtTokenProvider.generateToken(currentUser.get()).getTokenValue();
+				response.addHeader(HttpHeaders.SET_COOKIE, jwtCookieManager.createAccessTokenCookie(accessToken).toString());
+			}
+		}
+	}
+
+	// A stateless principal is only the claims of the old token. The user is read again before a new token is signed,
+	// as /refresh does, so a demoted or deleted user does not keep getting tokens with the authorities it lost
+	private Optional<UserDetails> getCurrentUser(TokenClaims claims, UserDetails userDetails) {
+		if (!stateless) {
+			return Optional.of(userDetails);
+		}
+		try {
+			return Optional.of(userDetailsService.loadUserByUsername(claims.getSubject()));
+		} catch (UsernameNotFoundException e) {
+			return Optional.empty();
+		}
+	}
 
 	private String getJwtToken(HttpServletRequest request, boolean fromCookie) {
-		return fromCookie ? getJwtFromCookie(request) : getJwtFromRequest(request);
+		return fromCookie ? getJwtFromCookie(request, JwtCookieManager.ACCESS_TOKEN_COOKIE_NAME) : getJwtFromRequest(request);
 	}
 
 	private String getJwtFromRequest(HttpServletRequest request) {
@@ -68,24 +217,24 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 		
 		if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
 			String accessToken = bearerToken.substring(7);
-			return SecurityCipher.decrypt(accessToken);
+			return jwtCookieManager.readToken(accessToken);
 		}
 		return null;
 	}
 
-	private String getJwtFromCookie(HttpServletRequest request) {
+	private String getJwtFromCookie(HttpServletRequest request, String cookieName) {
 		Cookie[] cookies = request.getCookies();
 		if (cookies == null) {
 			return "";
 		}
 		for (Cookie cookie : cookies) {
-			if (JwtCookieManager.ACCESS_TOKEN_COOKIE_NAME.equals(cookie.getName())) {
-				String accessToken = cookie.getValue();
-				if (accessToken == null) {
+			if (cookieName.equals(cookie.getName())) {
+				String token = cookie.getValue();
+				if (token == null) {
 					return null;
 				}
 
-				return SecurityCipher.decrypt(accessToken);
+				return jwtCookieManager.readToken(token);
 			}
 		}
 		return null;
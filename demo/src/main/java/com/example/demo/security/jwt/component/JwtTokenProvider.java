@@ -1,6 +1,10 @@
 package com.example.demo.security.jwt.component;
 
+import com.example.demo.security.UserPrincipal;
+import com.example.demo.security.config.SecurityExpressions.UserRole;
 import com.example.demo.security.jwt.dto.Token;
+import com.example.demo.security.jwt.dto.TokenClaims;
+import com.example.demo.security.jwt.util.SealedTokenCodec;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.SignatureException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,33 +14,58 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.spec.SecretKeySpec;
+import java.security.Key;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.util.Calendar;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
 	
 	private static final Logger LOG = LoggerFactory.getLogger(JwtTokenProvider.class);
 	
-	@Value("${jwt.secret}")
-	private String jwtSecret;
-	
 	private static final long JWT_EXPIRATION_IN_MS = 5400000;
 	private static final long REFRESH_TOKEN_EXPIRATION_MS = 10800000;
+	private static final String AUTHORITIES_CLAIM = "auth";
+	private static final String USER_ID_CLAIM = "uid";
+
+	public enum TokenFormat {
+		JWT, SEALED
+	}
 	
 	private final UserDetailsService userDetailsService;
+	private final TokenRevocationList tokenRevocationList;
+	// Key and parser are immutable and thread-safe, so they are built once instead of per token
+	private final Key signingKey;
+	private final JwtParser jwtParser;
+	private final TokenFormat tokenFormat;
+	private final SealedTokenCodec sealedTokenCodec;
 
 	@Autowired
-	public JwtTokenProvider(UserDetailsService userDetailsService) {
+	public JwtTokenProvider(
+			UserDetailsService userDetailsService,
+			TokenRevocationList tokenRevocationList,
+			@Value("${jwt.secret}") String jwtSecret,
+			@Value("${jwt.token-format:jwt}") TokenFormat tokenFormat
+	) {
 		this.userDetailsService = userDetailsService;
+		this.tokenRevocationList = tokenRevocationList;
+		this.signingKey = new SecretKeySpec(jwtSecret.getBytes(), SignatureAlgorithm.HS256.getJcaName());
+		this.jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+		this.tokenFormat = tokenFormat;
+		this.sealedTokenCodec = new SealedTokenCodec(jwtSecret);
 	}
 
 	public Authentication getAuthentication(String token) {
@@ -45,7 +74,11 @@ public class JwtTokenProvider {
 	}
 
 	public String getUsername(String token) {
-		return Jwts.parserBuilder().setSigningKey(new SecretKeySpec(jwtSecret.getBytes(), SignatureAlgorithm.HS256.getJcaName())).build().parseClaimsJws(token).getBody().getSubject();
+		if (SealedTokenCodec.isSealed(token)) {
+			return parseSealedToken(token).map(TokenClaims::getSubject)
+					.orElseThrow(() -> new MalformedJwtException("Invalid sealed token"));
+		}
+		return jwtParser.parseClaimsJws(token).getBody().getSubject();
 	}
 
 	public String resolveToken(HttpServletRequest req) {
@@ -57,9 +90,26 @@ public class JwtTokenProvider {
 	}
 
 	public boolean validateToken(String token) {
+		return parseToken(token).isPresent();
+	}
+
+	// Verifies the token once and returns its subject and authorities together
+	public Optional<TokenClaims> parseToken(String token) {
+		// Both formats are accepted whatever is issued, so switching jwt.token-format does not log anyone out
+		if (SealedTokenCodec.isSealed(token)) {
+			return parseSealedToken(token);
+		}
+
 		try {
-			Jwts.parserBuilder().setSigningKey(new SecretKeySpec(jwtSecret.getBytes(), SignatureAlgorithm.HS256.getJcaName())).build().parseClaimsJws(token);
-			return true;
+			Claims claims = jwtParser.parseClaimsJws(token).getBody();
+			String tokenId = getTokenId(claims);
+			if (tokenRevocationList.isRevoked(tokenId)) {
+				LOG.debug("Revoked JWT token");
+				return Optional.empty();
+			}
+			long expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE;
+			return Optional.of(new TokenClaims(tokenId, claims.getSubject(), getUserId(claims), getAuthorities(claims),
+					expiresAt));
 		} catch (SignatureException ex) {
 			LOG.debug("Invalid JWT Signature");
 		} catch (MalformedJwtException ex) {
@@ -70,27 +120,91 @@ public class JwtTokenProvider {
 			LOG.debug("Unsupported JWT exception");
 		} catch (IllegalArgumentException ex) {
 			LOG.debug("JWT claims string is empty");
+		} catch (JwtException ex) {
+			LOG.debug("Invalid JWT token key or algorithm");
 		}
 
-		return false;
+		return Optional.empty();
 	}
 
-	public Token generateToken(UserDetails user) {
+	private Optional<TokenClaims> parseSealedToken(String token) {
+		Optional<TokenClaims> claims = sealedTokenCodec.open(token);
+		if (claims.isEmpty()) {
+			LOG.debug("Invalid sealed token");
+		} else if (claims.get().getExpiresAt() <= System.currentTimeMillis()) {
+			LOG.debug("Expired sealed token");
+			return Optional.empty();
+		} else if (tokenRevocationList.isRevoked(claims.get().getTokenId())) {
+			LOG.debug("Revoked sealed token");
+			return Optional.empty();
+		}
+		return claims;
+	}
+
+	// Tokens issued before the jti claim existed are identified by their subject and issue time
+	private String getTokenId(Claims claims) {
+		if (claims.getId() != null) {
+			return claims.getId();
+		}
+		return claims.getIssuedAt() != null ? claims.getSubject() + ":" + claims.getIssuedAt().getTime() : null;
+	}
+
+	private Long getUserId(Claims claims) {
+		Object userId = claims.get(USER_ID_CLAIM);
+		return userId instanceof Number number ? number.longValue() : null;
+	}
+
+	private List<GrantedAuthority> getAuthorities(Claims claims) {
+		Object authorities = claims.get(AUTHORITIES_CLAIM);
+		if (!(authorities instanceof Collection<?> values)) {
+			return List.of();
+		}
 
+		List<GrantedAuthority> grantedAuthorities = new ArrayList<>(values.size());
+		for (Object value : values) {
+			// Authorities are serialized either as plain strings or as {"authority": "..."} objects
+			Object authority = value instanceof Map<?, ?> map ? map.get("authority") : value;
+			if (authority != null) {
+				grantedAuthorities.add(UserRole.authority(authority.toString()));
+			}
+		}
+		return grantedAuthorities;
+	}
+
+	private Claims createClaims(UserDetails user) {
 		Claims claims = Jwts.claims().setSubject(user.getUsername());
 
-		claims.put("auth", user.getAuthorities().stream().map(role -> new SimpleGrantedAuthority("ROLE_"+role))
-				.toList());
+		claims.put(AUTHORITIES_CLAIM, user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+		if (user instanceof UserPrincipal userPrincipal) {
+			claims.put(USER_ID_CLAIM, userPrincipal.getId());
+		}
+
+		return claims;
+	}
+
+	private String createTokenValue(UserDetails user, Date now, Date expiryDate) {
+		if (tokenFormat == TokenFormat.SEALED) {
+			int rolesMask = SealedTokenCodec.rolesMask(user.getAuthorities());
+			// Authorities outside the known roles do not fit in the mask, so those users keep getting a JWT
+			if (rolesMask >= 0) {
+				Long userId = user instanceof UserPrincipal userPrincipal ? userPrincipal.getId() : null;
+				return sealedTokenCodec.seal(UUID.randomUUID(), user.getUsername(), userId, rolesMask,
+						expiryDate.getTime());
+			}
+		}
+
+		Claims claims = createClaims(user);
+		return Jwts.builder().setClaims(claims).setSubject((user.getUsername())).setId(UUID.randomUUID().toString()).setIssuedAt(now)
+				.setExpiration(expiryDate).signWith(signingKey).compact();
+	}
+
+	public Token generateToken(UserDetails user) {
 
 		Date now = new Date();
 		Long duration = now.getTime() + JWT_EXPIRATION_IN_MS;
 		Date expiryDate = new Date(now.getTime() + JWT_EXPIRATION_IN_MS);
-		Calendar calendar = Calendar.getInstance();
-		calendar.setTime(now);
-		calendar.add(Calendar.HOUR_OF_DAY, 8);
 
-		String token = Jwts.builder().setClaims(claims).setSubject((user.getUsername())).setIssuedAt(new Date())
-				.setExpiration(expiryDate).signWith(new SecretKeySpec(jwtSecret.getBytes(), SignatureAlgorithm.HS256.getJcaName())).compact();
+		String token = createTokenValue(user, now, expiryDate);
 
 		return new Token(Token.TokenType.ACCESS, token, duration,
 				LocalDateTime.ofInstant(expiryDate.toInstant(), ZoneId.systemDefault()));
@@ -99,19 +213,11 @@ public class JwtTokenProvider {
 
 	public Token generateRefreshToken(UserDetails user) {
 
-		Claims claims = Jwts.claims().setSubject(user.getUsername());
-
-		claims.put("auth", user.getAuthorities().stream().map(role -> new SimpleGrantedAuthority("ROLE_"+role))
-				.toList());
-
 		Date now = new Date();
 		Long duration = now.getTime() + REFRESH_TOKEN_EXPIRATION_MS;
 		Date expiryDate = new Date(now.getTime() + REFRESH_TOKEN_EXPIRATION_MS);
-		Calendar calendar = Calendar.getInstance();
-		calendar.setTime(now);
-		calendar.add(Calendar.HOUR_OF_DAY, 8);
-		String token = Jwts.builder().setClaims(claims).setSubject((user.getUsername())).setIssuedAt(new Date())
-				.setExpiration(expiryDate).signWith(new SecretKeySpec(jwtSecret.getBytes(), SignatureAlgorithm.HS256.getJcaName())).compact();
+
+		String token = createTokenValue(user, now, expiryDate);
 
 		return new Token(Token.TokenType.REFRESH, token, duration,
 				LocalDateTime.ofInstant(expiryDate.toInstant(), ZoneId.systemDefault()));
@@ -0,0 +1,80 @@
+package com.example.demo.security.jwt.component;
+
+import com.example.demo.model.RevokedToken;
+import com.example.demo.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class TokenRevocationList {
+
+	private static final Logger LOG = LoggerFactory.getLogger(TokenRevocationList.class);
+
+	private final RevokedTokenRepository revokedTokenRepository;
+	private final long purgeIntervalMillis;
+	private final Clock clock;
+	// Token id -> expiry. Only tokens that are still valid are kept, so lookups are lock-free and the set
+	// never outgrows the revocations of the last token lifetime
+	private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+	private final AtomicLong nextPurge = new AtomicLong();
+
+	@Autowired
+	public TokenRevocationList(
+			RevokedTokenRepository revokedTokenRepository,
+			@Value("${jwt.revocation.purge-interval:10m}") Duration purgeInterval
+	) {
+		this(revokedTokenRepository, purgeInterval, Clock.systemUTC());
+	}
+
+	public TokenRevocationList(RevokedTokenRepository revokedTokenRepository, Duration purgeInterval, Clock clock) {
+		this.revokedTokenRepository = revokedTokenRepository;
+		this.purgeIntervalMillis = purgeInterval.toMillis();
+		this.clock = clock;
+	}
+
+	@PostConstruct
+	public void load() {
+		long now = clock.millis();
+		for (RevokedToken revokedToken : revokedTokenRepository.findByExpiresAtGreaterThan(now)) {
+			revokedTokens.merge(revokedToken.getTokenId(), revokedToken.getExpiresAt(), Math::max);
+		}
+		nextPurge.set(now + purgeIntervalMillis);
+		LOG.info("Loaded {} revoked tokens", revokedTokens.size());
+	}
+
+	public boolean isRevoked(String tokenId) {
+		return tokenId != null && revokedTokens.containsKey(tokenId);
+	}
+
+	public void revoke(String tokenId, long expiresAt) {
+		long now = clock.millis();
+		if (tokenId == null || expiresAt <= now) {
+			return;
+		}
+
+		// Legacy access and refresh tokens of one login share their id, the id stays revoked until the later expires
+		revokedTokenRepository.saveLatest(new RevokedToken(tokenId, expiresAt));
+		revokedTokens.merge(tokenId, expiresAt, Math::max);
+		purgeExpired(now);
+	}
+
+	private void purgeExpired(long now) {
+		long next = nextPurge.get();
+		if (now < next || !nextPurge.compareAndSet(next, now + purgeIntervalMillis)) {
+			return;
+		}
+
+		revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+		revokedTokenRepository.deleteExpired(now);
+	}
+}
@@ -0,0 +1,42 @@
+package com.example.demo.security.jwt.dto;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
+public class TokenClaims {
+
+	private final String tokenId;
+	private final String subject;
+	private final Long userId;
+	private final List<GrantedAuthority> authorities;
+	private final long expiresAt;
+
+	public TokenClaims(String tokenId, String subject, Long userId, List<GrantedAuthority> authorities, long expiresAt) {
+		this.tokenId = tokenId;
+		this.subject = subject;
+		this.userId = userId;
+		this.authorities = authorities;
+		this.expiresAt = expiresAt;
+	}
+
+	public String getTokenId() {
+		return tokenId;
+	}
+
+	public String getSubject() {
+		return subject;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public List<GrantedAuthority> getAuthorities() {
+		return authorities;
+	}
+
+	public long getExpiresAt() {
+		return expiresAt;
+	}
+}
@@ -0,0 +1,77 @@
+package com.example.demo.security.jwt.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Failures on the authentication path are counted every time, but only the first few of each interval are logged
+// so a client replaying garbage cookies cannot turn every request into a log write. Stack traces are debug only
+public class SampledFailureLog {
+
+	public static final String METRIC_NAME = "security.auth.failures";
+
+	private static final int DEFAULT_RECORDS_PER_INTERVAL = 10;
+	private static final Duration DEFAULT_INTERVAL = Duration.ofMinutes(1);
+
+	private final Logger log;
+	private final String source;
+	private final MeterRegistry meterRegistry;
+	private final int recordsPerInterval;
+	private final long intervalMillis;
+	private final Clock clock;
+	private final Map<Class<?>, Counter> counters = new ConcurrentHashMap<>();
+	private final AtomicLong currentInterval = new AtomicLong(-1);
+	private final AtomicInteger recorded = new AtomicInteger();
+	private final AtomicLong suppressed = new AtomicLong();
+
+	public SampledFailureLog(Logger log, String source, MeterRegistry meterRegistry) {
+		this(log, source, meterRegistry, DEFAULT_RECORDS_PER_INTERVAL, DEFAULT_INTERVAL, Clock.systemUTC());
+	}
+
+	public SampledFailureLog(Logger log, String source, MeterRegistry meterRegistry, int recordsPerInterval,
+							 Duration interval, Clock clock) {
+		this.log = log;
+		this.source = source;
+		this.meterRegistry = meterRegistry;
+		this.recordsPerInterval = recordsPerInterval;
+		this.intervalMillis = interval.toMillis();
+		this.clock = clock;
+	}
+
+	public void failure(String message, Exception e) {
+		counters.computeIfAbsent(e.getClass(), this::failureCounter).increment();
+
+		// The reset is not atomic with the increment, so an interval may let a record or two more through
+		long interval = clock.millis() / intervalMillis;
+		long current = currentInterval.get();
+		if (current != interval && currentInterval.compareAndSet(current, interval)) {
+			recorded.set(0);
+		}
+		if (recorded.incrementAndGet() > recordsPerInterval) {
+			suppressed.incrementAndGet();
+			return;
+		}
+
+		long skipped = suppressed.getAndSet(0);
+		if (log.isDebugEnabled()) {
+			log.debug("{}: {} ({} similar failures suppressed)", message, e, skipped, e);
+		} else {
+			log.warn("{}: {} ({} similar failures suppressed)", message, e, skipped);
+		}
+	}
+
+	private Counter failureCounter(Class<?> exceptionType) {
+		return Counter.builder(METRIC_NAME)
+				.description("Failures on the authentication path by where they happened and their exception")
+				.tag("source", source)
+				.tag("exception", exceptionType.getSimpleName())
+				.register(meterRegistry);
+	}
+}
@@ -0,0 +1,162 @@
+package com.example.demo.security.jwt.util;
+
+import com.example.demo.security.config.SecurityExpressions.UserRole;
+import com.example.demo.security.jwt.dto.TokenClaims;
+import org.springframework.security.core.GrantedAuthority;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Compact token that is encrypted and authenticated in a single AES-GCM pass, so it goes into the cookie as is.
+// Layout before sealing: expiresAt, userId, token id (two longs), roles bitmask, subject in UTF-8
+public class SealedTokenCodec {
+
+	public static final String PREFIX = "s1.";
+
+	private static final int GCM_TAG_LENGTH = 16;
+	private static final int GCM_IV_LENGTH = 12;
+	private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+	private static final int HEADER_LENGTH = 4 * Long.BYTES + Integer.BYTES;
+	private static final long NO_USER_ID = -1;
+	// Bit n of the roles mask stands for the role with ordinal n, so new roles have to be appended to the enum
+	private static final List<String> ROLE_AUTHORITIES = Arrays.stream(UserRole.values())
+			.map(role -> "ROLE_" + role.name())
+			.toList();
+	// The prefix is bound to the cipher text, so a token cannot be replayed under another format version
+	private static final byte[] ASSOCIATED_DATA = PREFIX.getBytes(StandardCharsets.US_ASCII);
+
+	private final SecretKeySpec secretKey;
+	private final SecureRandom secureRandom = new SecureRandom();
+	private final ThreadLocal<Cipher> cipher = ThreadLocal.withInitial(SealedTokenCodec::createCipher);
+	// One shared immutable list per roles combination, so opening a token does not build authorities
+	private final List<List<GrantedAuthority>> authoritiesByMask;
+
+	public SealedTokenCodec(String secret) {
+		this.secretKey = deriveKey(secret);
+		UserRole[] roles = UserRole.values();
+		this.authoritiesByMask = new ArrayList<>(1 << roles.length);
+		for (int mask = 0; mask < 1 << roles.length; mask++) {
+			List<GrantedAuthority> authorities = new ArrayList<>(Integer.bitCount(mask));
+			for (UserRole role : roles) {
+				if ((mask & 1 << role.ordinal()) != 0) {
+					authorities.add(role.getAuthority());
+				}
+			}
+			authoritiesByMask.add(List.copyOf(authorities));
+		}
+	}
+
+	private static SecretKeySpec deriveKey(String secret) {
+		try {
+			// Labelled so the sealing key never equals the key the JWT signatures are made with
+			byte[] key = MessageDigest.getInstance("SHA-256")
+					.digest(("sealed-token:" + secret).getBytes(StandardCharsets.UTF_8));
+			return new SecretKeySpec(key, 0, 16, "AES");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("Cryptographic algorithm SHA-256 is not available", e);
+		}
+	}
+
+	private static Cipher createCipher() {
+		try {
+			return Cipher.getInstance(TRANSFORMATION);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Cipher " + TRANSFORMATION + " is not available", e);
+		}
+	}
+
+	public static boolean isSealed(String token) {
+		return token != null && token.startsWith(PREFIX);
+	}
+
+	// Gives -1 when an authority is not one of the known roles and so cannot be packed into the mask
+	public static int rolesMask(Collection<? extends GrantedAuthority> authorities) {
+		int mask = 0;
+		for (GrantedAuthority authority : authorities) {
+			int ordinal = ROLE_AUTHORITIES.indexOf(authority.getAuthority());
+			if (ordinal < 0) {
+				return -1;
+			}
+			mask |= 1 << ordinal;
+		}
+		return mask;
+	}
+
+	public String seal(UUID tokenId, String subject, Long userId, int rolesMask, long expiresAt) {
+		try {
+			byte[] subjectBytes = subject.getBytes(StandardCharsets.UTF_8);
+			ByteBuffer plainText = ByteBuffer.allocate(HEADER_LENGTH + subjectBytes.length)
+					.putLong(expiresAt)
+					.putLong(userId != null ? userId : NO_USER_ID)
+					.putLong(tokenId.getMostSignificantBits())
+					.putLong(tokenId.getLeastSignificantBits())
+					.putInt(rolesMask)
+					.put(subjectBytes);
+
+			byte[] iv = new byte[GCM_IV_LENGTH];
+			secureRandom.nextBytes(iv);
+
+			Cipher gcm = cipher.get();
+			gcm.init(Cipher.ENCRYPT_MODE, secretKey, new GCMParameterSpec(GCM_TAG_LENGTH * 8, iv));
+			gcm.updateAAD(ASSOCIATED_DATA);
+
+			byte[] result = new byte[GCM_IV_LENGTH + gcm.getOutputSize(plainText.capacity())];
+			System.arraycopy(iv, 0, result, 0, GCM_IV_LENGTH);
+			gcm.doFinal(plainText.array(), 0, plainText.capacity(), result, GCM_IV_LENGTH);
+
+			return PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(result);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Token could not be sealed", e);
+		}
+	}
+
+	// Gives an empty result for anything that was not sealed with this key or has been tampered with
+	public Optional<TokenClaims> open(String token) {
+		if (!isSealed(token)) {
+			return Optional.empty();
+		}
+
+		try {
+			byte[] cipherText = Base64.getUrlDecoder().decode(token.substring(PREFIX.length()));
+			if (cipherText.length < GCM_IV_LENGTH + GCM_TAG_LENGTH + HEADER_LENGTH) {
+				return Optional.empty();
+			}
+
+			Cipher gcm = cipher.get();
+			gcm.init(Cipher.DECRYPT_MODE, secretKey,
+					new GCMParameterSpec(GCM_TAG_LENGTH * 8, cipherText, 0, GCM_IV_LENGTH));
+			gcm.updateAAD(ASSOCIATED_DATA);
+			int length = gcm.doFinal(cipherText, GCM_IV_LENGTH, cipherText.length - GCM_IV_LENGTH,
+					cipherText, GCM_IV_LENGTH);
+
+			ByteBuffer plainText = ByteBuffer.wrap(cipherText, GCM_IV_LENGTH, length);
+			long expiresAt = plainText.getLong();
+			long userId = plainText.getLong();
+			UUID tokenId = new UUID(plainText.getLong(), plainText.getLong());
+			int rolesMask = plainText.getInt();
+			if (rolesMask < 0 || rolesMask >= authoritiesByMask.size()) {
+				return Optional.empty();
+			}
+			String subject = new String(cipherText, plainText.position(), plainText.remaining(), StandardCharsets.UTF_8);
+
+			return Optional.of(new TokenClaims(tokenId.toString(), subject, userId != NO_USER_ID ? userId : null,
+					authoritiesByMask.get(rolesMask), expiresAt));
+		} catch (GeneralSecurityException | IllegalArgumentException e) {
+			return Optional.empty();
+		}
+	}
+}
@@ -1,15 +1,17 @@
 package com.example.demo.security.jwt.util;
 
+import io.micrometer.core.instrument.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.crypto.Cipher;
-import javax.crypto.NoSuchPaddingException;
 import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
-import java.security.*;
-import java.util.Arrays;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.util.Base64;
 import java.util.ResourceBundle;
 
@@ -17,41 +19,42 @@ public class SecurityCipher {
 
 	private static final int GCM_TAG_LENGTH = 16;
 	private static final int GCM_IV_LENGTH = 12;
-	private static final String KEY_VALUE_CIPHER;
+	private static final String TRANSFORMATION = "AES/GCM/NoPadding";
 
-	private static Logger log = LoggerFactory.getLogger(SecurityCipher.class);
-	private static SecretKeySpec secretKey;
+	private static final Logger log = LoggerFactory.getLogger(SecurityCipher.class);
+	// Tampered or stale cookies end up here on every request, so they are counted and only sampled into the log.
+	// The class is static, so the counters go to the global registry Spring Boot also publishes
+	private static final SampledFailureLog FAILURE_LOG = new SampledFailureLog(log, "cookie-cipher", Metrics.globalRegistry);
+
+	// The key is derived once and never reassigned, the CSPRNG is shared and each thread reuses its own Cipher
+	private static final SecretKeySpec SECRET_KEY;
+	private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+	private static final ThreadLocal<Cipher> CIPHER = ThreadLocal.withInitial(SecurityCipher::createCipher);
 
 	static {
 		ResourceBundle resourceBundle = ResourceBundle.getBundle("application");
-		KEY_VALUE_CIPHER = resourceBundle.getString("cipher.secret");
+		SECRET_KEY = deriveKey(resourceBundle.getString("cipher.secret"));
 	}
 
 	private SecurityCipher() {
 		throw new AssertionError("Static!");
 	}
 
-	public static void setKey(String algorithm) {
-		MessageDigest sha;
+	private static SecretKeySpec deriveKey(String secret) {
 		try {
-			byte[] key = KEY_VALUE_CIPHER.getBytes(StandardCharsets.UTF_8);
-			sha = MessageDigest.getInstance(algorithm);
-			key = sha.digest(key);
-			key = Arrays.copyOf(key, 16);
-			secretKey = new SecretKeySpec(key, "AES");
+			byte[] key = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+			return new SecretKeySpec(key, 0, 16, "AES");
 		} catch (NoSuchAlgorithmException e) {
-			log.error("Cryptographic algorithm SHA-256 is not available", e);
+			throw new IllegalStateException("Cryptographic algorithm SHA-256 is not available", e);
 		}
 	}
 
-	public static Cipher setCipher(int mode, String transformation, byte[] iv) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidAlgorithmParameterException, InvalidKeyException {
-		setKey("SHA-256");
-
-		Cipher cipher = Cipher.getInstance(transformation);
-		GCMParameterSpec gcmParameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH * 8, iv);
-		cipher.init(mode, secretKey, gcmParameterSpec);
-
-		return cipher;
+	private static Cipher createCipher() {
+		try {
+			return Cipher.getInstance(TRANSFORMATION);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Cipher " + TRANSFORMATION + " is not available", e);
+		}
 	}
 
 	public static String encrypt(String strToEncrypt) {
@@ -61,20 +64,20 @@ public class SecurityCipher {
 
 		try {
 			byte[] iv = new byte[GCM_IV_LENGTH];
-			SecureRandom secureRandom = new SecureRandom();
-			secureRandom.nextBytes(iv);
-
-			Cipher cipher = setCipher(Cipher.ENCRYPT_MODE, "AES/GCM/NoPadding", iv);
+			SECURE_RANDOM.nextBytes(iv);
 
-			byte[] cipherText = cipher.doFinal(strToEncrypt.getBytes(StandardCharsets.UTF_8));
+			Cipher cipher = CIPHER.get();
+			cipher.init(Cipher.ENCRYPT_MODE, SECRET_KEY, new GCMParameterSpec(GCM_TAG_LENGTH * 8, iv));
 
-			byte[] result = new byte[iv.length + cipherText.length];
-			System.arraycopy(iv, 0, result, 0, iv.length);
-			System.arraycopy(cipherText, 0, result, iv.length, cipherText.length);
+			// IV and cipher text are written into a single buffer instead of being concatenated afterwards
+			byte[] plainText = strToEncrypt.getBytes(StandardCharsets.UTF_8);
+			byte[] result = new byte[GCM_IV_LENGTH + cipher.getOutputSize(plainText.length)];
+			System.arraycopy(iv, 0, result, 0, GCM_IV_LENGTH);
+			cipher.doFinal(plainText, 0, plainText.length, result, GCM_IV_LENGTH);
 
 			return Base64.getEncoder().encodeToString(result);
 		} catch (Exception e) {
-			log.error("Encryption error", e);
+			FAILURE_LOG.failure("Encryption error", e);
 		}
 		return null;
 	}
@@ -86,16 +89,18 @@ public class SecurityCipher {
 
 		try {
 			byte[] cipherText = Base64.getDecoder().decode(strToDecrypt);
-			byte[] iv = new byte[GCM_IV_LENGTH];
-			System.arraycopy(cipherText, 0, iv, 0, iv.length);
 
-			Cipher cipher = setCipher(Cipher.DECRYPT_MODE, "AES/GCM/NoPadding", iv);
+			Cipher cipher = CIPHER.get();
+			cipher.init(Cipher.DECRYPT_MODE, SECRET_KEY,
+					new GCMParameterSpec(GCM_TAG_LENGTH * 8, cipherText, 0, GCM_IV_LENGTH));
 
-			byte[] result = cipher.doFinal(cipherText, iv.length, cipherText.length - iv.length);
+			// Cipher is copy-safe, so the plain text is written back into the decoded buffer
+			int length = cipher.doFinal(cipherText, GCM_IV_LENGTH, cipherText.length - GCM_IV_LENGTH,
+					cipherText, GCM_IV_LENGTH);
 
-			return new String(result, StandardCharsets.UTF_8);
+			return new String(cipherText, GCM_IV_LENGTH, length, StandardCharsets.UTF_8);
 		} catch (Exception e) {
-			log.error("Decryption error", e);
+			FAILURE_LOG.failure("Decryption error", e);
 		}
 		return null;
 	}
@@ -0,0 +1,25 @@
+package com.example.demo.service;
+
+import com.example.demo.exception.InvalidFieldsException;
+import com.example.demo.repository.projection.Projection;
+
+import java.util.List;
+
+// Narrows the read to the fields a client asked for, an unknown field is the client's mistake and answered with a 400
+public final class FieldSelection {
+
+    private FieldSelection() {
+    }
+
+    public static <T, V> Projection<T, V> select(Projection<T, V> projection, List<String> fields) {
+        if (fields != null) {
+            List<String> known = projection.fields();
+            for (String field : fields) {
+                if (!known.contains(field)) {
+                    throw new InvalidFieldsException("Unknown field " + field + ", fields are " + String.join(", ", known));
+                }
+            }
+        }
+        return projection.only(fields);
+    }
+}
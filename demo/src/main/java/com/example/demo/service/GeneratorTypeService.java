@@ -1,15 +1,20 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.GeneratorTypeView;
 import com.example.demo.model.GeneratorType;
 import com.example.demo.repository.criteria.GeneratorTypeCriteria;
-import org.springframework.data.domain.Page;
+import com.example.demo.repository.cursor.CursorPage;
+import com.example.demo.repository.page.CountStrategy;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface GeneratorTypeService {
-    Page<GeneratorType> findAll(GeneratorTypeCriteria filters, Pageable pageable);
-    Optional<GeneratorType> findById(long id);
+    Slice<GeneratorTypeView> findAll(GeneratorTypeCriteria filters, CountStrategy countStrategy, Pageable pageable, List<String> fields);
+    CursorPage<GeneratorTypeView> findAll(GeneratorTypeCriteria filters, String after, Pageable pageable, List<String> fields);
+    Optional<GeneratorTypeView> findById(long id, List<String> fields);
     GeneratorType addGeneratorType(GeneratorType generatorType);
     GeneratorType updateGeneratorType(long id, GeneratorType newGeneratorType);
     void deleteGeneratorType(long id);
@@ -1,37 +1,64 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.GeneratorTypeView;
 import com.example.demo.exception.GeneratorTypeNotFoundException;
 import com.example.demo.model.GeneratorType;
 import com.example.demo.repository.GeneratorTypeRepository;
 import com.example.demo.repository.criteria.GeneratorTypeCriteria;
+import com.example.demo.repository.cursor.Cursor;
+import com.example.demo.repository.cursor.CursorCodec;
+import com.example.demo.repository.cursor.CursorPage;
+import com.example.demo.repository.page.CountStrategy;
+import com.example.demo.repository.page.PageLoader;
+import com.example.demo.repository.search.TrigramIndex;
 import com.example.demo.repository.specification.GeneratorTypeSpecification;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Optional;
 
 @Service
 public class GeneratorTypeServiceImpl implements GeneratorTypeService {
 
+    // Keyset pages can only be ordered by the id or by these indexed columns
+    private static final List<String> SORTABLE_PROPERTIES = List.of("name");
+
     private final GeneratorTypeRepository generatorTypeRepository;
+    private final CursorCodec cursorCodec;
+    private final PageLoader pageLoader;
+    private final TrigramIndex trigramIndex;
 
     @Autowired
-    public GeneratorTypeServiceImpl(GeneratorTypeRepository generatorTypeRepository) {
+    public GeneratorTypeServiceImpl(GeneratorTypeRepository generatorTypeRepository, CursorCodec cursorCodec, PageLoader pageLoader,
+                                    TrigramIndex trigramIndex) {
         this.generatorTypeRepository = generatorTypeRepository;
+        this.cursorCodec = cursorCodec;
+        this.pageLoader = pageLoader;
+        this.trigramIndex = trigramIndex;
+    }
+
+    @Override
+    public Slice<GeneratorTypeView> findAll(GeneratorTypeCriteria filters, CountStrategy countStrategy, Pageable pageable,
+                                            List<String> fields) {
+        Specification<GeneratorType> specification = new GeneratorTypeSpecification(filters, trigramIndex.searchFor(GeneratorType.class));
+        return pageLoader.findAll(generatorTypeRepository, specification, FieldSelection.select(GeneratorTypeView.PROJECTION, fields), pageable, countStrategy);
     }
 
     @Override
-    public Page<GeneratorType> findAll(GeneratorTypeCriteria filters, Pageable pageable) {
-        Specification<GeneratorType> specification = new GeneratorTypeSpecification(filters);
-        return generatorTypeRepository.findAll(specification, pageable);
+    public CursorPage<GeneratorTypeView> findAll(GeneratorTypeCriteria filters, String after, Pageable pageable, List<String> fields) {
+        Cursor cursor = cursorCodec.decode(after, GeneratorType.class, pageable.getSort(), SORTABLE_PROPERTIES);
+        Specification<GeneratorType> specification = new GeneratorTypeSpecification(filters, trigramIndex.searchFor(GeneratorType.class));
+        List<GeneratorTypeView> generatorTypes = generatorTypeRepository.findAll(specification, FieldSelection.select(GeneratorTypeView.PROJECTION, fields), cursor, pageable.getPageSize() + 1);
+        return cursorCodec.toPage(generatorTypes, cursor, pageable.getPageSize(), GeneratorType.class);
     }
 
     @Override
-    public Optional<GeneratorType> findById(long id) {
-        return generatorTypeRepository.findById(id);
+    public Optional<GeneratorTypeView> findById(long id, List<String> fields) {
+        return generatorTypeRepository.findById(id, FieldSelection.select(GeneratorTypeView.PROJECTION, fields));
     }
 
     @Override
@@ -1,15 +1,20 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.SocietyView;
 import com.example.demo.model.Society;
 import com.example.demo.repository.criteria.SocietyCriteria;
-import org.springframework.data.domain.Page;
+import com.example.demo.repository.cursor.CursorPage;
+import com.example.demo.repository.page.CountStrategy;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface SocietyService {
-    Page<Society> findAll(SocietyCriteria filters, Pageable pageable);
-    Optional<Society> findById(long id);
+    Slice<SocietyView> findAll(SocietyCriteria filters, CountStrategy countStrategy, Pageable pageable, List<String> fields);
+    CursorPage<SocietyView> findAll(SocietyCriteria filters, String after, Pageable pageable, List<String> fields);
+    Optional<SocietyView> findById(long id, List<String> fields);
     Society addSociety(Society society);
     Society updateSociety(long id, Society newSociety);
     void deleteSociety(long id);
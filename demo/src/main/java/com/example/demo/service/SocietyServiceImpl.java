@@ -1,37 +1,64 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.SocietyView;
 import com.example.demo.exception.SocietyNotFoundException;
 import com.example.demo.model.Society;
 import com.example.demo.repository.SocietyRepository;
 import com.example.demo.repository.criteria.SocietyCriteria;
+import com.example.demo.repository.cursor.Cursor;
+import com.example.demo.repository.cursor.CursorCodec;
+import com.example.demo.repository.cursor.CursorPage;
+import com.example.demo.repository.page.CountStrategy;
+import com.example.demo.repository.page.PageLoader;
+import com.example.demo.repository.search.TrigramIndex;
 import com.example.demo.repository.specification.SocietySpecification;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Optional;
 
 @Service
 public class SocietyServiceImpl implements SocietyService {
 
+    // Keyset pages can only be ordered by the id or by these indexed columns
+    private static final List<String> SORTABLE_PROPERTIES = List.of("name", "cifDni");
+
     private final SocietyRepository societyRepository;
+    private final CursorCodec cursorCodec;
+    private final PageLoader pageLoader;
+    private final TrigramIndex trigramIndex;
 
     @Autowired
-    public SocietyServiceImpl(SocietyRepository societyRepository) {
+    public SocietyServiceImpl(SocietyRepository societyRepository, CursorCodec cursorCodec, PageLoader pageLoader,
+                              TrigramIndex trigramIndex) {
         this.societyRepository = societyRepository;
+        this.cursorCodec = cursorCodec;
+        this.pageLoader = pageLoader;
+        this.trigramIndex = trigramIndex;
+    }
+
+    @Override
+    public Slice<SocietyView> findAll(SocietyCriteria filters, CountStrategy countStrategy, Pageable pageable,
+                                      List<String> fields) {
+        Specification<Society> specification = new SocietySpecification(filters, trigramIndex.searchFor(Society.class));
+        return pageLoader.findAll(societyRepository, specification, FieldSelection.select(SocietyView.PROJECTION, fields), pageable, countStrategy);
     }
 
     @Override
-    public Page<Society> findAll(SocietyCriteria filters, Pageable pageable) {
-        Specification<Society> specification = new SocietySpecification(filters);
-        return societyRepository.findAll(specification, pageable);
+    public CursorPage<SocietyView> findAll(SocietyCriteria filters, String after, Pageable pageable, List<String> fields) {
+        Cursor cursor = cursorCodec.decode(after, Society.class, pageable.getSort(), SORTABLE_PROPERTIES);
+        Specification<Society> specification = new SocietySpecification(filters, trigramIndex.searchFor(Society.class));
+        List<SocietyView> societies = societyRepository.findAll(specification, FieldSelection.select(SocietyView.PROJECTION, fields), cursor, pageable.getPageSize() + 1);
+        return cursorCodec.toPage(societies, cursor, pageable.getPageSize(), Society.class);
     }
 
     @Override
-    public Optional<Society> findById(long id) {
-        return societyRepository.findById(id);
+    public Optional<SocietyView> findById(long id, List<String> fields) {
+        return societyRepository.findById(id, FieldSelection.select(SocietyView.PROJECTION, fields));
     }
 
     @Override
@@ -1,18 +1,24 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.UserView;
 import com.example.demo.model.User;
 import com.example.demo.repository.criteria.UserCriteria;
+import com.example.demo.repository.cursor.CursorPage;
+import com.example.demo.repository.page.CountStrategy;
 import jakarta.servlet.http.HttpServletRequest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserService {
-    Page<User> findAll(UserCriteria filters, Pageable pageable);
-    Optional<User> findById(long id);
+    Slice<UserView> findAll(UserCriteria filters, CountStrategy countStrategy, Pageable pageable, List<String> fields);
+    CursorPage<UserView> findAll(UserCriteria filters, String after, Pageable pageable, List<String> fields);
+    Optional<UserView> findById(long id, List<String> fields);
     User addUser(User user);
     User updateUser(long id, User newUser);
     void deleteUser(long id);
     Optional<User> getCurrentUser(HttpServletRequest request);
+    Optional<Long> getCurrentUserId(HttpServletRequest request);
 }
@@ -1,43 +1,76 @@
 package com.example.demo.service;
 
 
+import com.example.demo.dto.UserView;
 import com.example.demo.exception.UserNotFoundException;
 import com.example.demo.model.User;
 import com.example.demo.repository.UserRepository;
 import com.example.demo.repository.criteria.UserCriteria;
+import com.example.demo.repository.cursor.Cursor;
+import com.example.demo.repository.cursor.CursorCodec;
+import com.example.demo.repository.cursor.CursorPage;
+import com.example.demo.repository.page.CountStrategy;
+import com.example.demo.repository.page.PageLoader;
+import com.example.demo.repository.search.TrigramIndex;
 import com.example.demo.repository.specification.UserSpecification;
+import com.example.demo.security.UserDetailsCache;
+import com.example.demo.security.UserPrincipal;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.security.Principal;
+import java.util.List;
 import java.util.Optional;
 
 @Service
 public class UserServiceImpl implements UserService{
 
+    // Keyset pages can only be ordered by the id or by these indexed columns
+    private static final List<String> SORTABLE_PROPERTIES = List.of("name", "email");
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserDetailsCache userDetailsCache;
+    private final CursorCodec cursorCodec;
+    private final PageLoader pageLoader;
+    private final TrigramIndex trigramIndex;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, UserDetailsCache userDetailsCache,
+                           CursorCodec cursorCodec, PageLoader pageLoader,
+                           TrigramIndex trigramIndex) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userDetailsCache = userDetailsCache;
+        this.cursorCodec = cursorCodec;
+        this.pageLoader = pageLoader;
+        this.trigramIndex = trigramIndex;
     }
 
     @Override
-    public Page<User> findAll(UserCriteria filters, Pageable pageable) {
-        Specification<User> specification = new UserSpecification(filters);
-        return userRepository.findAll(specification, pageable);
+    public Slice<UserView> findAll(UserCriteria filters, CountStrategy countStrategy, Pageable pageable,
+                                   List<String> fields) {
+        Specification<User> specification = new UserSpecification(filters, trigramIndex.searchFor(User.class));
+        return pageLoader.findAll(userRepository, specification, FieldSelection.select(UserView.PROJECTION, fields), pageable, countStrategy);
     }
 
     @Override
-    public Optional<User> findById(long id) {
-        return userRepository.findById(id);
+    public CursorPage<UserView> findAll(UserCriteria filters, String after, Pageable pageable, List<String> fields) {
+        Cursor cursor = cursorCodec.decode(after, User.class, pageable.getSort(), SORTABLE_PROPERTIES);
+        Specification<User> specification = new UserSpecification(filters, trigramIndex.searchFor(User.class));
+        List<UserView> users = userRepository.findAll(specification, FieldSelection.select(UserView.PROJECTION, fields), cursor, pageable.getPageSize() + 1);
+        return cursorCodec.toPage(users, cursor, pageable.getPageSize(), User.class);
+    }
+
+    @Override
+    public Optional<UserView> findById(long id, List<String> fields) {
+        return userRepository.findById(id, FieldSelection.select(UserView.PROJECTION, fields));
     }
 
     @Override
@@ -55,8 +88,11 @@ public class UserServiceImpl implements UserService{
                 : passwordEncoder.encode(newUser.getPassword())
         );
         newUser.setId(oldUser.getId());
-        newUser.setRoles(oldUser.getRoles());
-        return userRepository.save(newUser);
+        newUser.setUserRoles(oldUser.getUserRoles());
+        User updatedUser = userRepository.save(newUser);
+        userDetailsCache.evict(oldUser.getEmail());
+        userDetailsCache.evict(newUser.getEmail());
+        return updatedUser;
     }
 
     @Override
@@ -64,6 +100,7 @@ public class UserServiceImpl implements UserService{
         User user = userRepository.findById(id)
             .orElseThrow(() -> new UserNotFoundException(id));
         userRepository.delete(user);
+        userDetailsCache.evict(user.getEmail());
     }
 
     @Override
@@ -73,4 +110,15 @@ public class UserServiceImpl implements UserService{
         String email = userPrincipal.getName();
         return userRepository.findByEmail(email);
     }
+
+    @Override
+    public Optional<Long> getCurrentUserId(HttpServletRequest request) {
+        Principal userPrincipal = request.getUserPrincipal();
+        if (userPrincipal == null) return Optional.empty();
+        if (userPrincipal instanceof Authentication authentication
+            && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return Optional.of(principal.getId());
+        }
+        return userRepository.findByEmail(userPrincipal.getName()).map(User::getId);
+    }
 }
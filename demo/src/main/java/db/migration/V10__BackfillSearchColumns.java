@@ -0,0 +1,48 @@
+package db.migration;
+
+import com.example.demo.repository.search.SearchText;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Fills the normalized search columns of the rows written before they existed, the entities keep them up to date
+// from then on. The normalization is done here rather than in SQL, no database function folds accents the same way
+public class V10__BackfillSearchColumns extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        backfill(connection, "society", "cif_dni");
+        backfill(connection, "society", "name");
+        backfill(connection, "generator_type", "name");
+        backfill(connection, "user", "name");
+        backfill(connection, "user", "email");
+    }
+
+    private static void backfill(Connection connection, String table, String column) throws SQLException {
+        try (Statement select = connection.createStatement();
+             PreparedStatement update = connection.prepareStatement(
+                 "UPDATE " + table + " SET " + column + "_normalized = ? WHERE id = ?")) {
+            select.setFetchSize(BATCH_SIZE);
+            int batched = 0;
+            try (ResultSet rows = select.executeQuery("SELECT id, " + column + " FROM " + table)) {
+                while (rows.next()) {
+                    update.setString(1, SearchText.normalize(rows.getString(2)));
+                    update.setLong(2, rows.getLong(1));
+                    update.addBatch();
+                    if (++batched % BATCH_SIZE == 0) {
+                        update.executeBatch();
+                    }
+                }
+            }
+            update.executeBatch();
+        }
+    }
+}
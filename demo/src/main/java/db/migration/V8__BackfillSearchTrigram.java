@@ -0,0 +1,55 @@
+package db.migration;
+
+import com.example.demo.repository.search.Trigrams;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Indexes the rows written before the search_trigram table existed, from then on the entity listener keeps it
+// up to date. Trigrams are inserted in batches, the rows themselves are read with the driver's fetch size hint
+public class V8__BackfillSearchTrigram extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String INSERT_SQL =
+        "INSERT INTO search_trigram (entity, field, trigram, entity_id) VALUES (?, ?, ?, ?)";
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        backfill(connection, "Society", "society", "cifDni", "cif_dni");
+        backfill(connection, "Society", "society", "name", "name");
+        backfill(connection, "GeneratorType", "generator_type", "name", "name");
+        backfill(connection, "User", "user", "name", "name");
+        backfill(connection, "User", "user", "email", "email");
+    }
+
+    private static void backfill(Connection connection, String entity, String table, String field, String column)
+            throws SQLException {
+        try (Statement select = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+             PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+            select.setFetchSize(BATCH_SIZE);
+            int batched = 0;
+            try (ResultSet rows = select.executeQuery("SELECT id, " + column + " FROM " + table)) {
+                while (rows.next()) {
+                    long id = rows.getLong(1);
+                    for (String trigram : Trigrams.index(rows.getString(2))) {
+                        insert.setString(1, entity);
+                        insert.setString(2, field);
+                        insert.setString(3, trigram);
+                        insert.setLong(4, id);
+                        insert.addBatch();
+                        if (++batched % BATCH_SIZE == 0) {
+                            insert.executeBatch();
+                        }
+                    }
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+}
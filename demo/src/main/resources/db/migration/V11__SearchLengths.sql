@@ -0,0 +1,35 @@
+ALTER TABLE society
+    ADD COLUMN cif_dni_length INT NOT NULL DEFAULT 0;
+
+ALTER TABLE society
+    ADD COLUMN name_length INT NOT NULL DEFAULT 0;
+
+ALTER TABLE generator_type
+    ADD COLUMN name_length INT NOT NULL DEFAULT 0;
+
+ALTER TABLE user
+    ADD COLUMN name_length INT NOT NULL DEFAULT 0;
+
+ALTER TABLE user
+    ADD COLUMN email_length INT NOT NULL DEFAULT 0;
+
+UPDATE society
+SET cif_dni_length = CHAR_LENGTH(cif_dni),
+    name_length    = CHAR_LENGTH(name);
+
+UPDATE generator_type
+SET name_length = CHAR_LENGTH(name);
+
+UPDATE user
+SET name_length  = CHAR_LENGTH(name),
+    email_length = CHAR_LENGTH(email);
+
+CREATE INDEX idx_society_cif_dni_length ON society (cif_dni_length, cif_dni);
+
+CREATE INDEX idx_society_name_length ON society (name_length, name);
+
+CREATE INDEX idx_generator_type_name_length ON generator_type (name_length, name);
+
+CREATE INDEX idx_user_name_length ON user (name_length, name);
+
+CREATE INDEX idx_user_email_length ON user (email_length, email);
\ No newline at end of file
@@ -0,0 +1,12 @@
+ALTER TABLE user
+    ADD COLUMN roles_mask INT NOT NULL DEFAULT 0;
+
+-- Bit n stands for the role with ordinal n of UserRole: ADMIN is 1, USER is 2
+UPDATE user U
+SET U.roles_mask = (SELECT COALESCE(SUM(DISTINCT CASE UR.roles WHEN 'ADMIN' THEN 1 WHEN 'USER' THEN 2 ELSE 0 END), 0)
+                    FROM user_roles UR
+                    WHERE UR.user_id = U.id);
+
+CREATE INDEX idx_user_roles_mask ON user (roles_mask);
+
+DROP TABLE user_roles;
\ No newline at end of file
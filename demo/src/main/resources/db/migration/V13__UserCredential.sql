@@ -0,0 +1,18 @@
+-- Password hashes leave the user row, which listings and searches scan, for a table of their own read only on
+-- logins and password changes. One row per user, keyed by its id
+CREATE TABLE user_credential
+(
+    user_id  BIGINT       NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_user_credential PRIMARY KEY (user_id)
+);
+
+ALTER TABLE user_credential
+    ADD CONSTRAINT fk_user_credential_on_user FOREIGN KEY (user_id) REFERENCES user (id);
+
+INSERT INTO user_credential (user_id, password)
+SELECT U.id, U.password
+FROM user U;
+
+ALTER TABLE user
+    DROP COLUMN password;
\ No newline at end of file
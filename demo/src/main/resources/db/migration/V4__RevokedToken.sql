@@ -0,0 +1,8 @@
+CREATE TABLE revoked_token
+(
+    token_id   VARCHAR(255) NOT NULL,
+    expires_at BIGINT       NOT NULL,
+    CONSTRAINT pk_revokedtoken PRIMARY KEY (token_id)
+);
+
+CREATE INDEX idx_revokedtoken_expires_at ON revoked_token (expires_at);
\ No newline at end of file
@@ -0,0 +1,12 @@
+CREATE TABLE api_key
+(
+    id         BIGINT AUTO_INCREMENT NOT NULL,
+    name       VARCHAR(255) NOT NULL,
+    key_hash   VARCHAR(64)  NOT NULL,
+    role       VARCHAR(255) NOT NULL,
+    created_at BIGINT       NOT NULL,
+    CONSTRAINT pk_apikey PRIMARY KEY (id)
+);
+
+ALTER TABLE api_key
+    ADD CONSTRAINT uc_apikey_key_hash UNIQUE (key_hash);
\ No newline at end of file
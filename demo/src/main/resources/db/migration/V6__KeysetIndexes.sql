@@ -0,0 +1,3 @@
+-- Keyset pages seek on (sort column, id). InnoDB secondary indexes already end with the primary key, so the
+-- unique indexes on society and generator_type serve them, only the user name needs its own
+CREATE INDEX idx_user_name_id ON user (name, id);
@@ -0,0 +1,10 @@
+CREATE TABLE search_trigram
+(
+    entity    VARCHAR(32) NOT NULL,
+    field     VARCHAR(32) NOT NULL,
+    trigram   VARCHAR(3)  NOT NULL,
+    entity_id BIGINT      NOT NULL,
+    CONSTRAINT pk_search_trigram PRIMARY KEY (trigram, entity, field, entity_id)
+);
+
+CREATE INDEX idx_search_trigram_entity_id ON search_trigram (entity, entity_id);
\ No newline at end of file
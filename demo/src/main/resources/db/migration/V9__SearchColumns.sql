@@ -0,0 +1,24 @@
+ALTER TABLE society
+    ADD COLUMN cif_dni_normalized VARCHAR(768) NOT NULL DEFAULT '';
+
+ALTER TABLE society
+    ADD COLUMN name_normalized VARCHAR(768) NOT NULL DEFAULT '';
+
+ALTER TABLE generator_type
+    ADD COLUMN name_normalized VARCHAR(768) NOT NULL DEFAULT '';
+
+ALTER TABLE user
+    ADD COLUMN name_normalized VARCHAR(768) NOT NULL DEFAULT '';
+
+ALTER TABLE user
+    ADD COLUMN email_normalized VARCHAR(768) NOT NULL DEFAULT '';
+
+CREATE INDEX idx_society_cif_dni_normalized ON society (cif_dni_normalized);
+
+CREATE INDEX idx_society_name_normalized ON society (name_normalized);
+
+CREATE INDEX idx_generator_type_name_normalized ON generator_type (name_normalized);
+
+CREATE INDEX idx_user_name_normalized ON user (name_normalized);
+
+CREATE INDEX idx_user_email_normalized ON user (email_normalized);
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.demo.e2e.generatortype;
 
+import com.example.demo.dto.GeneratorTypeView;
 import com.example.demo.model.GeneratorType;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
@@ -46,12 +47,12 @@ class GeneratorTypeRestControllerE2ETest {
 
     @ParameterizedTest(name = "{0}")
     @MethodSource("scenarios")
-    void testGetGeneratorTypes(String scenario, Map<String, String> params, List<GeneratorType> expectedGeneratorTypes) {
+    void testGetGeneratorTypes(String scenario, Map<String, String> params, List<GeneratorTypeView> expectedGeneratorTypes) {
         addGeneratorType(new GeneratorType("Test GeneratorType 1"));
         addGeneratorType(new GeneratorType("Test GeneratorType 2"));
         addGeneratorType(new GeneratorType("Test GeneratorType 3"));
 
-        List<GeneratorType> resultedGeneratorTypes = given()
+        List<GeneratorTypeView> resultedGeneratorTypes = given()
             .request()
                 .cookie("AuthToken", authToken)
                 .params(params).
@@ -61,7 +62,7 @@ class GeneratorTypeRestControllerE2ETest {
             .assertThat()
                 .statusCode(200)
                 .body("numberOfElements", equalTo(expectedGeneratorTypes.size()))
-                .extract().jsonPath().getList("content", GeneratorType.class);
+                .extract().jsonPath().getList("content", GeneratorTypeView.class);
 
         assertThat(resultedGeneratorTypes).containsAll(expectedGeneratorTypes);
     }
@@ -71,9 +72,9 @@ class GeneratorTypeRestControllerE2ETest {
             arguments("Get GeneratorTypes without filters",
                 new HashMap<>(),
                 List.of(
-                    new GeneratorType(1, "Test GeneratorType 1"),
-                    new GeneratorType(2, "Test GeneratorType 2"),
-                    new GeneratorType(3, "Test GeneratorType 3")
+                    new GeneratorTypeView(1, "Test GeneratorType 1"),
+                    new GeneratorTypeView(2, "Test GeneratorType 2"),
+                    new GeneratorTypeView(3, "Test GeneratorType 3")
                 )
             ),
             arguments("Get GeneratorTypes with filters",
@@ -81,7 +82,7 @@ class GeneratorTypeRestControllerE2ETest {
                     put("name", "Test GeneratorType 1");
                 }},
                 List.of(
-                    new GeneratorType(1, "Test GeneratorType 1")
+                    new GeneratorTypeView(1, "Test GeneratorType 1")
                 )
             ),
             arguments("Get GeneratorTypes with unmatched filters",
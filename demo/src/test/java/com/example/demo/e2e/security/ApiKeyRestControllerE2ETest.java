@@ -0,0 +1,174 @@
+package com.example.demo.e2e.security;
+
+import com.example.demo.e2e.util.GetToken;
+import com.example.demo.security.apikey.component.ApiKeyRequestFilter;
+import com.example.demo.security.apikey.dto.ApiKeyRequest;
+import com.example.demo.security.apikey.dto.ApiKeyResponse;
+import com.example.demo.security.config.SecurityExpressions.UserRole;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = "classpath:InitializationTestData.sql")
+@DirtiesContext(classMode = ClassMode.AFTER_EACH_TEST_METHOD)
+@ActiveProfiles("test")
+class ApiKeyRestControllerE2ETest {
+
+    @LocalServerPort
+    int port;
+
+    private String authToken;
+
+    @BeforeEach
+    public void setUp() {
+        RestAssured.port = port;
+        authToken = GetToken.getAuthTokenFromAdmin();
+    }
+
+    @Test
+    void whenAddApiKeyWithUserRole_thenShouldGiveForbiddenError403() {
+        given()
+            .request()
+                .cookie("AuthToken", GetToken.getAuthTokenFromUser())
+                .body(new ApiKeyRequest("Billing batch", UserRole.USER))
+                .contentType(ContentType.JSON).
+        when()
+            .post("/api/api-keys").
+        then()
+            .assertThat()
+                .statusCode(403);
+    }
+
+    @Test
+    void whenAddInvalidApiKey_thenShouldGiveBadRequestError400() {
+        given()
+            .request()
+                .cookie("AuthToken", authToken)
+                .body(new ApiKeyRequest("", null))
+                .contentType(ContentType.JSON).
+        when()
+            .post("/api/api-keys").
+        then()
+            .assertThat()
+                .statusCode(400);
+    }
+
+    @Test
+    void testApiKeyLifecycle() {
+        ApiKeyResponse apiKey = addApiKey(UserRole.ADMIN);
+
+        given()
+            .request()
+                .cookie("AuthToken", authToken).
+        when()
+            .get("/api/api-keys").
+        then()
+            .assertThat()
+                .statusCode(200)
+                .body("name", contains("Billing batch"))
+                .body("[0].key", nullValue());
+
+        given()
+            .request()
+                .header(ApiKeyRequestFilter.API_KEY_HEADER, apiKey.getKey()).
+        when()
+            .get("/api/users").
+        then()
+            .assertThat()
+                .statusCode(200)
+                .header("Set-Cookie", nullValue());
+
+        given()
+            .request()
+                .cookie("AuthToken", authToken).
+        when()
+            .delete("/api/api-keys/{id}", apiKey.getId()).
+        then()
+            .assertThat()
+                .statusCode(204);
+
+        given()
+            .request()
+                .header(ApiKeyRequestFilter.API_KEY_HEADER, apiKey.getKey()).
+        when()
+            .get("/api/users").
+        then()
+            .assertThat()
+                .statusCode(401);
+    }
+
+    @Test
+    void whenUseApiKeyWithUserRoleOnAdminEndpoint_thenShouldGiveForbiddenError403() {
+        ApiKeyResponse apiKey = addApiKey(UserRole.USER);
+
+        given()
+            .request()
+                .header(ApiKeyRequestFilter.API_KEY_HEADER, apiKey.getKey()).
+        when()
+            .get("/api/users").
+        then()
+            .assertThat()
+                .statusCode(403);
+
+        given()
+            .request()
+                .header(ApiKeyRequestFilter.API_KEY_HEADER, apiKey.getKey()).
+        when()
+            .get("/api/societies").
+        then()
+            .assertThat()
+                .statusCode(200);
+    }
+
+    @Test
+    void whenUseUnknownApiKey_thenShouldGiveUnauthorizedError401() {
+        given()
+            .request()
+                .header(ApiKeyRequestFilter.API_KEY_HEADER, "dk_" + "A".repeat(43)).
+        when()
+            .get("/api/societies").
+        then()
+            .assertThat()
+                .statusCode(401);
+    }
+
+    @Test
+    void whenDeleteNotExistApiKey_thenShouldGiveApiKeyNotFoundError404() {
+        given()
+            .request()
+                .cookie("AuthToken", authToken).
+        when()
+            .delete("/api/api-keys/{id}", 99).
+        then()
+            .assertThat()
+                .statusCode(404)
+                .body("message", equalTo("API key 99 not found"));
+    }
+
+    private ApiKeyResponse addApiKey(UserRole role) {
+        return
+            given()
+                .request()
+                    .cookie("AuthToken", authToken)
+                    .body(new ApiKeyRequest("Billing batch", role))
+                    .contentType(ContentType.JSON).
+            when()
+                .post("/api/api-keys").
+            then()
+                .assertThat()
+                    .statusCode(201)
+                    .body("key", startsWith("dk_"))
+                .extract().as(ApiKeyResponse.class);
+    }
+}
@@ -144,4 +144,39 @@ class AuthRestControllerE2ETest {
                 .body("status", equalTo(AuthResponse.Status.SUCCESS.name()))
                 .body("message", equalTo("logout successfully"));
     }
+
+    @Test
+    void whenUseTokensAfterLogout_thenShouldBeRejected() {
+        String authToken = GetToken.getAuthTokenFromUser();
+        String refreshToken = GetToken.getRefreshTokenFromUser();
+
+        given()
+            .cookie("AuthToken", authToken)
+            .cookie("RefreshToken", refreshToken)
+            .contentType(ContentType.JSON).
+        when()
+            .post("/api/auth/logout").
+        then()
+            .assertThat()
+                .statusCode(200);
+
+        given()
+            .cookie("AuthToken", authToken).
+        when()
+            .get("/api/users/2").
+        then()
+            .assertThat()
+                .statusCode(401);
+
+        given()
+            .cookie("RefreshToken", refreshToken)
+            .contentType(ContentType.JSON).
+        when()
+            .post("/api/auth/refresh").
+        then()
+            .assertThat()
+                .statusCode(200)
+                .header("Set-Cookie", equalTo(null))
+                .body("status", equalTo(AuthResponse.Status.FAILURE.name()));
+    }
 }
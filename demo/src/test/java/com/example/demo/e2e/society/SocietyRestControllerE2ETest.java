@@ -1,8 +1,10 @@
 package com.example.demo.e2e.society;
 
+import com.example.demo.dto.SocietyView;
 import com.example.demo.model.Society;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -23,6 +25,8 @@ import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsStringIgnoringCase;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -46,12 +50,12 @@ class SocietyRestControllerE2ETest {
 
     @ParameterizedTest(name = "{0}")
     @MethodSource("scenarios")
-    void testGetSocieties(String scenario, Map<String, String> params, List<Society> expectedSocieties) {
+    void testGetSocieties(String scenario, Map<String, String> params, List<SocietyView> expectedSocieties) {
         addSociety(new Society("XXXXXXXXXX", "Test Society 1"));
         addSociety(new Society("YYYYYYYYYY", "Test Society 2"));
         addSociety(new Society("ZZZZZZZZZZ", "Test Society 3"));
 
-        List<Society> resultedSocieties = given()
+        List<SocietyView> resultedSocieties = given()
             .request()
                 .cookie("AuthToken", authToken)
                 .params(params).
@@ -61,7 +65,7 @@ class SocietyRestControllerE2ETest {
             .assertThat()
                 .statusCode(200)
                 .body("numberOfElements", equalTo(expectedSocieties.size()))
-                .extract().jsonPath().getList("content", Society.class);
+                .extract().jsonPath().getList("content", SocietyView.class);
 
         assertThat(resultedSocieties).containsAll(expectedSocieties);
     }
@@ -71,9 +75,9 @@ class SocietyRestControllerE2ETest {
             arguments("Get societies without filters",
                 new HashMap<>(),
                 List.of(
-                    new Society(1, "XXXXXXXXXX", "Test Society 1"),
-                    new Society(2, "YYYYYYYYYY", "Test Society 2"),
-                    new Society(3, "ZZZZZZZZZZ", "Test Society 3")
+                    new SocietyView(1, "XXXXXXXXXX", "Test Society 1"),
+                    new SocietyView(2, "YYYYYYYYYY", "Test Society 2"),
+                    new SocietyView(3, "ZZZZZZZZZZ", "Test Society 3")
                 )
             ),
             arguments("Get societies with filters",
@@ -82,7 +86,7 @@ class SocietyRestControllerE2ETest {
                     put("name", "Test Society 1");
                 }},
                 List.of(
-                    new Society(1, "XXXXXXXXXX", "Test Society 1")
+                    new SocietyView(1, "XXXXXXXXXX", "Test Society 1")
                 )
             ),
             arguments("Get societies with unmatched filters",
@@ -95,6 +99,150 @@ class SocietyRestControllerE2ETest {
         );
     }
 
+    @Test
+    void whenGetSocietiesMatchingPrefix_thenShouldIgnoreCaseAndAccents() {
+        addSociety(new Society("XXXXXXXXXX", "Ávila Energía"));
+        addSociety(new Society("YYYYYYYYYY", "Test Society 2"));
+
+        given()
+            .request()
+                .cookie("AuthToken", authToken)
+                .param("name", "AVILA ENER")
+                .param("match", "prefix").
+        when()
+            .get("/api/societies").
+        then()
+            .assertThat()
+                .statusCode(200)
+                .body("numberOfElements", equalTo(1))
+                .body("content[0].name", equalTo("Ávila Energía"))
+                .body("content[0]", not(hasKey("nameNormalized")));
+    }
+
+    @Test
+    void whenGetSocietiesWithoutCount_thenShouldGiveSliceWithoutTotals() {
+        addSociety(new Society("XXXXXXXXXX", "Test Society 1"));
+        addSociety(new Society("YYYYYYYYYY", "Test Society 2"));
+        addSociety(new Society("ZZZZZZZZZZ", "Test Society 3"));
+
+        given()
+            .request()
+                .cookie("AuthToken", authToken)
+                .param("count", "none")
+                .param("size", 2).
+        when()
+            .get("/api/societies").
+        then()
+            .assertThat()
+                .statusCode(200)
+                .body("numberOfElements", equalTo(2))
+                .body("countStrategy", equalTo("NONE"))
+                .body("last", equalTo(false))
+                .body("$", not(hasKey("totalElements")));
+    }
+
+    @Test
+    void testGetSocietiesAfterCursor() {
+        addSociety(new Society("XXXXXXXXXX", "Test Society 1"));
+        addSociety(new Society("YYYYYYYYYY", "Test Society 2"));
+        addSociety(new Society("ZZZZZZZZZZ", "Test Society 3"));
+
+        List<String> names = new ArrayList<>();
+        String after = "";
+        do {
+            JsonPath page = given()
+                .request()
+                    .cookie("AuthToken", authToken)
+                    .param("after", after)
+                    .param("size", 2)
+                    .param("sort", "name,desc").
+            when()
+                .get("/api/societies").
+            then()
+                .assertThat()
+                    .statusCode(200)
+                    .extract().jsonPath();
+            names.addAll(page.getList("content.name", String.class));
+            after = page.getString("next");
+        } while (after != null);
+
+        assertThat(names).containsExactly("Test Society 3", "Test Society 2", "Test Society 1");
+    }
+
+    @Test
+    void whenGetSocietiesWithFields_thenShouldGiveOnlyThoseFields() {
+        Society storedSociety = addSociety();
+
+        given()
+            .request()
+                .cookie("AuthToken", authToken)
+                .param("fields", "name").
+        when()
+            .get("/api/societies").
+        then()
+            .assertThat()
+                .statusCode(200)
+                .body("content[0].id", equalTo((int) storedSociety.getId()))
+                .body("content[0].name", equalTo("Test Society"))
+                .body("content[0]", not(hasKey("cifDni")));
+    }
+
+    @Test
+    void whenGetSocietiesAfterWithFields_thenShouldGiveThoseFieldsAndTheSortField() {
+        addSociety(new Society("XXXXXXXXXX", "Test Society 1"));
+        addSociety(new Society("YYYYYYYYYY", "Test Society 2"));
+
+        JsonPath page = given()
+            .request()
+                .cookie("AuthToken", authToken)
+                .param("after", "")
+                .param("size", 1)
+                .param("sort", "cifDni,desc")
+                .param("fields", "name").
+        when()
+            .get("/api/societies").
+        then()
+            .assertThat()
+                .statusCode(200)
+                .extract().jsonPath();
+
+        assertThat(page.getMap("content[0]")).containsOnlyKeys("id", "cifDni", "name");
+        assertThat(page.getString("content[0].cifDni")).isEqualTo("YYYYYYYYYY");
+        assertThat(page.getString("next")).isNotNull();
+    }
+
+    @Test
+    void whenGetSocietiesWithUnknownField_thenShouldGiveBadRequestError400() {
+        given()
+            .request()
+                .cookie("AuthToken", authToken)
+                .param("fields", "id,address").
+        when()
+            .get("/api/societies").
+        then()
+            .assertThat()
+                .statusCode(400)
+                .body("statusCode", equalTo(400))
+                .body("message", equalTo("Unknown field address, fields are id, cifDni, name"))
+                .body("uriRequested", equalTo("/api/societies"));
+    }
+
+    @Test
+    void whenGetSocietiesAfterInvalidCursor_thenShouldGiveBadRequestError400() {
+        given()
+            .request()
+                .cookie("AuthToken", authToken)
+                .param("after", "bm90IGEgY3Vyc29y").
+        when()
+            .get("/api/societies").
+        then()
+            .assertThat()
+                .statusCode(400)
+                .body("statusCode", equalTo(400))
+                .body("message", equalTo("Invalid cursor"))
+                .body("uriRequested", equalTo("/api/societies"));
+    }
+
     @Test
     void whenGetNotExistSocietyById_thenShouldGiveSocietyNotFoundError404() {
         given()
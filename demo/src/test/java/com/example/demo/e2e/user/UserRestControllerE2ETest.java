@@ -1,5 +1,6 @@
 package com.example.demo.e2e.user;
 
+import com.example.demo.dto.UserView;
 import com.example.demo.model.User;
 import com.example.demo.security.config.SecurityExpressions.UserRole;
 import io.restassured.RestAssured;
@@ -28,6 +29,9 @@ import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsStringIgnoringCase;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.Mockito.when;
 
@@ -69,7 +73,7 @@ class UserRestControllerE2ETest {
 
     @ParameterizedTest(name = "{0}")
     @MethodSource("scenarios")
-    void testGetUsers(String scenario, Map<String, List<String>> params, List<User> expectedUsers) {
+    void testGetUsers(String scenario, Map<String, List<String>> params, List<UserView> expectedUsers) {
         when(passwordEncoder.encode("example password")).thenReturn("ZXhhbXBsZSBwYXNzd29yZA==");
         addUser(new User(
             "Test User 3",
@@ -90,7 +94,7 @@ class UserRestControllerE2ETest {
             List.of(UserRole.ADMIN.name(), UserRole.USER.name())
         ));
 
-        List<User> resultedUsers = given()
+        List<UserView> resultedUsers = given()
             .request()
                 .cookie("AuthToken", authToken)
                 .params(params).
@@ -100,7 +104,8 @@ class UserRestControllerE2ETest {
             .assertThat()
                 .statusCode(200)
                 .body("numberOfElements", equalTo(expectedUsers.size()))
-                .extract().jsonPath().getList("content", User.class);
+                .body("content", everyItem(not(hasKey("password"))))
+                .extract().jsonPath().getList("content", UserView.class);
 
         assertThat(resultedUsers).containsAll(expectedUsers);
     }
@@ -110,34 +115,29 @@ class UserRestControllerE2ETest {
             arguments("Get users without filters",
                 new HashMap<>(),
                 List.of(
-                    new User(1,
+                    new UserView(1,
                         "admin",
                         "admin@gmail.com",
-                        "$2a$10$gDc4SqW9Y9VsPNDV63krR.yNGhVkVBdRFUU9GUV6VhuSfi6neNr8K",
                         List.of(UserRole.ADMIN.name(), UserRole.USER.name())
                     ),
-                    new User(2,
+                    new UserView(2,
                         "user",
                         "user@gmail.com",
-                        "$2a$10$1ok3CeCSVd/GyiguPQwAS.Nw3tvOoBcX0n4ZCn9wV5mpFy3Z74Z2.",
                         List.of(UserRole.USER.name())
                     ),
-                    new User(3,
+                    new UserView(3,
                         "Test User 3",
                         "test3@gmail.com",
-                        "ZXhhbXBsZSBwYXNzd29yZA==",
                         List.of(UserRole.ADMIN.name())
                     ),
-                    new User(4,
+                    new UserView(4,
                         "Test User 4",
                         "test4@gmail.com",
-                        "ZXhhbXBsZSBwYXNzd29yZA==",
                         List.of(UserRole.USER.name())
                     ),
-                    new User(5,
+                    new UserView(5,
                         "Test User 5",
                         "test5@gmail.com",
-                        "ZXhhbXBsZSBwYXNzd29yZA==",
                         List.of(UserRole.ADMIN.name(), UserRole.USER.name())
                     )
                 )
@@ -149,10 +149,9 @@ class UserRestControllerE2ETest {
                     put("roles", List.of(UserRole.ADMIN.name()));
                 }},
                 List.of(
-                    new User(3,
+                    new UserView(3,
                         "Test User 3",
                         "test3@gmail.com",
-                        "ZXhhbXBsZSBwYXNzd29yZA==",
                         List.of(UserRole.ADMIN.name())
                     )
                 )
@@ -208,7 +207,7 @@ class UserRestControllerE2ETest {
                     .body("id", equalTo(2))
                     .body("name", equalTo("user"))
                     .body("email", equalTo("user@gmail.com"))
-                    .body("password", equalTo("$2a$10$1ok3CeCSVd/GyiguPQwAS.Nw3tvOoBcX0n4ZCn9wV5mpFy3Z74Z2."))
+                    .body("$", not(hasKey("password")))
                     .body("roles", equalTo(List.of(UserRole.USER.name())));
     }
 
@@ -225,10 +224,28 @@ class UserRestControllerE2ETest {
                 .body("id", equalTo(2))
                 .body("name", equalTo("user"))
                 .body("email", equalTo("user@gmail.com"))
-                .body("password", equalTo("$2a$10$1ok3CeCSVd/GyiguPQwAS.Nw3tvOoBcX0n4ZCn9wV5mpFy3Z74Z2."))
+                .body("$", not(hasKey("password")))
                 .body("roles", equalTo(List.of(UserRole.USER.name())));
     }
 
+    @Test
+    void whenGetUserByIdWithFields_thenShouldGiveOnlyThoseFields() {
+        given()
+            .request()
+                .cookie("AuthToken", authUserToken)
+                .param("fields", "roles").
+        when()
+            .get("/api/users/{id}", 2).
+        then()
+            .assertThat()
+                .statusCode(200)
+                .body("id", equalTo(2))
+                .body("roles", equalTo(List.of(UserRole.USER.name())))
+                .body("$", not(hasKey("name")))
+                .body("$", not(hasKey("email")))
+                .body("$", not(hasKey("password")));
+    }
+
     @Test
     void whenAddInvalidUser_thenShouldGiveBadRequestError400() {
         User newUser = new User(" ",
@@ -293,7 +310,7 @@ class UserRestControllerE2ETest {
                 .body("id", equalTo((int)user.getId()))
                 .body("name", equalTo(user.getName()))
                 .body("email", equalTo(user.getEmail()))
-                .body("password", equalTo(user.getPassword()))
+                .body("$", not(hasKey("password")))
                 .body("roles", equalTo(user.getRoles()));
     }
 
@@ -1,19 +1,20 @@
 package com.example.demo.integration.generatortype;
 
+import com.example.demo.dto.GeneratorTypeView;
 import com.example.demo.model.GeneratorType;
 import com.example.demo.repository.GeneratorTypeRepository;
 import com.example.demo.repository.criteria.GeneratorTypeCriteria;
+import com.example.demo.repository.page.CountStrategy;
 import com.example.demo.service.GeneratorTypeServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
-import org.simpleflatmapper.jdbc.spring.JdbcTemplateMapperFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
@@ -40,7 +41,7 @@ class GeneratorTypeServiceImplIntegrationTest {
 
     @ParameterizedTest(name = "{0}")
     @MethodSource("scenarios")
-    void testFindAll(String scenario, GeneratorTypeCriteria filters, List<GeneratorType> expectedGeneratorTypes, String retrieveSql) {
+    void testFindAll(String scenario, GeneratorTypeCriteria filters, List<GeneratorTypeView> expectedGeneratorTypes, String retrieveSql) {
         List<GeneratorType> generatorTypes = List.of(
             new GeneratorType("Test GeneratorType 1"),
             new GeneratorType("Test GeneratorType 2"),
@@ -49,7 +50,7 @@ class GeneratorTypeServiceImplIntegrationTest {
         generatorTypeRepository.saveAll(generatorTypes);
 
         Pageable pageable = PageRequest.of(0, 20);
-        Page<GeneratorType> result = generatorTypeServiceImpl.findAll(filters, pageable);
+        Slice<GeneratorTypeView> result = generatorTypeServiceImpl.findAll(filters, CountStrategy.EXACT, pageable, null);
 
         assertThat(result).isNotNull();
         assertThat(result.getNumberOfElements()).isEqualTo(expectedGeneratorTypes.size());
@@ -57,10 +58,10 @@ class GeneratorTypeServiceImplIntegrationTest {
             .containsAll(expectedGeneratorTypes);
         assertThat(result.getPageable()).isEqualTo(pageable);
 
-        List<GeneratorType> retrievedGeneratorTypes = jdbcTemplate.query(retrieveSql, JdbcTemplateMapperFactory
-            .newInstance()
-            .addKeys("id")
-            .newRowMapper(GeneratorType.class));
+        List<GeneratorTypeView> retrievedGeneratorTypes = jdbcTemplate.query(retrieveSql, (row, rowNum) -> new GeneratorTypeView(
+            row.getLong("id"),
+            row.getString("name")
+        ));
         assertThat(retrievedGeneratorTypes).containsAll(expectedGeneratorTypes);
     }
 
@@ -69,37 +70,37 @@ class GeneratorTypeServiceImplIntegrationTest {
             arguments("FindAll without filters",
                 new GeneratorTypeCriteria(null),
                 List.of(
-                    new GeneratorType(1, "Test GeneratorType 1"),
-                    new GeneratorType(2, "Test GeneratorType 2"),
-                    new GeneratorType(3, "Test GeneratorType 3")
+                    new GeneratorTypeView(1, "Test GeneratorType 1"),
+                    new GeneratorTypeView(2, "Test GeneratorType 2"),
+                    new GeneratorTypeView(3, "Test GeneratorType 3")
                 ),
-                "SELECT * FROM generator_type"
+                "SELECT id, name FROM generator_type"
             ),
             arguments("FindAll with String filter",
                 new GeneratorTypeCriteria("Test GeneratorType 1"),
                 List.of(
-                    new GeneratorType(1, "Test GeneratorType 1")
+                    new GeneratorTypeView(1, "Test GeneratorType 1")
                 ),
-                "SELECT * FROM generator_type WHERE name = 'Test GeneratorType 1'"
+                "SELECT id, name FROM generator_type WHERE name = 'Test GeneratorType 1'"
             ),
             arguments("FindAll with Partial String and Case Insensitivity filter",
                 new GeneratorTypeCriteria("GENERATORType 2"),
                 List.of(
-                    new GeneratorType(2, "Test GeneratorType 2")
+                    new GeneratorTypeView(2, "Test GeneratorType 2")
                 ),
-                "SELECT * FROM generator_type WHERE name LIKE '%GENERATORType 2%'"
+                "SELECT id, name FROM generator_type WHERE name LIKE '%GENERATORType 2%'"
             ),
             arguments("FindAll with all filters",
                 new GeneratorTypeCriteria("Test GeneratorType 3"),
                 List.of(
-                    new GeneratorType(3, "Test GeneratorType 3")
+                    new GeneratorTypeView(3, "Test GeneratorType 3")
                 ),
-                "SELECT * FROM generator_type WHERE name = 'Test GeneratorType 3'"
+                "SELECT id, name FROM generator_type WHERE name = 'Test GeneratorType 3'"
             ),
             arguments("FindAll with unmatched filters",
                 new GeneratorTypeCriteria("Test GeneratorType 4"),
                 new ArrayList<>(),
-                "SELECT * FROM generator_type WHERE name = 'Test GeneratorType 4'"
+                "SELECT id, name FROM generator_type WHERE name = 'Test GeneratorType 4'"
             )
         );
     }
@@ -108,14 +109,15 @@ class GeneratorTypeServiceImplIntegrationTest {
     void testFindById() {
         GeneratorType storedGeneratorType = generatorTypeServiceImpl.addGeneratorType(new GeneratorType("Test GeneratorType"));
 
-        Optional<GeneratorType> resultGeneratorType = generatorTypeServiceImpl.findById(storedGeneratorType.getId());
+        Optional<GeneratorTypeView> resultGeneratorType = generatorTypeServiceImpl.findById(storedGeneratorType.getId(), null);
 
-        GeneratorType expectedGeneratorType = new GeneratorType(1, "Test GeneratorType");
         assertThat(resultGeneratorType)
             .isPresent()
-            .contains((expectedGeneratorType));
+            .contains(new GeneratorTypeView(1, "Test GeneratorType"));
+
+        GeneratorType expectedGeneratorType = new GeneratorType(1, "Test GeneratorType");
 
-        Optional<GeneratorType> retrievedGeneratorType = generatorTypeRepository.findById(resultGeneratorType.get().getId());
+        Optional<GeneratorType> retrievedGeneratorType = generatorTypeRepository.findById(resultGeneratorType.get().id());
         assertThat(retrievedGeneratorType)
             .isPresent()
             .contains((expectedGeneratorType));
@@ -0,0 +1,135 @@
+package com.example.demo.integration.search;
+
+import com.example.demo.dto.GeneratorTypeView;
+import com.example.demo.dto.SocietyView;
+import com.example.demo.dto.UserView;
+import com.example.demo.model.GeneratorType;
+import com.example.demo.model.Society;
+import com.example.demo.model.User;
+import com.example.demo.repository.GeneratorTypeRepository;
+import com.example.demo.repository.SocietyRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.repository.criteria.GeneratorTypeCriteria;
+import com.example.demo.repository.criteria.SocietyCriteria;
+import com.example.demo.repository.criteria.UserCriteria;
+import com.example.demo.repository.page.CountStrategy;
+import com.example.demo.repository.specification.SocietySpecification;
+import com.example.demo.service.GeneratorTypeServiceImpl;
+import com.example.demo.service.SocietyServiceImpl;
+import com.example.demo.service.UserServiceImpl;
+import db.migration.V8__BackfillSearchTrigram;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = "search.trigram.enabled=true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@ActiveProfiles("test")
+class TrigramSearchIntegrationTest {
+
+    @Autowired
+    private SocietyServiceImpl societyServiceImpl;
+    @Autowired
+    private SocietyRepository societyRepository;
+    @Autowired
+    private GeneratorTypeServiceImpl generatorTypeServiceImpl;
+    @Autowired
+    private GeneratorTypeRepository generatorTypeRepository;
+    @Autowired
+    private UserServiceImpl userServiceImpl;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DataSource dataSource;
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {"Society", "soc", "ACME", "me So", "Holdings", "Straße", "traß", "50%", "a_b", "xyz", "So"})
+    void testFindAllReturnsTheSameRowsAsTheLike(String name) {
+        societyRepository.saveAll(List.of(
+            new Society("A0000001", "Acme Society"),
+            new Society("A0000002", "Other society"),
+            new Society("A0000003", "Straße Holdings"),
+            new Society("A0000004", "50% a_b Trading"),
+            new Society("A0000005", "Unrelated")
+        ));
+        SocietyCriteria filters = new SocietyCriteria(null, name);
+        Pageable pageable = PageRequest.of(0, 20);
+
+        List<SocietyView> expected = societyRepository.findAll(new SocietySpecification(filters), SocietyView.PROJECTION,
+            pageable).getContent();
+        List<SocietyView> result = societyServiceImpl.findAll(filters, CountStrategy.EXACT, pageable, null).getContent();
+
+        assertThat(result).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    void testIndexFollowsUpdatesAndDeletes() {
+        Society society = societyServiceImpl.addSociety(new Society("B0000001", "Northwind"));
+        Pageable pageable = PageRequest.of(0, 20);
+
+        assertThat(societyServiceImpl.findAll(new SocietyCriteria(null, "wind"), CountStrategy.EXACT, pageable, null))
+            .extracting(SocietyView::id)
+            .containsExactly(society.getId());
+
+        Society renamed = societyServiceImpl.updateSociety(society.getId(), new Society("B0000001", "Southgate"));
+        assertThat(societyServiceImpl.findAll(new SocietyCriteria(null, "wind"), CountStrategy.EXACT, pageable, null)).isEmpty();
+        assertThat(societyServiceImpl.findAll(new SocietyCriteria(null, "gate"), CountStrategy.EXACT, pageable, null))
+            .containsExactly(new SocietyView(renamed.getId(), renamed.getCifDni(), renamed.getName()));
+
+        societyServiceImpl.deleteSociety(society.getId());
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM search_trigram WHERE entity = 'Society' AND entity_id = ?", Long.class,
+            society.getId())).isZero();
+    }
+
+    @Test
+    void testFindAllNarrowsUsersAndGeneratorTypes() {
+        User user = userRepository.save(
+            new User("Jane Doe", "jane.doe@example.com", "password", List.of("USER")));
+        userRepository.save(new User("John Roe", "john.roe@example.com", "password", List.of("USER")));
+        GeneratorType generatorType = generatorTypeRepository.save(new GeneratorType("Wind turbine"));
+        generatorTypeRepository.save(new GeneratorType("Solar panel"));
+        Pageable pageable = PageRequest.of(0, 20);
+
+        assertThat(userServiceImpl.findAll(new UserCriteria(null, "jane.doe@", null), CountStrategy.EXACT, pageable, null))
+            .extracting(UserView::id)
+            .containsExactly(user.getId());
+        assertThat(generatorTypeServiceImpl.findAll(new GeneratorTypeCriteria("turb"), CountStrategy.EXACT, pageable, null))
+            .extracting(GeneratorTypeView::id)
+            .containsExactly(generatorType.getId());
+    }
+
+    @Test
+    void testBackfillIndexesRowsWrittenWithoutTheListener() throws Exception {
+        jdbcTemplate.update("INSERT INTO generator_type (id, name) VALUES (100, 'Hydroelectric')");
+        Pageable pageable = PageRequest.of(0, 20);
+        assertThat(generatorTypeServiceImpl.findAll(new GeneratorTypeCriteria("electric"), CountStrategy.EXACT, pageable, null)).isEmpty();
+
+        try (Connection connection = dataSource.getConnection()) {
+            Context context = mock(Context.class);
+            when(context.getConnection()).thenReturn(connection);
+            new V8__BackfillSearchTrigram().migrate(context);
+        }
+
+        assertThat(generatorTypeServiceImpl.findAll(new GeneratorTypeCriteria("electric"), CountStrategy.EXACT, pageable, null))
+            .containsExactly(new GeneratorTypeView(100, "Hydroelectric"));
+    }
+}
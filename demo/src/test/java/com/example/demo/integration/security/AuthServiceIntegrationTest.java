@@ -1,9 +1,12 @@
 package com.example.demo.integration.security;
 
+import com.example.demo.model.RevokedToken;
 import com.example.demo.model.User;
+import com.example.demo.repository.RevokedTokenRepository;
 import com.example.demo.security.config.SecurityExpressions.UserRole;
 import com.example.demo.security.jwt.AuthService;
 import com.example.demo.security.jwt.component.JwtTokenProvider;
+import com.example.demo.security.jwt.component.TokenRevocationList;
 import com.example.demo.security.jwt.dto.AuthResponse;
 import com.example.demo.security.jwt.dto.LoginRequest;
 import com.example.demo.service.UserService;
@@ -35,6 +38,10 @@ class AuthServiceIntegrationTest {
     private UserService userService;
     @Autowired
     private HttpServletRequest request;
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
 
     @SpyBean
     private PasswordEncoder passwordEncoder;
@@ -113,4 +120,19 @@ class AuthServiceIntegrationTest {
         assertThat(result.getBody().getStatus()).isEqualTo(AuthResponse.Status.SUCCESS);
         assertThat(result.getBody().getMessage()).isEqualTo("logout successfully");
     }
-}
\ No newline at end of file
+
+    @Test
+    void whenTokenIdIsRevokedTwice_thenShouldKeepLaterExpiryInEitherOrder() {
+        long now = System.currentTimeMillis();
+
+        tokenRevocationList.revoke("later-first:1000", now + 60_000);
+        tokenRevocationList.revoke("later-first:1000", now + 30_000);
+        tokenRevocationList.revoke("earlier-first:1000", now + 30_000);
+        tokenRevocationList.revoke("earlier-first:1000", now + 60_000);
+
+        assertThat(revokedTokenRepository.findById("later-first:1000"))
+            .get().extracting(RevokedToken::getExpiresAt).isEqualTo(now + 60_000);
+        assertThat(revokedTokenRepository.findById("earlier-first:1000"))
+            .get().extracting(RevokedToken::getExpiresAt).isEqualTo(now + 60_000);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.demo.integration.security;
+
+import com.example.demo.security.apikey.component.ApiKeyRequestFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// MockMvc applies the servlet filters of the context as well as the security chain, so a filter registered in both
+// would run twice here too
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@ActiveProfiles("test")
+class RequestFiltersIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void whenGetPublicPath_thenJwtFilterShouldCountItSkippedOnce() throws Exception {
+        double skipped = count("security.jwt.authentication.requests", "skipped");
+
+        mockMvc.perform(get("/api/auth/refresh"));
+
+        assertThat(count("security.jwt.authentication.requests", "skipped") - skipped).isEqualTo(1);
+    }
+
+    @Test
+    void whenGetWithApiKey_thenApiKeyFilterShouldCountItOnce() throws Exception {
+        double rejected = count("security.api-key.authentication.requests", "rejected");
+
+        mockMvc.perform(get("/api/societies").header(ApiKeyRequestFilter.API_KEY_HEADER, "not a key"));
+
+        assertThat(count("security.api-key.authentication.requests", "rejected") - rejected).isEqualTo(1);
+    }
+
+    private double count(String name, String outcome) {
+        return meterRegistry.get(name).tag("outcome", outcome).counter().count();
+    }
+}
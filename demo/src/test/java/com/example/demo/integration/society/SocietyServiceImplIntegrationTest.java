@@ -1,26 +1,34 @@
 package com.example.demo.integration.society;
 
+import com.example.demo.dto.SocietyView;
 import com.example.demo.model.Society;
 import com.example.demo.repository.SocietyRepository;
+import com.example.demo.repository.criteria.MatchMode;
 import com.example.demo.repository.criteria.SocietyCriteria;
+import com.example.demo.repository.cursor.CursorPage;
+import com.example.demo.repository.page.CountStrategy;
+import com.example.demo.repository.search.BestMatch;
+import com.example.demo.repository.specification.SocietySpecification;
 import com.example.demo.service.SocietyServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
-import org.simpleflatmapper.jdbc.spring.JdbcTemplateMapperFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -40,7 +48,7 @@ class SocietyServiceImplIntegrationTest {
 
     @ParameterizedTest(name = "{0}")
     @MethodSource("scenarios")
-    void testFindAll(String scenario, SocietyCriteria filters, List<Society> expectedSocities, String retrieveSql) {
+    void testFindAll(String scenario, SocietyCriteria filters, List<SocietyView> expectedSocities, String retrieveSql) {
         List<Society> societies = List.of(
             new Society("XXXXXXXXXX","Test Society 1"),
             new Society("YYYYYYYYYY","Test Society 2"),
@@ -49,7 +57,7 @@ class SocietyServiceImplIntegrationTest {
         societyRepository.saveAll(societies);
 
         Pageable pageable = PageRequest.of(0, 20);
-        Page<Society> result = societyServiceImpl.findAll(filters, pageable);
+        Slice<SocietyView> result = societyServiceImpl.findAll(filters, CountStrategy.EXACT, pageable, null);
 
         assertThat(result).isNotNull();
         assertThat(result.getNumberOfElements()).isEqualTo(expectedSocities.size());
@@ -57,10 +65,11 @@ class SocietyServiceImplIntegrationTest {
             .containsAll(expectedSocities);
         assertThat(result.getPageable()).isEqualTo(pageable);
 
-        List<Society> retrievedSocieties = jdbcTemplate.query(retrieveSql, JdbcTemplateMapperFactory
-            .newInstance()
-            .addKeys("id")
-            .newRowMapper(Society.class));
+        List<SocietyView> retrievedSocieties = jdbcTemplate.query(retrieveSql, (row, rowNum) -> new SocietyView(
+            row.getLong("id"),
+            row.getString("cif_dni"),
+            row.getString("name")
+        ));
         assertThat(retrievedSocieties).containsAll(expectedSocities);
     }
 
@@ -69,53 +78,160 @@ class SocietyServiceImplIntegrationTest {
             arguments("FindAll without filters",
                 new SocietyCriteria(null, null),
                 List.of(
-                    new Society(1, "XXXXXXXXXX","Test Society 1"),
-                    new Society(2, "YYYYYYYYYY","Test Society 2"),
-                    new Society(3, "ZZZZZZZZZZ","Test Society 3")
+                    new SocietyView(1, "XXXXXXXXXX","Test Society 1"),
+                    new SocietyView(2, "YYYYYYYYYY","Test Society 2"),
+                    new SocietyView(3, "ZZZZZZZZZZ","Test Society 3")
                 ),
-                "SELECT * FROM society"
+                "SELECT id, cif_dni, name FROM society"
             ),
             arguments("FindAll with String filter",
                 new SocietyCriteria(null, "Test Society 1"),
                 List.of(
-                    new Society(1, "XXXXXXXXXX","Test Society 1")
+                    new SocietyView(1, "XXXXXXXXXX","Test Society 1")
                 ),
-                "SELECT * FROM society WHERE name = 'Test Society 1'"
+                "SELECT id, cif_dni, name FROM society WHERE name = 'Test Society 1'"
             ),
             arguments("FindAll with Partial String and Case Insensitivity filter",
                 new SocietyCriteria("YYYyyy", null),
                 List.of(
-                    new Society(2, "YYYYYYYYYY","Test Society 2")
+                    new SocietyView(2, "YYYYYYYYYY","Test Society 2")
                 ),
-                "SELECT * FROM society WHERE cif_dni LIKE '%YYYyyy%'"
+                "SELECT id, cif_dni, name FROM society WHERE cif_dni LIKE '%YYYyyy%'"
             ),
             arguments("FindAll with all filters",
                 new SocietyCriteria("ZZZZZZZZZZ", "Test Society 3"),
                 List.of(
-                    new Society(3, "ZZZZZZZZZZ","Test Society 3")
+                    new SocietyView(3, "ZZZZZZZZZZ","Test Society 3")
                 ),
-                "SELECT * FROM society WHERE cif_dni = 'ZZZZZZZZZZ' AND name = 'Test Society 3'"
+                "SELECT id, cif_dni, name FROM society WHERE cif_dni = 'ZZZZZZZZZZ' AND name = 'Test Society 3'"
             ),
             arguments("FindAll with unmatched filters",
                 new SocietyCriteria("XXXXXXXXXX", "Test Society 2"),
                 new ArrayList<>(),
-                "SELECT * FROM society WHERE cif_dni = 'XXXXXXXXXX' AND name = 'Test Society 2'"
+                "SELECT id, cif_dni, name FROM society WHERE cif_dni = 'XXXXXXXXXX' AND name = 'Test Society 2'"
             )
         );
     }
 
+    @ParameterizedTest(name = "{0} {1}")
+    @MethodSource("matchScenarios")
+    void testFindAllWithMatchMode(MatchMode match, String name, List<String> expectedNames) {
+        societyRepository.saveAll(List.of(
+            new Society("XXXXXXXXXX", "Compañía Ávila"),
+            new Society("YYYYYYYYYY", "COMPAÑERO 50% S.L."),
+            new Society("ZZZZZZZZZZ", "Test Society")
+        ));
+        SocietyCriteria filters = new SocietyCriteria(null, name);
+        filters.setMatch(match);
+
+        Slice<SocietyView> result = societyServiceImpl.findAll(filters, CountStrategy.EXACT, PageRequest.of(0, 20), null);
+
+        assertThat(result.getContent()).extracting(SocietyView::name).containsExactlyInAnyOrderElementsOf(expectedNames);
+    }
+
+    @Test
+    void testFindAllListsBestMatchesFirstWithinTheRequestedSort() {
+        societyRepository.saveAll(List.of(
+            new Society("BBBBBBBBBB", "Energy Solutions Iberia"),
+            new Society("AAAAAAAAAA", "Energy Iberia"),
+            new Society("CCCCCCCCCC", "Iberia")
+        ));
+        SocietyCriteria filters = new SocietyCriteria(null, "iberia");
+
+        assertThat(societyServiceImpl.findAll(filters, CountStrategy.EXACT, PageRequest.of(0, 20), null).getContent())
+            .extracting(SocietyView::name)
+            .containsExactly("Iberia", "Energy Iberia", "Energy Solutions Iberia");
+        assertThat(societyServiceImpl.findAll(filters, CountStrategy.EXACT, PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "cifDni")), null)
+            .getContent())
+            .extracting(SocietyView::name)
+            .containsExactly("Iberia", "Energy Solutions Iberia", "Energy Iberia");
+    }
+
+    // The best-match order has to be the order the (name_length, name) index keeps its rows in, or MySQL sorts the
+    // matching rows itself instead of reading them from the index
+    @Test
+    void testBestMatchOrderIsReadFromTheLengthIndexWithoutFilesort() {
+        societyRepository.saveAll(List.of(
+            new Society("BBBBBBBBBB", "Energy Solutions Iberia"),
+            new Society("AAAAAAAAAA", "Energy Iberia"),
+            new Society("CCCCCCCCCC", "Iberia")
+        ));
+        SocietyCriteria filters = new SocietyCriteria(null, "iberia");
+        String orderBy = BestMatch.after(Sort.unsorted(), new SocietySpecification(filters).bestMatch()).stream()
+            .map(order -> "S." + order.getProperty().replaceAll("([A-Z])", "_$1").toLowerCase())
+            .collect(Collectors.joining(", "));
+
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("""
+            EXPLAIN SELECT S.id, S.cif_dni, S.name
+            FROM society S FORCE INDEX (idx_society_name_length)
+            WHERE S.name LIKE '%%iberia%%'
+            ORDER BY %s
+            LIMIT 20""".formatted(orderBy));
+
+        assertThat(orderBy).isEqualTo("S.name_length, S.name, S.id");
+        assertThat(plan).extracting(row -> row.get("key")).containsExactly("idx_society_name_length");
+        assertThat(plan).extracting(row -> String.valueOf(row.get("Extra")))
+            .noneMatch(extra -> extra.contains("filesort"));
+    }
+
+    @Test
+    void testUpdateSocietyRefreshesTheNormalizedColumns() {
+        Society society = societyRepository.save(new Society("XXXXXXXXXX", "Compañía Ávila"));
+        societyServiceImpl.updateSociety(society.getId(), new Society("XXXXXXXXXX", "Señorío de Écija"));
+
+        SocietyCriteria filters = new SocietyCriteria(null, "senorio de ecija");
+        filters.setMatch(MatchMode.EXACT);
+
+        assertThat(societyServiceImpl.findAll(filters, CountStrategy.EXACT, PageRequest.of(0, 20), null).getContent())
+            .containsExactly(new SocietyView(society.getId(), "XXXXXXXXXX", "Señorío de Écija"));
+    }
+
+    private static Stream<Arguments> matchScenarios() {
+        return Stream.of(
+            arguments(MatchMode.PREFIX, "compan", List.of("Compañía Ávila", "COMPAÑERO 50% S.L.")),
+            arguments(MatchMode.PREFIX, "avila", List.of()),
+            arguments(MatchMode.EXACT, "compania avila", List.of("Compañía Ávila")),
+            arguments(MatchMode.EXACT, "compania", List.of()),
+            arguments(MatchMode.CONTAINS, "ÁVILA", List.of("Compañía Ávila")),
+            arguments(MatchMode.CONTAINS, "50%", List.of("COMPAÑERO 50% S.L.")),
+            arguments(MatchMode.CONTAINS, "5_%", List.of())
+        );
+    }
+
+    @Test
+    void testFindAllAfterCursor() {
+        societyRepository.saveAll(List.of(
+            new Society("XXXXXXXXXX","Test Society 1"),
+            new Society("YYYYYYYYYY","Test Society 2"),
+            new Society("ZZZZZZZZZZ","Test Society 3")
+        ));
+        SocietyCriteria filters = new SocietyCriteria(null, "Society");
+        Pageable pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "cifDni"));
+
+        CursorPage<SocietyView> firstPage = societyServiceImpl.findAll(filters, "", pageable, null);
+        CursorPage<SocietyView> secondPage = societyServiceImpl.findAll(filters, firstPage.getNext(), pageable, null);
+
+        assertThat(firstPage.getContent()).containsExactly(
+            new SocietyView(3, "ZZZZZZZZZZ","Test Society 3"),
+            new SocietyView(2, "YYYYYYYYYY","Test Society 2"));
+        assertThat(firstPage.isLast()).isFalse();
+        assertThat(secondPage.getContent()).containsExactly(new SocietyView(1, "XXXXXXXXXX","Test Society 1"));
+        assertThat(secondPage.isLast()).isTrue();
+    }
+
     @Test
     void testFindById() {
         Society storedSociety = societyServiceImpl.addSociety(new Society("XXXXXXXXXX", "Test Society"));
 
-        Optional<Society> resultSociety = societyServiceImpl.findById(storedSociety.getId());
+        Optional<SocietyView> resultSociety = societyServiceImpl.findById(storedSociety.getId(), null);
 
-        Society expectedSociety = new Society(1, "XXXXXXXXXX", "Test Society");
         assertThat(resultSociety)
             .isPresent()
-            .contains((expectedSociety));
+            .contains(new SocietyView(1, "XXXXXXXXXX", "Test Society"));
+
+        Society expectedSociety = new Society(1, "XXXXXXXXXX", "Test Society");
 
-        Optional<Society> retrievedSociety = societyRepository.findById(resultSociety.get().getId());
+        Optional<Society> retrievedSociety = societyRepository.findById(resultSociety.get().id());
         assertThat(retrievedSociety)
             .isPresent()
             .contains((expectedSociety));
@@ -1,21 +1,27 @@
 package com.example.demo.integration.user;
 
+import com.example.demo.dto.UserView;
+import com.example.demo.model.RolesMask;
 import com.example.demo.model.User;
 import com.example.demo.repository.UserRepository;
 import com.example.demo.repository.criteria.UserCriteria;
+import com.example.demo.repository.page.CountStrategy;
 import com.example.demo.security.config.SecurityExpressions.UserRole;
 import com.example.demo.service.UserServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
-import org.simpleflatmapper.jdbc.spring.JdbcTemplateMapperFactory;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.SpyBean;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.annotation.DirtiesContext;
@@ -30,7 +36,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.Mockito.when;
 
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 @ActiveProfiles("test")
 class UserServiceImplIntegrationTest {
@@ -41,13 +47,15 @@ class UserServiceImplIntegrationTest {
     private UserRepository userRepository;
     @Autowired
     private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
 
     @SpyBean
     private PasswordEncoder passwordEncoder;
 
     @ParameterizedTest(name = "{0}")
     @MethodSource("scenarios")
-    void testFindAll(String scenario, UserCriteria filters, List<User> expectedUsers, String retrieveSql) {
+    void testFindAll(String scenario, UserCriteria filters, List<UserView> expectedUsers, String retrieveSql) {
         List<User> users = List.of(
             new User(
                 "Test User 1",
@@ -71,7 +79,7 @@ class UserServiceImplIntegrationTest {
         userRepository.saveAll(users);
 
         Pageable pageable = PageRequest.of(0, 20);
-        Page<User> result = userServiceImpl.findAll(filters, pageable);
+        Slice<UserView> result = userServiceImpl.findAll(filters, CountStrategy.EXACT, pageable, null);
 
         assertThat(result).isNotNull();
         assertThat(result.getNumberOfElements()).isEqualTo(expectedUsers.size());
@@ -79,10 +87,12 @@ class UserServiceImplIntegrationTest {
             .containsAll(expectedUsers);
         assertThat(result.getPageable()).isEqualTo(pageable);
 
-        List<User> retrievedUsers = jdbcTemplate.query(retrieveSql, JdbcTemplateMapperFactory
-            .newInstance()
-            .addKeys("id")
-            .newResultSetExtractor(User.class));
+        List<UserView> retrievedUsers = jdbcTemplate.query(retrieveSql, (row, rowNum) -> new UserView(
+            row.getLong("id"),
+            row.getString("name"),
+            row.getString("email"),
+            RolesMask.names(row.getInt("roles_mask"))
+        ));
         assertThat(retrievedUsers).containsAll(expectedUsers);
     }
 
@@ -91,116 +101,125 @@ class UserServiceImplIntegrationTest {
             arguments("FindAll without filters",
                 new UserCriteria(null, null, null),
                 List.of(
-                    new User(1,
+                    new UserView(1,
                         "Test User 1",
                         "test1@gmail.com",
-                        "ZXhhbXBsZSBwYXNzd29yZA==",
                         List.of(UserRole.ADMIN.name())
                     ),
-                    new User(2,
+                    new UserView(2,
                         "Test User 2",
                         "test2@gmail.com",
-                        "ZXhhbXBsZSBwYXNzd29yZA==",
                         List.of(UserRole.USER.name())
                     ),
-                    new User(3,
+                    new UserView(3,
                         "Test User 3",
                         "test3@gmail.com",
-                        "ZXhhbXBsZSBwYXNzd29yZA==",
                         List.of(UserRole.USER.name())
                     )
                 ),
                 """
-                    SELECT U.id, U.name, U.email, U.password, UR.roles
-                    FROM user U
-                    JOIN user_roles UR ON U.id = UR.user_id"""
+                    SELECT U.id, U.name, U.email, U.roles_mask
+                    FROM user U"""
             ),
             arguments("FindAll with String filter",
                 new UserCriteria("Test User 1", null, null),
                 List.of(
-                    new User(1,
+                    new UserView(1,
                         "Test User 1",
                         "test1@gmail.com",
-                        "ZXhhbXBsZSBwYXNzd29yZA==",
                         List.of(UserRole.ADMIN.name())
                     )
                 ),
                 """
-                    SELECT U.id, U.name, U.email, U.password, UR.roles
+                    SELECT U.id, U.name, U.email, U.roles_mask
                     FROM user U
-                    JOIN user_roles UR ON U.id = UR.user_id
                     WHERE name = 'Test User 1'"""
             ),
             arguments("FindAll with Partial String and Case Insensitivity filter",
                 new UserCriteria(null, "TEst2", null),
                 List.of(
-                    new User(2,
+                    new UserView(2,
                         "Test User 2",
                         "test2@gmail.com",
-                        "ZXhhbXBsZSBwYXNzd29yZA==",
                         List.of(UserRole.USER.name())
                     )
                 ),
                 """
-                    SELECT U.id, U.name, U.email, U.password, UR.roles
+                    SELECT U.id, U.name, U.email, U.roles_mask
                     FROM user U
-                    JOIN user_roles UR ON U.id = UR.user_id
                     WHERE email LIKE '%TEst2%'"""
             ),
             arguments("FindAll with Roles filter",
                 new UserCriteria(null, null, List.of(UserRole.USER.name())),
                 List.of(
-                    new User(2,
+                    new UserView(2,
                         "Test User 2",
                         "test2@gmail.com",
-                        "ZXhhbXBsZSBwYXNzd29yZA==",
                         List.of(UserRole.USER.name())
                     ),
-                    new User(3,
+                    new UserView(3,
                         "Test User 3",
                         "test3@gmail.com",
-                        "ZXhhbXBsZSBwYXNzd29yZA==",
                         List.of(UserRole.USER.name())
                     )
                 ),
                 """
-                    SELECT U.id, U.name, U.email, U.password, UR.roles
+                    SELECT U.id, U.name, U.email, U.roles_mask
                     FROM user U
-                    JOIN user_roles UR ON U.id = UR.user_id
-                    WHERE UR.roles = 'USER'"""
+                    WHERE U.roles_mask IN (2, 3)"""
             ),
             arguments("FindAll with all filters",
                 new UserCriteria("Test User 1", "test1@gmail.com", List.of(UserRole.ADMIN.name())),
                 List.of(
-                    new User(1,
+                    new UserView(1,
                         "Test User 1",
                         "test1@gmail.com",
-                        "ZXhhbXBsZSBwYXNzd29yZA==",
                         List.of(UserRole.ADMIN.name())
                     )
                 ),
                 """
-                    SELECT U.id, U.name, U.email, U.password, UR.roles
+                    SELECT U.id, U.name, U.email, U.roles_mask
                     FROM user U
-                    JOIN user_roles UR ON U.id = UR.user_id
                     WHERE U.name = 'Test User 1'
                       AND U.email = 'test1@gmail.com'
-                      AND UR.roles = 'ADMIN'"""
+                      AND U.roles_mask IN (1, 3)"""
             ),
             arguments("FindAll with unmatched filters",
                 new UserCriteria("Test User 1", "test2@gmail.com", List.of(UserRole.ADMIN.name())),
                 new ArrayList<>(),
                 """
-                    SELECT U.id, U.name, U.email, U.password, UR.roles
+                    SELECT U.id, U.name, U.email, U.roles_mask
                     FROM user U
-                    JOIN user_roles UR ON U.id = UR.user_id
                     WHERE U.name = 'Test User 1'
                       AND U.email = 'test2@gmail.com'
-                      AND UR.roles = 'ADMIN'"""
+                      AND U.roles_mask IN (1, 3)"""
             )
         );
     }
 
+    @ParameterizedTest(name = "{0} users per page")
+    @ValueSource(ints = {5, 25})
+    void testFindAllLoadsTheRolesOfAPageInAFixedNumberOfStatements(int pageSize) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            users.add(new User("Test User " + i, "test" + i + "@gmail.com", "ZXhhbXBsZSBwYXNzd29yZA==",
+                List.of(UserRole.USER.name(), UserRole.ADMIN.name())));
+        }
+        userRepository.saveAll(users);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Slice<UserView> result = userServiceImpl.findAll(new UserCriteria("Test User", null, List.of("USER")),
+            CountStrategy.EXACT, PageRequest.of(0, pageSize), null);
+
+        assertThat(result.getContent()).hasSize(pageSize)
+            .allSatisfy(user -> assertThat(user.roles()).containsExactlyInAnyOrder("USER", "ADMIN"));
+        // The page and its count, the roles come with the user rows
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        // Read straight into views, no user entity is loaded
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
     @Test
     void testFindById() {
         when(passwordEncoder.encode("example password")).thenReturn("ZXhhbXBsZSBwYXNzd29yZA==");
@@ -212,7 +231,15 @@ class UserServiceImplIntegrationTest {
             List.of(UserRole.ADMIN.name(), UserRole.USER.name()))
         );
 
-        Optional<User> resultUser = userServiceImpl.findById(storedUser.getId());
+        Optional<UserView> resultUser = userServiceImpl.findById(storedUser.getId(), null);
+
+        assertThat(resultUser)
+            .isPresent()
+            .contains(new UserView(1,
+                "Test User",
+                "test@gmail.com",
+                List.of(UserRole.ADMIN.name(), UserRole.USER.name())
+            ));
 
         User expectedUser = new User(1,
             "Test User",
@@ -220,14 +247,28 @@ class UserServiceImplIntegrationTest {
             "ZXhhbXBsZSBwYXNzd29yZA==",
             List.of(UserRole.ADMIN.name(), UserRole.USER.name())
         );
-        assertThat(resultUser)
+        Optional<User> retrievedUser = userRepository.findById(resultUser.get().id());
+        assertThat(retrievedUser)
             .isPresent()
             .contains((expectedUser));
+    }
 
-        Optional<User> retrievedUser = userRepository.findById(resultUser.get().getId());
-        assertThat(retrievedUser)
+    @Test
+    void whenFindByIdWithFields_thenShouldReadOnlyThoseFields() {
+        when(passwordEncoder.encode("example password")).thenReturn("ZXhhbXBsZSBwYXNzd29yZA==");
+        User storedUser = userServiceImpl.addUser(
+            new User(
+            "Test User",
+            "test@gmail.com",
+            "example password",
+            List.of(UserRole.USER.name()))
+        );
+
+        Optional<UserView> resultUser = userServiceImpl.findById(storedUser.getId(), List.of("roles"));
+
+        assertThat(resultUser)
             .isPresent()
-            .contains((expectedUser));
+            .contains(new UserView(storedUser.getId(), null, null, List.of(UserRole.USER.name())));
     }
 
     @Test
@@ -254,6 +295,7 @@ class UserServiceImplIntegrationTest {
         assertThat(retrievedUser)
             .isPresent()
             .contains((expectedUser));
+        assertThat(retrieveCredential(resultUser.getId())).containsExactly("ZXhhbXBsZSBwYXNzd29yZA==");
     }
 
     @Test
@@ -289,6 +331,27 @@ class UserServiceImplIntegrationTest {
             .contains((expectedUser));
     }
 
+    @Test
+    void whenUpdateUserPassword_thenShouldStoreTheNewHashInTheCredential() {
+        when(passwordEncoder.encode("example password")).thenReturn("ZXhhbXBsZSBwYXNzd29yZA==");
+        when(passwordEncoder.encode("new password")).thenReturn("bmV3IHBhc3N3b3Jk");
+        User storedUser = userServiceImpl.addUser(new User(
+            "Test User",
+            "test@gmail.com",
+            "example password",
+            List.of(UserRole.USER.name()))
+        );
+
+        userServiceImpl.updateUser(storedUser.getId(), new User(
+            "Test User",
+            "test@gmail.com",
+            "new password",
+            List.of(UserRole.USER.name()))
+        );
+
+        assertThat(retrieveCredential(storedUser.getId())).containsExactly("bmV3IHBhc3N3b3Jk");
+    }
+
     @Test
     void testDeleteUser() {
         User storedUser = userServiceImpl.addUser(new User(
@@ -302,5 +365,10 @@ class UserServiceImplIntegrationTest {
 
         Optional<User> retrievedUser = userRepository.findById(storedUser.getId());
         assertThat(retrievedUser).isEmpty();
+        assertThat(retrieveCredential(storedUser.getId())).isEmpty();
+    }
+
+    private List<String> retrieveCredential(long userId) {
+        return jdbcTemplate.queryForList("SELECT password FROM user_credential WHERE user_id = ?", String.class, userId);
     }
 }
\ No newline at end of file
@@ -1,9 +1,12 @@
 package com.example.demo.unit.controller;
 
 import com.example.demo.controller.GeneratorTypeRestController;
+import com.example.demo.dto.GeneratorTypeView;
 import com.example.demo.exception.GeneratorTypeNotFoundException;
 import com.example.demo.model.GeneratorType;
 import com.example.demo.repository.criteria.GeneratorTypeCriteria;
+import com.example.demo.repository.cursor.CursorPage;
+import com.example.demo.repository.page.CountStrategy;
 import com.example.demo.service.GeneratorTypeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +17,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -40,14 +44,17 @@ class GeneratorTypeRestControllerUnitTest {
     @Test
     void testGetGeneratorTypes() {
         Pageable pageable = PageRequest.of(0, 20);
-        List<GeneratorType> generatorTypes = List.of(mock(GeneratorType.class), mock(GeneratorType.class), mock(GeneratorType.class));
-        Page<GeneratorType> page = new PageImpl<>(generatorTypes, pageable, 3);
+        List<GeneratorTypeView> generatorTypes = List.of(
+            new GeneratorTypeView(1, "Test GeneratorType 1"),
+            new GeneratorTypeView(2, "Test GeneratorType 2"),
+            new GeneratorTypeView(3, "Test GeneratorType 3"));
+        Page<GeneratorTypeView> page = new PageImpl<>(generatorTypes, pageable, 3);
         GeneratorTypeCriteria filters = mock(GeneratorTypeCriteria.class);
-        when(generatorTypeService.findAll(filters, pageable)).thenReturn(page);
+        when(generatorTypeService.findAll(filters, CountStrategy.EXACT, pageable, null)).thenReturn(page);
 
-        ResponseEntity<Page<GeneratorType>> result = generatorTypeRestController.getGeneratorTypes(filters, pageable);
+        ResponseEntity<Slice<GeneratorTypeView>> result = generatorTypeRestController.getGeneratorTypes(filters, CountStrategy.EXACT, null, pageable);
 
-        verify(generatorTypeService).findAll(filters, pageable);
+        verify(generatorTypeService).findAll(filters, CountStrategy.EXACT, pageable, null);
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(result.getBody()).isNotNull();
         assertThat(result.getBody().getNumberOfElements()).isEqualTo(3);
@@ -55,25 +62,41 @@ class GeneratorTypeRestControllerUnitTest {
         assertThat(result.getBody().getPageable()).isEqualTo(pageable);
     }
 
+    @Test
+    void testGetGeneratorTypesAfter() {
+        Pageable pageable = PageRequest.of(0, 20);
+        CursorPage<GeneratorTypeView> page = new CursorPage<>(List.of(
+            new GeneratorTypeView(1, "Test GeneratorType 1"),
+            new GeneratorTypeView(2, "Test GeneratorType 2")), 20, null);
+        GeneratorTypeCriteria filters = mock(GeneratorTypeCriteria.class);
+        when(generatorTypeService.findAll(filters, "cursor", pageable, null)).thenReturn(page);
+
+        ResponseEntity<CursorPage<GeneratorTypeView>> result = generatorTypeRestController.getGeneratorTypesAfter(filters, "cursor", null, pageable);
+
+        verify(generatorTypeService).findAll(filters, "cursor", pageable, null);
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody()).isEqualTo(page);
+    }
+
     @Test
     void whenGetNotExistGeneratorTypeById_thenShouldGiveGeneratorTypeNotFoundException() {
-        when(generatorTypeService.findById(1)).thenReturn(Optional.empty());
+        when(generatorTypeService.findById(1, null)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> generatorTypeRestController.getGeneratorType(1))
+        assertThatThrownBy(() -> generatorTypeRestController.getGeneratorType(1, null))
             .isInstanceOf(GeneratorTypeNotFoundException.class)
             .hasMessageContaining("GeneratorType 1 not found");
 
-        verify(generatorTypeService).findById(1);
+        verify(generatorTypeService).findById(1, null);
     }
 
     @Test
     void testGetGeneratorTypeById() {
-        GeneratorType generatorType = mock(GeneratorType.class);
-        when(generatorTypeService.findById(1)).thenReturn(Optional.of(generatorType));
+        GeneratorTypeView generatorType = new GeneratorTypeView(1, "Test GeneratorType 1");
+        when(generatorTypeService.findById(1, null)).thenReturn(Optional.of(generatorType));
 
-        ResponseEntity<GeneratorType> result = generatorTypeRestController.getGeneratorType(1);
+        ResponseEntity<GeneratorTypeView> result = generatorTypeRestController.getGeneratorType(1, null);
 
-        verify(generatorTypeService).findById(1);
+        verify(generatorTypeService).findById(1, null);
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(result.getBody()).isEqualTo(generatorType);
     }
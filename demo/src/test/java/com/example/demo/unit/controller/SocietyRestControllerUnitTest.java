@@ -1,9 +1,12 @@
 package com.example.demo.unit.controller;
 
 import com.example.demo.controller.SocietyRestController;
+import com.example.demo.dto.SocietyView;
 import com.example.demo.exception.SocietyNotFoundException;
 import com.example.demo.model.Society;
 import com.example.demo.repository.criteria.SocietyCriteria;
+import com.example.demo.repository.cursor.CursorPage;
+import com.example.demo.repository.page.CountStrategy;
 import com.example.demo.service.SocietyService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +17,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -40,14 +44,17 @@ class SocietyRestControllerUnitTest {
     @Test
     void testGetSocieties() {
         Pageable pageable = PageRequest.of(0, 20);
-        List<Society> societies = List.of(mock(Society.class), mock(Society.class), mock(Society.class));
-        Page<Society> page = new PageImpl<>(societies, pageable, 3);
+        List<SocietyView> societies = List.of(
+            new SocietyView(1, "XXXXXXXXX1", "Test Society 1"),
+            new SocietyView(2, "XXXXXXXXX2", "Test Society 2"),
+            new SocietyView(3, "XXXXXXXXX3", "Test Society 3"));
+        Page<SocietyView> page = new PageImpl<>(societies, pageable, 3);
         SocietyCriteria filters = mock(SocietyCriteria.class);
-        when(societyService.findAll(filters, pageable)).thenReturn(page);
+        when(societyService.findAll(filters, CountStrategy.EXACT, pageable, null)).thenReturn(page);
 
-        ResponseEntity<Page<Society>> result = societyRestController.getSocieties(filters, pageable);
+        ResponseEntity<Slice<SocietyView>> result = societyRestController.getSocieties(filters, CountStrategy.EXACT, null, pageable);
 
-        verify(societyService).findAll(filters, pageable);
+        verify(societyService).findAll(filters, CountStrategy.EXACT, pageable, null);
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(result.getBody()).isNotNull();
         assertThat(result.getBody().getNumberOfElements()).isEqualTo(3);
@@ -55,25 +62,41 @@ class SocietyRestControllerUnitTest {
         assertThat(result.getBody().getPageable()).isEqualTo(pageable);
     }
 
+    @Test
+    void testGetSocietiesAfter() {
+        Pageable pageable = PageRequest.of(0, 20);
+        CursorPage<SocietyView> page = new CursorPage<>(List.of(
+            new SocietyView(1, "XXXXXXXXX1", "Test Society 1"),
+            new SocietyView(2, "XXXXXXXXX2", "Test Society 2")), 20, null);
+        SocietyCriteria filters = mock(SocietyCriteria.class);
+        when(societyService.findAll(filters, "cursor", pageable, null)).thenReturn(page);
+
+        ResponseEntity<CursorPage<SocietyView>> result = societyRestController.getSocietiesAfter(filters, "cursor", null, pageable);
+
+        verify(societyService).findAll(filters, "cursor", pageable, null);
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody()).isEqualTo(page);
+    }
+
     @Test
     void whenGetNotExistSocietyById_thenShouldGiveSocietyNotFoundException() {
-        when(societyService.findById(1)).thenReturn(Optional.empty());
+        when(societyService.findById(1, null)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> societyRestController.getSociety(1))
+        assertThatThrownBy(() -> societyRestController.getSociety(1, null))
             .isInstanceOf(SocietyNotFoundException.class)
             .hasMessageContaining("Society 1 not found");
 
-        verify(societyService).findById(1);
+        verify(societyService).findById(1, null);
     }
 
     @Test
     void testGetSocietyById() {
-        Society society = mock(Society.class);
-        when(societyService.findById(1)).thenReturn(Optional.of(society));
+        SocietyView society = new SocietyView(1, "XXXXXXXXX1", "Test Society 1");
+        when(societyService.findById(1, null)).thenReturn(Optional.of(society));
 
-        ResponseEntity<Society> result = societyRestController.getSociety(1);
+        ResponseEntity<SocietyView> result = societyRestController.getSociety(1, null);
 
-        verify(societyService).findById(1);
+        verify(societyService).findById(1, null);
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(result.getBody()).isEqualTo(society);
     }
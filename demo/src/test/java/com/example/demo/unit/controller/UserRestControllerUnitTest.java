@@ -1,9 +1,14 @@
 package com.example.demo.unit.controller;
 
 import com.example.demo.controller.UserRestController;
+import com.example.demo.dto.UserView;
+import com.example.demo.exception.TooManyRequestsException;
 import com.example.demo.exception.UserNotFoundException;
 import com.example.demo.model.User;
 import com.example.demo.repository.criteria.UserCriteria;
+import com.example.demo.repository.cursor.CursorPage;
+import com.example.demo.repository.page.CountStrategy;
+import com.example.demo.security.LoginThrottle;
 import com.example.demo.security.config.SecurityExpressions.UserRole;
 import com.example.demo.service.UserService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,10 +21,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,23 +41,28 @@ class UserRestControllerUnitTest {
 
     @Mock
     private UserService userService;
+    @Mock
+    private LoginThrottle loginThrottle;
 
     @BeforeEach
     public void setUp() {
-        userRestController = new UserRestController(userService);
+        userRestController = new UserRestController(userService, loginThrottle);
     }
 
     @Test
     void testGetUsers() {
         Pageable pageable = PageRequest.of(0, 20);
-        List<User> users = List.of(mock(User.class), mock(User.class), mock(User.class));
-        Page<User> page = new PageImpl<>(users, pageable, 3);
+        List<UserView> users = List.of(
+            new UserView(1, "Test User 1", "test1@gmail.com", List.of(UserRole.USER.name())),
+            new UserView(2, "Test User 2", "test2@gmail.com", List.of(UserRole.USER.name())),
+            new UserView(3, "Test User 3", "test3@gmail.com", List.of(UserRole.USER.name())));
+        Page<UserView> page = new PageImpl<>(users, pageable, 3);
         UserCriteria filters = mock(UserCriteria.class);
-        when(userService.findAll(filters, pageable)).thenReturn(page);
+        when(userService.findAll(filters, CountStrategy.EXACT, pageable, null)).thenReturn(page);
 
-        ResponseEntity<Page<User>> result = userRestController.getUsers(filters, pageable);
+        ResponseEntity<Slice<UserView>> result = userRestController.getUsers(filters, CountStrategy.EXACT, null, pageable);
 
-        verify(userService).findAll(filters, pageable);
+        verify(userService).findAll(filters, CountStrategy.EXACT, pageable, null);
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(result.getBody()).isNotNull();
         assertThat(result.getBody().getNumberOfElements()).isEqualTo(3);
@@ -58,71 +70,80 @@ class UserRestControllerUnitTest {
         assertThat(result.getBody().getPageable()).isEqualTo(pageable);
     }
 
+    @Test
+    void testGetUsersAfter() {
+        Pageable pageable = PageRequest.of(0, 20);
+        CursorPage<UserView> page = new CursorPage<>(List.of(
+            new UserView(1, "Test User 1", "test1@gmail.com", List.of(UserRole.USER.name())),
+            new UserView(2, "Test User 2", "test2@gmail.com", List.of(UserRole.USER.name()))), 20, null);
+        UserCriteria filters = mock(UserCriteria.class);
+        when(userService.findAll(filters, "cursor", pageable, null)).thenReturn(page);
+
+        ResponseEntity<CursorPage<UserView>> result = userRestController.getUsersAfter(filters, "cursor", null, pageable);
+
+        verify(userService).findAll(filters, "cursor", pageable, null);
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody()).isEqualTo(page);
+    }
+
     @Test
     void whenGetUserByIdWithoutLogin_thenShouldGiveAccessDeniedException() {
         HttpServletRequest request = mock(HttpServletRequest.class);
-        when(userService.getCurrentUser(request)).thenReturn(Optional.empty());
+        when(userService.getCurrentUserId(request)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> userRestController.getUser(request, 1))
+        assertThatThrownBy(() -> userRestController.getUser(request, 1, null))
             .isInstanceOf(AccessDeniedException.class)
             .hasMessageContaining("You must be logged in to access the account");
 
-        verify(userService).getCurrentUser(request);
+        verify(userService).getCurrentUserId(request);
         verify(request, never()).isUserInRole(UserRole.ADMIN.name());
-        verify(userService, never()).findById(1);
+        verify(userService, never()).findById(1, null);
     }
 
     @Test
     void whenGetAnotherUserByIdWithUserRole_thenShouldGiveAccessDeniedException() {
         HttpServletRequest request = mock(HttpServletRequest.class);
-        User currentUser = mock(User.class);
-        when(userService.getCurrentUser(request)).thenReturn(Optional.of(currentUser));
+        when(userService.getCurrentUserId(request)).thenReturn(Optional.of(2L));
         when(request.isUserInRole(UserRole.ADMIN.name())).thenReturn(false);
-        when(currentUser.getId()).thenReturn(2L);
 
-        assertThatThrownBy(() -> userRestController.getUser(request, 1))
+        assertThatThrownBy(() -> userRestController.getUser(request, 1, null))
             .isInstanceOf(AccessDeniedException.class)
             .hasMessageContaining("You don't have permission to get another user's account");
 
-        verify(userService).getCurrentUser(request);
+        verify(userService).getCurrentUserId(request);
         verify(request).isUserInRole(UserRole.ADMIN.name());
-        verify(currentUser).getId();
-        verify(userService, never()).findById(1);
+        verify(userService, never()).findById(1, null);
     }
 
     @Test
     void whenGetNotExistUserById_thenShouldGiveUserNotFoundException() {
         HttpServletRequest request = mock(HttpServletRequest.class);
-        User currentUser = mock(User.class);
-        when(userService.getCurrentUser(request)).thenReturn(Optional.of(currentUser));
+        when(userService.getCurrentUserId(request)).thenReturn(Optional.of(2L));
         when(request.isUserInRole(UserRole.ADMIN.name())).thenReturn(true);
-        when(userService.findById(1)).thenReturn(Optional.empty());
+        when(userService.findById(1, null)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> userRestController.getUser(request, 1))
+        assertThatThrownBy(() -> userRestController.getUser(request, 1, null))
             .isInstanceOf(UserNotFoundException.class)
             .hasMessageContaining("User 1 not found");
 
-        verify(userService).getCurrentUser(request);
+        verify(userService).getCurrentUserId(request);
         verify(request).isUserInRole(UserRole.ADMIN.name());
-        verify(currentUser, never()).getId();
-        verify(userService).findById(1);
+        verify(userService).findById(1, null);
     }
 
     @Test
     void testGetUserById() {
         HttpServletRequest request = mock(HttpServletRequest.class);
-        User currentUser = mock(User.class);
-        when(userService.getCurrentUser(request)).thenReturn(Optional.of(currentUser));
+        UserView currentUser = new UserView(1, "Test User 1", "test1@gmail.com", List.of(UserRole.USER.name()));
+        when(userService.getCurrentUserId(request)).thenReturn(Optional.of(1L));
         when(request.isUserInRole(UserRole.ADMIN.name())).thenReturn(false);
-        when(currentUser.getId()).thenReturn(1L);
-        when(userService.findById(1)).thenReturn(Optional.of(currentUser));
+        when(userService.findById(1, null)).thenReturn(Optional.of(currentUser));
 
-        ResponseEntity<User> result = userRestController.getUser(request, 1);
+        ResponseEntity<UserView> result = userRestController.getUser(request, 1, null);
 
-        verify(userService).getCurrentUser(request);
+        verify(userService).getCurrentUserId(request);
         verify(request).isUserInRole(UserRole.ADMIN.name());
-        verify(currentUser).getId();
-        verify(userService).findById(1);
+        verify(userService).findById(1, null);
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(result.getBody()).isEqualTo(currentUser);
     }
@@ -132,17 +153,14 @@ class UserRestControllerUnitTest {
         HttpServletRequest request = mock(HttpServletRequest.class);
         when(request.isUserInRole(UserRole.ADMIN.name())).thenReturn(false);
         User newUser = mock(User.class);
-        List<String> roles = mock(List.class);
-        when(newUser.getRoles()).thenReturn(roles);
-        when(roles.contains(UserRole.ADMIN.name())).thenReturn(true);
+        when(newUser.getUserRoles()).thenReturn(EnumSet.of(UserRole.ADMIN));
 
         assertThatThrownBy(() -> userRestController.addUser(request, newUser))
             .isInstanceOf(AccessDeniedException.class)
             .hasMessageContaining("You don't have permission to add an admin account");
 
         verify(request).isUserInRole(UserRole.ADMIN.name());
-        verify(newUser).getRoles();
-        verify(roles).contains(UserRole.ADMIN.name());
+        verify(newUser).getUserRoles();
         verify(userService, never()).addUser(newUser);
     }
 
@@ -156,23 +174,40 @@ class UserRestControllerUnitTest {
         ResponseEntity<User> result = userRestController.addUser(request, newUser);
 
         verify(request).isUserInRole(UserRole.ADMIN.name());
-        verify(newUser, never()).getRoles();
+        verify(newUser, never()).getUserRoles();
         verify(userService).addUser(newUser);
+        verify(loginThrottle, never()).acquire(anyString(), anyString());
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.CREATED);
         assertThat(result.getBody()).isEqualTo(newUser);
     }
 
+    @Test
+    void whenAddUserWithoutAdminRole_thenShouldBeThrottled() {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.isUserInRole(UserRole.ADMIN.name())).thenReturn(false);
+        when(request.getRemoteAddr()).thenReturn("127.0.0.1");
+        User newUser = mock(User.class);
+        when(newUser.getUserRoles()).thenReturn(EnumSet.of(UserRole.USER));
+        when(newUser.getEmail()).thenReturn("test@gmail.com");
+        doThrow(new TooManyRequestsException(30)).when(loginThrottle).acquire("test@gmail.com", "127.0.0.1");
+
+        assertThatThrownBy(() -> userRestController.addUser(request, newUser))
+            .isInstanceOf(TooManyRequestsException.class);
+
+        verify(userService, never()).addUser(newUser);
+    }
+
     @Test
     void whenUpdateUserWithoutLogin_thenShouldGiveAccessDeniedException() {
         HttpServletRequest request = mock(HttpServletRequest.class);
-        when(userService.getCurrentUser(request)).thenReturn(Optional.empty());
+        when(userService.getCurrentUserId(request)).thenReturn(Optional.empty());
         User user = mock(User.class);
 
         assertThatThrownBy(() -> userRestController.updateUser(request, 1, user))
             .isInstanceOf(AccessDeniedException.class)
             .hasMessageContaining("You must be logged in to modify your account");
 
-        verify(userService).getCurrentUser(request);
+        verify(userService).getCurrentUserId(request);
         verify(request, never()).isUserInRole(UserRole.ADMIN.name());
         verify(userService, never()).updateUser(1, user);
     }
@@ -180,36 +215,31 @@ class UserRestControllerUnitTest {
     @Test
     void whenUpdateAnotherUserWithUserRole_thenShouldGiveAccessDeniedException() {
         HttpServletRequest request = mock(HttpServletRequest.class);
-        User currentUser = mock(User.class);
-        when(userService.getCurrentUser(request)).thenReturn(Optional.of(currentUser));
+        when(userService.getCurrentUserId(request)).thenReturn(Optional.of(2L));
         when(request.isUserInRole(UserRole.ADMIN.name())).thenReturn(false);
-        when(currentUser.getId()).thenReturn(2L);
         User user = mock(User.class);
 
         assertThatThrownBy(() -> userRestController.updateUser(request, 1, user))
             .isInstanceOf(AccessDeniedException.class)
             .hasMessageContaining("You don't have permission to update another user's account");
 
-        verify(userService).getCurrentUser(request);
+        verify(userService).getCurrentUserId(request);
         verify(request).isUserInRole(UserRole.ADMIN.name());
-        verify(currentUser).getId();
         verify(userService, never()).updateUser(1, user);
     }
 
     @Test
     void testUpdateUser() {
         HttpServletRequest request = mock(HttpServletRequest.class);
-        User currentUser = mock(User.class);
-        when(userService.getCurrentUser(request)).thenReturn(Optional.of(currentUser));
+        when(userService.getCurrentUserId(request)).thenReturn(Optional.of(2L));
         when(request.isUserInRole(UserRole.ADMIN.name())).thenReturn(true);
         User user = mock(User.class);
         when(userService.updateUser(1, user)).thenReturn(user);
 
         ResponseEntity<User> result = userRestController.updateUser(request, 1, user);
 
-        verify(userService).getCurrentUser(request);
+        verify(userService).getCurrentUserId(request);
         verify(request).isUserInRole(UserRole.ADMIN.name());
-        verify(currentUser, never()).getId();
         verify(userService).updateUser(1, user);
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(result.getBody()).isEqualTo(user);
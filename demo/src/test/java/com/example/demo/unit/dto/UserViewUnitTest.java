@@ -0,0 +1,33 @@
+package com.example.demo.unit.dto;
+
+import com.example.demo.dto.UserView;
+import com.example.demo.model.RolesMask;
+import com.example.demo.security.config.SecurityExpressions.UserRole;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserViewUnitTest {
+
+    @Test
+    void testRolesMaskIsUnpackedIntoTheSharedNames() {
+        UserView view = new UserView(1, "Test User", "test@gmail.com", 3);
+
+        assertThat(view.roles()).isSameAs(RolesMask.names(3));
+        assertThat(view).isEqualTo(new UserView(1, "Test User", "test@gmail.com",
+            List.of(UserRole.ADMIN.name(), UserRole.USER.name())));
+    }
+
+    @Test
+    void testProjectionSelectsTheColumnsOfTheMaskConstructor() {
+        assertThat(UserView.PROJECTION.properties()).containsExactly("id", "name", "email", "rolesMask");
+        assertThat(UserView.PROJECTION.properties()).doesNotContain("password");
+    }
+
+    @Test
+    void whenRolesMaskIsNotRead_thenRolesShouldBeNull() {
+        assertThat(new UserView(1, "Test User", null, (Integer) null).roles()).isNull();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.demo.unit.exception;
+
+import com.example.demo.exception.ApiKeyNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+class ApiKeyNotFoundExceptionUnitTest {
+
+    @Test
+    void testApiKeyNotFoundExceptionWithId() {
+        assertThatThrownBy(() -> {
+            throw new ApiKeyNotFoundException(1);
+        }).isInstanceOf(ApiKeyNotFoundException.class)
+            .hasMessageContaining("API key 1 not found");
+    }
+}
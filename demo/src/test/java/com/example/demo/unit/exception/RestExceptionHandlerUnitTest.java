@@ -11,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.MethodParameter;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
@@ -128,4 +129,71 @@ class RestExceptionHandlerUnitTest {
         assertEquals("error message", response.getBody().getMessage());
         assertEquals("/test/uri", response.getBody().getUriRequested());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testHandleApiKeyNotFoundException() {
+        ApiKeyNotFoundException apiKeyNotFoundException = mock(ApiKeyNotFoundException.class);
+
+        when(apiKeyNotFoundException.getMessage()).thenReturn("error message");
+
+        ResponseEntity<ErrorInfo> response = restExceptionHandler.handleApiKeyNotFoundException(request, apiKeyNotFoundException);
+
+        verify(request).getRequestURI();
+        verify(apiKeyNotFoundException).getMessage();
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("error message", response.getBody().getMessage());
+        assertEquals("/test/uri", response.getBody().getUriRequested());
+    }
+
+    @Test
+    void testHandlePasswordEncoderBusyException() {
+        PasswordEncoderBusyException passwordEncoderBusyException = mock(PasswordEncoderBusyException.class);
+
+        when(passwordEncoderBusyException.getMessage()).thenReturn("error message");
+
+        ResponseEntity<ErrorInfo> response = restExceptionHandler.handlePasswordEncoderBusyException(request, passwordEncoderBusyException);
+
+        verify(request).getRequestURI();
+        verify(passwordEncoderBusyException).getMessage();
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("error message", response.getBody().getMessage());
+        assertEquals("/test/uri", response.getBody().getUriRequested());
+    }
+
+    @Test
+    void testHandleTooManyRequestsException() {
+        TooManyRequestsException tooManyRequestsException = new TooManyRequestsException(30);
+
+        ResponseEntity<ErrorInfo> response = restExceptionHandler.handleTooManyRequestsException(request, tooManyRequestsException);
+
+        verify(request).getRequestURI();
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("30", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("Too many attempts, try again in 30 seconds", response.getBody().getMessage());
+        assertEquals("/test/uri", response.getBody().getUriRequested());
+    }
+
+    @Test
+    void testHandleInvalidCursorException() {
+        InvalidCursorException invalidCursorException = new InvalidCursorException("Invalid cursor");
+
+        ResponseEntity<ErrorInfo> response = restExceptionHandler.handleInvalidCursorException(request, invalidCursorException);
+
+        verify(request).getRequestURI();
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Invalid cursor", response.getBody().getMessage());
+        assertEquals("/test/uri", response.getBody().getUriRequested());
+    }
+
+    @Test
+    void testHandleInvalidFieldsException() {
+        InvalidFieldsException invalidFieldsException = new InvalidFieldsException("Unknown field password");
+
+        ResponseEntity<ErrorInfo> response = restExceptionHandler.handleInvalidFieldsException(request, invalidFieldsException);
+
+        verify(request).getRequestURI();
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Unknown field password", response.getBody().getMessage());
+        assertEquals("/test/uri", response.getBody().getUriRequested());
+    }
+}
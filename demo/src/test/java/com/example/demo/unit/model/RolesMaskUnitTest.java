@@ -0,0 +1,48 @@
+package com.example.demo.unit.model;
+
+import com.example.demo.model.RolesMask;
+import com.example.demo.security.config.SecurityExpressions.UserRole;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RolesMaskUnitTest {
+
+    @Test
+    void testOfSetsTheBitOfEachRole() {
+        assertThat(RolesMask.of(EnumSet.of(UserRole.ADMIN))).isEqualTo(1);
+        assertThat(RolesMask.of(EnumSet.of(UserRole.USER))).isEqualTo(2);
+        assertThat(RolesMask.of(EnumSet.allOf(UserRole.class))).isEqualTo(3);
+        assertThat(RolesMask.of(null)).isZero();
+    }
+
+    @Test
+    void testRolesGivesTheRolesOfTheBits() {
+        assertThat(RolesMask.roles(3)).containsExactly(UserRole.ADMIN, UserRole.USER);
+        assertThat(RolesMask.roles(2)).containsExactly(UserRole.USER);
+        assertThat(RolesMask.roles(0)).isEmpty();
+    }
+
+    @Test
+    void testNamesSharesOneListPerMask() {
+        assertThat(RolesMask.names(3)).containsExactly("ADMIN", "USER").isSameAs(RolesMask.names(3));
+        assertThat(RolesMask.names(0)).isEmpty();
+    }
+
+    @Test
+    void testNamesIgnoresBitsWithoutRole() {
+        assertThat(RolesMask.names(6)).containsExactly("USER");
+        assertThat(RolesMask.names(-1)).containsExactly("ADMIN", "USER");
+        assertThat(RolesMask.names(Integer.MIN_VALUE)).isEmpty();
+    }
+
+    @Test
+    void testContainingGivesEveryMaskHoldingTheRoles() {
+        assertThat(RolesMask.containing(List.of("user"))).containsExactly(2, 3);
+        assertThat(RolesMask.containing(List.of("ADMIN", "USER"))).containsExactly(3);
+        assertThat(RolesMask.containing(List.of("ADMIN", "SUPERUSER"))).isEmpty();
+    }
+}
@@ -13,6 +13,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
@@ -99,6 +100,26 @@ class UserUnitTest {
         assertEquals(List.of(UserRole.USER.name()), user.getRoles());
     }
 
+    @Test
+    void testSetRolesKeepsTheRolesAsASet() {
+        user.setRoles(List.of(UserRole.USER.name(), UserRole.ADMIN.name()));
+        assertEquals(EnumSet.of(UserRole.ADMIN, UserRole.USER), user.getUserRoles());
+        assertEquals(List.of(UserRole.ADMIN.name(), UserRole.USER.name()), user.getRoles());
+    }
+
+    @Test
+    void testSetRolesKeepsNamesThatAreNotASetOfRolesAsGiven() {
+        user.setRoles(List.of(UserRole.USER.name(), "INVALID"));
+        assertThat(user.getUserRoles()).isNull();
+        assertEquals(List.of(UserRole.USER.name(), "INVALID"), user.getRoles());
+    }
+
+    @Test
+    void testSetUserRoles() {
+        user.setUserRoles(EnumSet.of(UserRole.USER));
+        assertEquals(List.of(UserRole.USER.name()), user.getRoles());
+    }
+
     @Test
     void testEqualsAndHashCode() {
         User duplicatedUser = new User(1,
@@ -1,5 +1,6 @@
 package com.example.demo.unit.repository.criteria;
 
+import com.example.demo.repository.criteria.MatchMode;
 import com.example.demo.repository.criteria.GeneratorTypeCriteria;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,6 +30,28 @@ class GeneratorTypeCriteriaUnitTest {
         assertEquals("Name changed", generatorTypeCriteria.getName());
     }
 
+    @Test
+    void testGetMatch() {
+        assertThat(generatorTypeCriteria.getMatch()).isNull();
+    }
+
+    @Test
+    void testSetMatch() {
+        generatorTypeCriteria.setMatch(MatchMode.PREFIX);
+        assertEquals(MatchMode.PREFIX, generatorTypeCriteria.getMatch());
+    }
+
+    @Test
+    void testEqualsAndHashCodeWithMatch() {
+        GeneratorTypeCriteria prefixCriteria = new GeneratorTypeCriteria("Test GeneratorType");
+        prefixCriteria.setMatch(MatchMode.PREFIX);
+        assertThat(generatorTypeCriteria.equals(prefixCriteria)).isFalse();
+
+        generatorTypeCriteria.setMatch(MatchMode.PREFIX);
+        assertThat(generatorTypeCriteria.equals(prefixCriteria)).isTrue();
+        assertEquals(generatorTypeCriteria.hashCode(), prefixCriteria.hashCode());
+    }
+
     @Test
     void testEqualsAndHashCode() {
         GeneratorTypeCriteria duplicatedGeneratorTypeCriteria = new GeneratorTypeCriteria("Test GeneratorType");
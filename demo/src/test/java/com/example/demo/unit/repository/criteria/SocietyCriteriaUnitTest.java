@@ -1,5 +1,6 @@
 package com.example.demo.unit.repository.criteria;
 
+import com.example.demo.repository.criteria.MatchMode;
 import com.example.demo.repository.criteria.SocietyCriteria;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -40,6 +41,28 @@ class SocietyCriteriaUnitTest {
         assertEquals("Name changed", societyCriteria.getName());
     }
 
+    @Test
+    void testGetMatch() {
+        assertThat(societyCriteria.getMatch()).isNull();
+    }
+
+    @Test
+    void testSetMatch() {
+        societyCriteria.setMatch(MatchMode.PREFIX);
+        assertEquals(MatchMode.PREFIX, societyCriteria.getMatch());
+    }
+
+    @Test
+    void testEqualsAndHashCodeWithMatch() {
+        SocietyCriteria prefixCriteria = new SocietyCriteria("XXXXXXXXXX", "Test Society");
+        prefixCriteria.setMatch(MatchMode.PREFIX);
+        assertThat(societyCriteria.equals(prefixCriteria)).isFalse();
+
+        societyCriteria.setMatch(MatchMode.PREFIX);
+        assertThat(societyCriteria.equals(prefixCriteria)).isTrue();
+        assertEquals(societyCriteria.hashCode(), prefixCriteria.hashCode());
+    }
+
     @Test
     void testEqualsAndHashCode() {
         SocietyCriteria duplicatedSocietyCriteria = new SocietyCriteria("XXXXXXXXXX", "Test Society");
@@ -1,5 +1,6 @@
 package com.example.demo.unit.repository.criteria;
 
+import com.example.demo.repository.criteria.MatchMode;
 import com.example.demo.repository.criteria.UserCriteria;
 import com.example.demo.security.config.SecurityExpressions.UserRole;
 import org.junit.jupiter.api.BeforeEach;
@@ -57,6 +58,30 @@ class UserCriteriaUnitTest {
         assertEquals(List.of(UserRole.USER.name()), userCriteria.getRoles());
     }
 
+    @Test
+    void testGetMatch() {
+        assertThat(userCriteria.getMatch()).isNull();
+    }
+
+    @Test
+    void testSetMatch() {
+        userCriteria.setMatch(MatchMode.PREFIX);
+        assertEquals(MatchMode.PREFIX, userCriteria.getMatch());
+    }
+
+    @Test
+    void testEqualsAndHashCodeWithMatch() {
+        UserCriteria prefixCriteria = new UserCriteria("Test User",
+            "test@gmail.com",
+            List.of(UserRole.ADMIN.name(), UserRole.USER.name()));
+        prefixCriteria.setMatch(MatchMode.PREFIX);
+        assertThat(userCriteria.equals(prefixCriteria)).isFalse();
+
+        userCriteria.setMatch(MatchMode.PREFIX);
+        assertThat(userCriteria.equals(prefixCriteria)).isTrue();
+        assertEquals(userCriteria.hashCode(), prefixCriteria.hashCode());
+    }
+
     @Test
     void testEqualsAndHashCode() {
         UserCriteria duplicatedUserCriteria = new UserCriteria("Test User",
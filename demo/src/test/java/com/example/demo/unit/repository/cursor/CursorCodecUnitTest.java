@@ -0,0 +1,101 @@
+package com.example.demo.unit.repository.cursor;
+
+import com.example.demo.dto.SocietyView;
+import com.example.demo.exception.InvalidCursorException;
+import com.example.demo.model.GeneratorType;
+import com.example.demo.model.Society;
+import com.example.demo.repository.cursor.Cursor;
+import com.example.demo.repository.cursor.CursorCodec;
+import com.example.demo.repository.cursor.CursorPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+class CursorCodecUnitTest {
+
+    private static final List<String> SORTABLE_PROPERTIES = List.of("name", "cifDni");
+
+    private final CursorCodec cursorCodec = new CursorCodec("cursorSecret");
+
+    @Test
+    void testEncodeAndDecode() {
+        Cursor cursor = Cursor.first("name", Sort.Direction.DESC).after("Test Society 2", 2L);
+
+        String encoded = cursorCodec.encode(cursor, Society.class);
+
+        assertThat(cursorCodec.decode(encoded, Society.class, Sort.by("cifDni"), SORTABLE_PROPERTIES))
+            .isEqualTo(cursor);
+    }
+
+    @Test
+    void whenDecodeEmptyCursor_thenShouldGiveFirstCursorOfRequestedSort() {
+        assertThat(cursorCodec.decode("", Society.class, Sort.unsorted(), SORTABLE_PROPERTIES))
+            .isEqualTo(Cursor.first("id", Sort.Direction.ASC));
+        assertThat(cursorCodec.decode(null, Society.class, Sort.by(Sort.Direction.DESC, "cifDni"), SORTABLE_PROPERTIES))
+            .isEqualTo(Cursor.first("cifDni", Sort.Direction.DESC));
+    }
+
+    @Test
+    void whenSortIsNotSortable_thenShouldGiveInvalidCursorException() {
+        assertThatThrownBy(() -> cursorCodec.decode("", Society.class, Sort.by("password"), SORTABLE_PROPERTIES))
+            .isInstanceOf(InvalidCursorException.class)
+            .hasMessage("Cursor pagination can only be sorted by one of id, name, cifDni");
+        assertThatThrownBy(() -> cursorCodec.decode("", Society.class, Sort.by("name", "id"), SORTABLE_PROPERTIES))
+            .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void whenCursorIsTamperedOrForeign_thenShouldGiveInvalidCursorException() {
+        String encoded = cursorCodec.encode(Cursor.first("name", Sort.Direction.ASC).after("Test", 1L), Society.class);
+        byte[] bytes = Base64.getUrlDecoder().decode(encoded);
+        bytes[bytes.length - 20] ^= 1;
+        String tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        String foreignKey = new CursorCodec("anotherSecret")
+            .encode(Cursor.first("name", Sort.Direction.ASC).after("Test", 1L), Society.class);
+
+        assertThatThrownBy(() -> cursorCodec.decode(tampered, Society.class, Sort.unsorted(), SORTABLE_PROPERTIES))
+            .isInstanceOf(InvalidCursorException.class)
+            .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> cursorCodec.decode(foreignKey, Society.class, Sort.unsorted(), SORTABLE_PROPERTIES))
+            .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> cursorCodec.decode("not a cursor", Society.class, Sort.unsorted(), SORTABLE_PROPERTIES))
+            .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> cursorCodec.decode(encoded, GeneratorType.class, Sort.unsorted(), List.of("name")))
+            .isInstanceOf(InvalidCursorException.class)
+            .hasMessage("Cursor was not issued for this resource");
+    }
+
+    @Test
+    void whenResultsFitInPage_thenShouldGiveLastPage() {
+        List<SocietyView> societies = List.of(new SocietyView(1, "XXXXXXXXXX", "Test Society 1"));
+
+        Cursor cursor = Cursor.first("id", Sort.Direction.ASC);
+
+        CursorPage<SocietyView> page = cursorCodec.toPage(societies, cursor, 1, Society.class);
+
+        assertThat(page.getContent()).containsExactlyElementsOf(societies);
+        assertThat(page.getNext()).isNull();
+        assertThat(page.isLast()).isTrue();
+    }
+
+    @Test
+    void whenResultsExceedPage_thenShouldGiveCursorOfLastRow() {
+        List<SocietyView> societies = List.of(
+            new SocietyView(1, "XXXXXXXXXX", "Test Society 1"),
+            new SocietyView(2, "YYYYYYYYYY", "Test Society 2"));
+        Cursor cursor = Cursor.first("cifDni", Sort.Direction.ASC);
+
+        CursorPage<SocietyView> page = cursorCodec.toPage(societies, cursor, 1, Society.class);
+
+        assertThat(page.getContent()).containsExactly(societies.get(0));
+        assertThat(page.getNumberOfElements()).isEqualTo(1);
+        assertThat(page.isLast()).isFalse();
+        assertThat(cursorCodec.decode(page.getNext(), Society.class, Sort.unsorted(), SORTABLE_PROPERTIES))
+            .isEqualTo(cursor.after("XXXXXXXXXX", 1L));
+    }
+}
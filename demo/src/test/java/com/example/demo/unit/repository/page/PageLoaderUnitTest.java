@@ -0,0 +1,197 @@
+package com.example.demo.unit.repository.page;
+
+import com.example.demo.dto.SocietyView;
+import com.example.demo.model.Society;
+import com.example.demo.repository.SocietyRepository;
+import com.example.demo.repository.criteria.SocietyCriteria;
+import com.example.demo.repository.page.CountStrategy;
+import com.example.demo.repository.page.CountedPage;
+import com.example.demo.repository.page.PageLoader;
+import com.example.demo.repository.page.ParallelCounter;
+import com.example.demo.repository.page.UncountedSlice;
+import com.example.demo.repository.projection.Projection;
+import com.example.demo.repository.specification.SocietySpecification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PageLoaderUnitTest {
+
+    private PageLoader pageLoader;
+
+    @Mock
+    private SocietyRepository societyRepository;
+    @Mock
+    private ParallelCounter parallelCounter;
+
+    private final Specification<Society> specification = new SocietySpecification(new SocietyCriteria(null, "Society"));
+    private final Projection<Society, SocietyView> projection = SocietyView.PROJECTION;
+    private final List<SocietyView> societies = List.of(
+        new SocietyView(1, "XXXXXXXXXX", "Test Society 1"),
+        new SocietyView(2, "YYYYYYYYYY", "Test Society 2"));
+
+    @BeforeEach
+    public void setUp() {
+        pageLoader = new PageLoader(CountStrategy.EXACT, 100, Duration.ofMinutes(1), parallelCounter,
+            new SimpleMeterRegistry());
+    }
+
+    @Test
+    void whenCountStrategyIsNone_thenShouldNotCount() {
+        Pageable pageable = PageRequest.of(0, 2);
+        when(societyRepository.findSlice(specification, projection, pageable))
+            .thenReturn(new SliceImpl<>(societies, pageable, true));
+
+        Slice<SocietyView> result = pageLoader.findAll(societyRepository, specification, projection, pageable,
+            CountStrategy.NONE);
+
+        verify(societyRepository, never()).count(any(Specification.class));
+        assertThat(result).isInstanceOf(UncountedSlice.class);
+        assertThat(((UncountedSlice<SocietyView>) result).getCountStrategy()).isEqualTo(CountStrategy.NONE);
+        assertThat(result.getContent()).containsExactlyElementsOf(societies);
+        assertThat(result.hasNext()).isTrue();
+    }
+
+    @Test
+    void whenCountStrategyIsEstimated_thenShouldReuseCount() {
+        Pageable pageable = PageRequest.of(0, 2);
+        when(societyRepository.findSlice(specification, projection, pageable))
+            .thenReturn(new SliceImpl<>(societies, pageable, true));
+        when(societyRepository.count(specification)).thenReturn(10L);
+
+        pageLoader.findAll(societyRepository, specification, projection, pageable, CountStrategy.ESTIMATED);
+        Slice<SocietyView> result = pageLoader.findAll(societyRepository, specification, projection, pageable,
+            CountStrategy.ESTIMATED);
+
+        verify(societyRepository, times(1)).count(specification);
+        assertThat(result).isInstanceOf(CountedPage.class);
+        CountedPage<SocietyView> page = (CountedPage<SocietyView>) result;
+        assertThat(page.getCountStrategy()).isEqualTo(CountStrategy.ESTIMATED);
+        assertThat(page.getTotalElements()).isEqualTo(10);
+        assertThat(page.hasNext()).isTrue();
+    }
+
+    @Test
+    void whenEstimatedPageIsLast_thenShouldGiveExactTotalWithoutCounting() {
+        Pageable pageable = PageRequest.of(1, 2);
+        when(societyRepository.findSlice(specification, projection, pageable))
+            .thenReturn(new SliceImpl<>(societies.subList(0, 1), pageable, false));
+
+        Slice<SocietyView> result = pageLoader.findAll(societyRepository, specification, projection, pageable,
+            CountStrategy.ESTIMATED);
+
+        verify(societyRepository, never()).count(any(Specification.class));
+        CountedPage<SocietyView> page = (CountedPage<SocietyView>) result;
+        assertThat(page.getCountStrategy()).isEqualTo(CountStrategy.EXACT);
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    void whenCountStrategyIsNotGiven_thenShouldUseDefault() {
+        Pageable pageable = PageRequest.of(0, 2);
+        when(societyRepository.findAll(specification, projection, pageable))
+            .thenReturn(new PageImpl<>(societies, pageable, 5));
+
+        Slice<SocietyView> result = pageLoader.findAll(societyRepository, specification, projection, pageable, null);
+
+        CountedPage<SocietyView> page = (CountedPage<SocietyView>) result;
+        assertThat(page.getCountStrategy()).isEqualTo(CountStrategy.EXACT);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.hasNext()).isTrue();
+    }
+
+    @Test
+    void whenCountStartsInParallel_thenShouldReadSliceAndAwaitCount() {
+        Pageable pageable = PageRequest.of(0, 2);
+        Future<Long> count = CompletableFuture.completedFuture(5L);
+        when(parallelCounter.start(any())).thenReturn(count);
+        when(parallelCounter.await(count)).thenReturn(OptionalLong.of(5L));
+        when(societyRepository.findSlice(specification, projection, pageable))
+            .thenReturn(new SliceImpl<>(societies, pageable, true));
+
+        Slice<SocietyView> result = pageLoader.findAll(societyRepository, specification, projection, pageable,
+            CountStrategy.EXACT);
+
+        verify(societyRepository, never()).findAll(specification, pageable);
+        CountedPage<SocietyView> page = (CountedPage<SocietyView>) result;
+        assertThat(page.getCountStrategy()).isEqualTo(CountStrategy.EXACT);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.hasNext()).isTrue();
+    }
+
+    @Test
+    void whenParallelPageIsLast_thenShouldCancelCount() {
+        Pageable pageable = PageRequest.of(0, 2);
+        CompletableFuture<Long> count = new CompletableFuture<>();
+        when(parallelCounter.start(any())).thenReturn(count);
+        when(societyRepository.findSlice(specification, projection, pageable))
+            .thenReturn(new SliceImpl<>(societies, pageable, false));
+
+        Slice<SocietyView> result = pageLoader.findAll(societyRepository, specification, projection, pageable,
+            CountStrategy.EXACT);
+
+        verify(parallelCounter, never()).await(any());
+        assertThat(count.isCancelled()).isTrue();
+        assertThat(((CountedPage<SocietyView>) result).getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void whenParallelCountTimesOut_thenShouldGiveEstimateOfSameFilters() {
+        Pageable pageable = PageRequest.of(0, 2);
+        Future<Long> count = new CompletableFuture<>();
+        when(parallelCounter.start(any())).thenReturn(count);
+        when(parallelCounter.await(count)).thenReturn(OptionalLong.empty());
+        when(societyRepository.findSlice(specification, projection, pageable))
+            .thenReturn(new SliceImpl<>(societies, pageable, true));
+        when(societyRepository.count(specification)).thenReturn(10L);
+        pageLoader.findAll(societyRepository, specification, projection, pageable, CountStrategy.ESTIMATED);
+
+        Slice<SocietyView> result = pageLoader.findAll(societyRepository, specification, projection, pageable,
+            CountStrategy.EXACT);
+
+        verify(societyRepository, times(1)).count(specification);
+        CountedPage<SocietyView> page = (CountedPage<SocietyView>) result;
+        assertThat(page.getCountStrategy()).isEqualTo(CountStrategy.ESTIMATED);
+        assertThat(page.getTotalElements()).isEqualTo(10);
+        assertThat(page.hasNext()).isTrue();
+    }
+
+    @Test
+    void whenParallelCountTimesOutWithoutEstimate_thenShouldGiveNoTotal() {
+        Pageable pageable = PageRequest.of(0, 2);
+        Future<Long> count = new CompletableFuture<>();
+        when(parallelCounter.start(any())).thenReturn(count);
+        when(parallelCounter.await(count)).thenReturn(OptionalLong.empty());
+        when(societyRepository.findSlice(specification, projection, pageable))
+            .thenReturn(new SliceImpl<>(societies, pageable, true));
+
+        Slice<SocietyView> result = pageLoader.findAll(societyRepository, specification, projection, pageable,
+            CountStrategy.EXACT);
+
+        verify(societyRepository, never()).count(any(Specification.class));
+        assertThat(result).isInstanceOf(UncountedSlice.class);
+        assertThat(result.getContent()).containsExactlyElementsOf(societies);
+        assertThat(result.hasNext()).isTrue();
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.demo.unit.repository.page;
+
+import com.example.demo.repository.page.ParallelCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelCounterUnitTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ParallelCounter parallelCounter = new ParallelCounter(true, 1, Duration.ofMillis(200), meterRegistry);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        parallelCounter.shutdown();
+    }
+
+    @Test
+    void testStartAndAwait() {
+        Future<Long> count = parallelCounter.start(() -> 5L);
+
+        assertThat(count).isNotNull();
+        assertThat(parallelCounter.await(count)).hasValue(5L);
+        assertThat(countQueries("parallel")).isEqualTo(1);
+    }
+
+    @Test
+    void whenEveryPermitIsTaken_thenShouldLeaveCountToCaller() {
+        Future<Long> blocked = parallelCounter.start(this::blockedCount);
+
+        Future<Long> count = parallelCounter.start(() -> 5L);
+
+        assertThat(blocked).isNotNull();
+        assertThat(count).isNull();
+        assertThat(countQueries("inline")).isEqualTo(1);
+    }
+
+    @Test
+    void whenCountTakesLongerThanTimeout_thenShouldGiveNoTotalWithoutCountingAgain() {
+        AtomicInteger runs = new AtomicInteger();
+        Future<Long> blocked = parallelCounter.start(() -> {
+            runs.incrementAndGet();
+            return uninterruptibleCount();
+        });
+
+        OptionalLong total = parallelCounter.await(blocked);
+
+        assertThat(total).isEmpty();
+        assertThat(runs).hasValue(1);
+        assertThat(blocked.isCancelled()).isTrue();
+        assertThat(countQueries("fallback")).isEqualTo(1);
+        // The cancelled count keeps its permit while the thread is still running it
+        assertThat(parallelCounter.start(() -> 5L)).isNull();
+    }
+
+    @Test
+    void whenDisabled_thenShouldNotStartCounts() {
+        ParallelCounter disabledCounter = new ParallelCounter(false, 1, Duration.ofMillis(200), meterRegistry);
+
+        assertThat(disabledCounter.start(() -> 5L)).isNull();
+        disabledCounter.shutdown();
+    }
+
+    private long blockedCount() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return 1L;
+    }
+
+    // Like a statement the database is still running, which an interrupt does not stop
+    private long uninterruptibleCount() {
+        boolean interrupted = false;
+        while (release.getCount() > 0) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return 1L;
+    }
+
+    private double countQueries(String mode) {
+        return meterRegistry.get("pagination.count.queries").tag("mode", mode).counter().count();
+    }
+}
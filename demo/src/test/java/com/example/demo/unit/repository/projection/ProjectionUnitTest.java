@@ -0,0 +1,57 @@
+package com.example.demo.unit.repository.projection;
+
+import com.example.demo.dto.SocietyView;
+import com.example.demo.dto.UserView;
+import com.example.demo.model.User;
+import com.example.demo.repository.projection.Projection;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProjectionUnitTest {
+
+    @Test
+    void testFieldsAreTheComponentsOfTheView() {
+        assertThat(UserView.PROJECTION.fields()).containsExactly("id", "name", "email", "roles");
+        assertThat(SocietyView.PROJECTION.fields()).containsExactly("id", "cifDni", "name");
+        assertThat(UserView.PROJECTION.only(List.of("name")).fields()).isSameAs(UserView.PROJECTION.fields());
+    }
+
+    @Test
+    void whenNoFieldsAreGiven_thenShouldReadEveryProperty() {
+        assertThat(UserView.PROJECTION.only(null)).isSameAs(UserView.PROJECTION);
+        assertThat(UserView.PROJECTION.only(List.of())).isSameAs(UserView.PROJECTION);
+        assertThat(UserView.PROJECTION.selected()).containsExactlyInAnyOrder("id", "name", "email", "rolesMask");
+    }
+
+    @Test
+    void whenFieldsAreGiven_thenShouldReadTheirPropertiesAndTheId() {
+        Projection<User, UserView> projection = UserView.PROJECTION.only(List.of("name", "roles"));
+
+        assertThat(projection.selected()).containsExactlyInAnyOrder("id", "name", "rolesMask");
+        assertThat(projection.properties()).isEqualTo(UserView.PROJECTION.properties());
+        assertThat(projection.isSelected("email")).isFalse();
+    }
+
+    @Test
+    void whenFieldIsUnknown_thenShouldGiveIllegalArgumentException() {
+        assertThatThrownBy(() -> UserView.PROJECTION.only(List.of("name", "password")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Unknown field password of UserView");
+        // Fields are named after the view, not after the properties they are read from
+        assertThatThrownBy(() -> UserView.PROJECTION.only(List.of("rolesMask")))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testWithAddsOnlyPropertiesOfTheProjection() {
+        Projection<User, UserView> projection = UserView.PROJECTION.only(List.of("name"));
+
+        assertThat(projection.with("email").selected()).containsExactlyInAnyOrder("id", "name", "email");
+        assertThat(projection.with("name")).isSameAs(projection);
+        assertThat(projection.with("password")).isSameAs(projection);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.unit.repository.search;
+
+import com.example.demo.repository.search.BestMatch;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BestMatchUnitTest {
+
+    @Test
+    void testByOrdersByTheLengthOfAFilteredPropertyThenByItsValue() {
+        assertThat(BestMatch.by("name", "test")).isEqualTo(Sort.by(Sort.Direction.ASC, "nameLength", "name"));
+        assertThat(BestMatch.by("name", null).isUnsorted()).isTrue();
+    }
+
+    @Test
+    void testAfterOrdersAnUnsortedRequestByBestMatch() {
+        assertThat(BestMatch.after(Sort.unsorted(), Sort.by("nameLength"))).isEqualTo(Sort.by("nameLength", "id"));
+    }
+
+    @Test
+    void testAfterKeepsTheRequestedSortFirst() {
+        Sort requested = Sort.by(Sort.Direction.DESC, "email");
+
+        assertThat(BestMatch.after(requested, Sort.by("nameLength")))
+            .isEqualTo(Sort.by(Sort.Direction.DESC, "email").and(Sort.by("nameLength", "id")));
+    }
+
+    @Test
+    void testAfterDoesNotRepeatARequestedIdOrder() {
+        Sort requested = Sort.by(Sort.Direction.DESC, "id");
+
+        assertThat(BestMatch.after(requested, Sort.by("nameLength")))
+            .isEqualTo(Sort.by(Sort.Direction.DESC, "id").and(Sort.by("nameLength")));
+    }
+
+    @Test
+    void testAfterLeavesTheRequestedSortAloneWithoutBestMatch() {
+        Sort requested = Sort.by("email");
+
+        assertThat(BestMatch.after(requested, Sort.unsorted())).isSameAs(requested);
+    }
+}
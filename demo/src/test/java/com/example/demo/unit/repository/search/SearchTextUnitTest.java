@@ -0,0 +1,62 @@
+package com.example.demo.unit.repository.search;
+
+import com.example.demo.repository.criteria.MatchMode;
+import com.example.demo.repository.search.SearchText;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SearchTextUnitTest {
+
+    @Mock
+    private CriteriaBuilder criteriaBuilder;
+    @Mock
+    private Expression<String> column;
+
+    @Test
+    void testNormalizeLowercasesAndRemovesAccents() {
+        assertThat(SearchText.normalize("Compañía ÁVILA")).isEqualTo("compania avila");
+        assertThat(SearchText.normalize("Straße")).isEqualTo("straße");
+        assertThat(SearchText.normalize(null)).isNull();
+    }
+
+    @Test
+    void testLengthCountsCharacters() {
+        assertThat(SearchText.length("Compañía")).isEqualTo(8);
+        assertThat(SearchText.length("\uD83D\uDE00")).isEqualTo(1);
+        assertThat(SearchText.length(null)).isZero();
+    }
+
+    @Test
+    void testMatchesExactComparesTheNormalizedValue() {
+        Predicate predicate = mock(Predicate.class);
+        when(criteriaBuilder.equal(column, "compania")).thenReturn(predicate);
+
+        assertThat(SearchText.matches(criteriaBuilder, column, "Compañía", MatchMode.EXACT)).isEqualTo(predicate);
+    }
+
+    @Test
+    void testMatchesPrefixEscapesWildcards() {
+        Predicate predicate = mock(Predicate.class);
+        when(criteriaBuilder.like(column, "50!% o!_k!!%", '!')).thenReturn(predicate);
+
+        assertThat(SearchText.matches(criteriaBuilder, column, "50% O_K!", MatchMode.PREFIX)).isEqualTo(predicate);
+    }
+
+    @Test
+    void testMatchesContainsSearchesAnywhere() {
+        Predicate predicate = mock(Predicate.class);
+        when(criteriaBuilder.like(column, "%avila%", '!')).thenReturn(predicate);
+
+        assertThat(SearchText.matches(criteriaBuilder, column, "Ávila", MatchMode.CONTAINS)).isEqualTo(predicate);
+    }
+}
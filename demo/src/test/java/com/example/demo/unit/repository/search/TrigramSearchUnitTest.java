@@ -0,0 +1,64 @@
+package com.example.demo.unit.repository.search;
+
+import com.example.demo.model.Society;
+import com.example.demo.repository.search.TrigramIndex;
+import com.example.demo.repository.search.TrigramSearch;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrigramSearchUnitTest {
+
+    private TrigramSearch trigramSearch;
+
+    @Mock
+    private TrigramIndex trigramIndex;
+
+    private final Root<Society> root = mock(Root.class, RETURNS_DEEP_STUBS);
+    private final CriteriaQuery<?> query = mock(CriteriaQuery.class, RETURNS_DEEP_STUBS);
+    private final CriteriaBuilder criteriaBuilder = mock(CriteriaBuilder.class, RETURNS_DEEP_STUBS);
+
+    @BeforeEach
+    public void setUp() {
+        trigramSearch = new TrigramSearch("Society", trigramIndex);
+    }
+
+    @Test
+    void whenValueCannotBeNarrowed_thenShouldNotReadTheIndex() {
+        assertThat(trigramSearch.candidates(root, query, criteriaBuilder, "name", "So")).isEmpty();
+        assertThat(trigramSearch.candidates(root, query, criteriaBuilder, "name", "50%")).isEmpty();
+        assertThat(trigramSearch.candidates(root, query, criteriaBuilder, "name", null)).isEmpty();
+
+        verifyNoInteractions(trigramIndex);
+    }
+
+    @Test
+    void whenValuesAreNarrowed_thenShouldReadUnfoldedFieldsOnce() {
+        when(trigramIndex.unfoldedFields("Society")).thenReturn(Set.of("name"));
+
+        assertThat(trigramSearch.candidates(root, query, criteriaBuilder, "name", "Society")).isPresent();
+        assertThat(trigramSearch.candidates(root, query, criteriaBuilder, "cifDni", "A0000001")).isPresent();
+
+        verify(trigramIndex, times(1)).unfoldedFields("Society");
+    }
+
+    @Test
+    void testEqualityDoesNotReadTheIndex() {
+        assertThat(trigramSearch).isEqualTo(new TrigramSearch("Society", trigramIndex))
+            .isNotEqualTo(new TrigramSearch("User", trigramIndex))
+            .isNotEqualTo(TrigramSearch.NONE);
+
+        verifyNoInteractions(trigramIndex);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.demo.unit.repository.search;
+
+import com.example.demo.repository.search.Trigrams;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramsUnitTest {
+
+    @Test
+    void testIndexFoldsCaseAndAccents() {
+        assertThat(Trigrams.index("CaFé")).containsExactly("caf", "afe");
+        assertThat(Trigrams.index("café")).isEqualTo(Trigrams.index("CAFE"));
+    }
+
+    @Test
+    void testIndexKeepsShortValuesOut() {
+        assertThat(Trigrams.index("ab")).isEmpty();
+        assertThat(Trigrams.index(null)).isEmpty();
+    }
+
+    @Test
+    void testIndexMarksValuesThatDoNotFoldToAscii() {
+        assertThat(Trigrams.index("Straße")).containsExactly(Trigrams.ANY);
+        assertThat(Trigrams.index("Ολυμπος")).containsExactly(Trigrams.ANY);
+        assertThat(Trigrams.index("tab\tseparated")).containsExactly(Trigrams.ANY);
+    }
+
+    @Test
+    void testSearchUsesTheTrigramsOfTheFoldedValue() {
+        assertThat(Trigrams.search("Socie")).containsExactly("soc", "oci", "cie");
+        assertThat(Trigrams.search("aaaa")).containsExactly("aaa");
+    }
+
+    @Test
+    void testSearchSpreadsLongValuesOverAFewTrigrams() {
+        assertThat(Trigrams.search("abcdefghij")).containsExactly("abc", "cde", "efg", "hij");
+    }
+
+    @Test
+    void testSearchCannotNarrowWildcardsShortOrNonAsciiValues() {
+        assertThat(Trigrams.search("50%off")).isEmpty();
+        assertThat(Trigrams.search("a_b_c")).isEmpty();
+        assertThat(Trigrams.search("back\\slash")).isEmpty();
+        assertThat(Trigrams.search("ab")).isEmpty();
+        assertThat(Trigrams.search("Straße")).isEmpty();
+        assertThat(Trigrams.search(null)).isEmpty();
+    }
+}
@@ -62,11 +62,6 @@ class GeneratorTypeSpecificationUnitTest {
         Predicate predicate = mock(Predicate.class);
         when(criteriaBuilder.like(any(Expression.class), anyString())).thenReturn(predicate);
 
-        Expression<Integer> length = mock(Expression.class);
-        when(criteriaBuilder.length(any(Expression.class))).thenReturn(length);
-        Order order = mock(Order.class);
-        when(criteriaBuilder.asc(length)).thenReturn(order);
-
         Predicate conjuntionPredicate = mock(Predicate.class);
         List<Predicate> expectedPredicates = List.of(predicate);
 
@@ -75,8 +70,7 @@ class GeneratorTypeSpecificationUnitTest {
         Predicate result = generatorTypeSpecification.toPredicate(root, query, criteriaBuilder);
 
         verify(criteriaBuilder).like(any(Expression.class), anyString());
-        verify(criteriaBuilder).asc(any(Expression.class));
-        verify(query).orderBy(any(Order.class));
+        verify(query, never()).orderBy(any(Order.class));
         verify(criteriaBuilder).and(expectedPredicates.toArray(new Predicate[0]));
         assertEquals(conjuntionPredicate, result);
     }
@@ -91,11 +85,6 @@ class GeneratorTypeSpecificationUnitTest {
         Predicate nameLikePredicate = mock(Predicate.class);
         when(criteriaBuilder.like(namePath, "%" + "Test GeneratorType" + "%")).thenReturn(nameLikePredicate);
 
-        Expression<Integer> nameLength = mock(Expression.class);
-        when(criteriaBuilder.length(namePath)).thenReturn(nameLength);
-        Order nameOrder = mock(Order.class);
-        when(criteriaBuilder.asc(nameLength)).thenReturn(nameOrder);
-
         Predicate conjuntionPredicate = mock(Predicate.class);
         List<Predicate> expectedPredicates = List.of(nameLikePredicate);
 
@@ -104,8 +93,7 @@ class GeneratorTypeSpecificationUnitTest {
         Predicate result = generatorTypeSpecification.toPredicate(root, query, criteriaBuilder);
 
         verify(criteriaBuilder).like(namePath, "%" + "Test GeneratorType" + "%");
-        verify(criteriaBuilder).asc(nameLength);
-        verify(query).orderBy(nameOrder);
+        verify(query, never()).orderBy(any(Order.class));
         verify(criteriaBuilder).and(expectedPredicates.toArray(new Predicate[0]));
         assertEquals(conjuntionPredicate, result);
     }
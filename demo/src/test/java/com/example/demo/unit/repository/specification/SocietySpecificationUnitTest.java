@@ -1,6 +1,7 @@
 package com.example.demo.unit.repository.specification;
 
 import com.example.demo.model.Society;
+import com.example.demo.repository.criteria.MatchMode;
 import com.example.demo.repository.criteria.SocietyCriteria;
 import com.example.demo.repository.specification.SocietySpecification;
 import jakarta.persistence.criteria.*;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -64,11 +66,6 @@ class SocietySpecificationUnitTest {
         Predicate predicate = mock(Predicate.class);
         when(criteriaBuilder.like(any(Expression.class), anyString())).thenReturn(predicate);
 
-        Expression<Integer> length = mock(Expression.class);
-        when(criteriaBuilder.length(any(Expression.class))).thenReturn(length);
-        Order order = mock(Order.class);
-        when(criteriaBuilder.asc(length)).thenReturn(order);
-
         Predicate conjuntionPredicate = mock(Predicate.class);
         List<Predicate> expectedPredicates = Collections.nCopies(2, predicate);
 
@@ -77,8 +74,7 @@ class SocietySpecificationUnitTest {
         Predicate result = societySpecification.toPredicate(root, query, criteriaBuilder);
 
         verify(criteriaBuilder, times(2)).like(any(Expression.class), anyString());
-        verify(criteriaBuilder, times(2)).asc(any(Expression.class));
-        verify(query, times(2)).orderBy(any(Order.class));
+        verify(query, never()).orderBy(any(Order.class));
         verify(criteriaBuilder).and(expectedPredicates.toArray(new Predicate[0]));
         assertEquals(conjuntionPredicate, result);
     }
@@ -93,11 +89,6 @@ class SocietySpecificationUnitTest {
         Predicate cifDniLikePredicate = mock(Predicate.class);
         when(criteriaBuilder.like(cifDniPath, "%" + "XXXXXXXXXX" + "%")).thenReturn(cifDniLikePredicate);
 
-        Expression<Integer> cifDniLength = mock(Expression.class);
-        when(criteriaBuilder.length(cifDniPath)).thenReturn(cifDniLength);
-        Order cifDniOrder = mock(Order.class);
-        when(criteriaBuilder.asc(cifDniLength)).thenReturn(cifDniOrder);
-
         Predicate conjuntionPredicate = mock(Predicate.class);
         List<Predicate> expectedPredicates = List.of(cifDniLikePredicate);
 
@@ -106,12 +97,45 @@ class SocietySpecificationUnitTest {
         Predicate result = societySpecification.toPredicate(root, query, criteriaBuilder);
 
         verify(criteriaBuilder).like(cifDniPath, "%" + "XXXXXXXXXX" + "%");
-        verify(criteriaBuilder).asc(cifDniLength);
-        verify(query).orderBy(cifDniOrder);
+        verify(query, never()).orderBy(any(Order.class));
         verify(criteriaBuilder).and(expectedPredicates.toArray(new Predicate[0]));
         assertEquals(conjuntionPredicate, result);
     }
 
+    @Test
+    void testToPredicateWithMatchModeReadsTheNormalizedColumn() {
+        when(filters.getName()).thenReturn("Compañía");
+        when(filters.getMatch()).thenReturn(MatchMode.PREFIX);
+
+        Path normalizedNamePath = mock(Path.class);
+        when(root.get("nameNormalized")).thenReturn(normalizedNamePath);
+
+        Predicate prefixPredicate = mock(Predicate.class);
+        when(criteriaBuilder.like(normalizedNamePath, "compania%", '!')).thenReturn(prefixPredicate);
+
+        Predicate conjuntionPredicate = mock(Predicate.class);
+        when(criteriaBuilder.and(new Predicate[]{prefixPredicate})).thenReturn(conjuntionPredicate);
+
+        Predicate result = societySpecification.toPredicate(root, query, criteriaBuilder);
+
+        verify(criteriaBuilder, never()).like(any(Expression.class), anyString());
+        verify(criteriaBuilder).like(normalizedNamePath, "compania%", '!');
+        assertEquals(conjuntionPredicate, result);
+    }
+
+    @Test
+    void testBestMatchWithoutFilters() {
+        assertThat(societySpecification.bestMatch().isUnsorted()).isTrue();
+    }
+
+    @Test
+    void testBestMatchOrdersByTheLengthsOfTheFilteredColumns() {
+        when(filters.getCifDni()).thenReturn("XXXXXXXXXX");
+        when(filters.getName()).thenReturn("test");
+
+        assertEquals(Sort.by("cifDniLength", "cifDni", "nameLength", "name"), societySpecification.bestMatch());
+    }
+
     @Test
     void testEqualsAndHashCode() {
         SocietySpecification duplicatedSocietySpecification = new SocietySpecification(filters);
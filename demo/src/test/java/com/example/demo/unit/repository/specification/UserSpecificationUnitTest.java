@@ -10,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -51,7 +52,7 @@ class UserSpecificationUnitTest {
         verify(criteriaBuilder, never()).like(any(Expression.class), anyString());
         verify(criteriaBuilder, never()).asc(any(Expression.class));
         verify(query, never()).orderBy(any(Order.class));
-        verify(criteriaBuilder, never()).isMember(anyString(), any(Expression.class));
+        verify(root, never()).get("rolesMask");
         verify(criteriaBuilder, times(1)).and(expectedPredicates.toArray(new Predicate[0]));
         assertEquals(conjuntionPredicate, result);
     }
@@ -63,19 +64,12 @@ class UserSpecificationUnitTest {
         when(filters.getRoles()).thenReturn(List.of(UserRole.ADMIN.name(), UserRole.USER.name()));
 
         when(root.get(anyString())).thenReturn(mock(Path.class));
+        Path rolesMaskPath = mock(Path.class);
+        when(root.get("rolesMask")).thenReturn(rolesMaskPath);
 
         Predicate predicate = mock(Predicate.class);
         when(criteriaBuilder.like(any(Expression.class), anyString())).thenReturn(predicate);
-
-        Predicate rolesPredicate = mock(Predicate.class);
-        when(criteriaBuilder.isMember(anyString(), any(Expression.class))).thenReturn(rolesPredicate);
-        List<Predicate> rolesPredicates = Collections.nCopies(2, rolesPredicate);
-        when(criteriaBuilder.and(rolesPredicates.toArray(new Predicate[0]))).thenReturn(predicate);
-
-        Expression<Integer> length = mock(Expression.class);
-        when(criteriaBuilder.length(any(Expression.class))).thenReturn(length);
-        Order order = mock(Order.class);
-        when(criteriaBuilder.asc(length)).thenReturn(order);
+        when(rolesMaskPath.in(List.of(3))).thenReturn(predicate);
 
         Predicate conjuntionPredicate = mock(Predicate.class);
         List<Predicate> expectedPredicates = Collections.nCopies(3, predicate);
@@ -84,10 +78,8 @@ class UserSpecificationUnitTest {
         Predicate result = userSpecification.toPredicate(root, query, criteriaBuilder);
 
         verify(criteriaBuilder, times(2)).like(any(Expression.class), anyString());
-        verify(criteriaBuilder, times(2)).asc(any(Expression.class));
-        verify(query, times(2)).orderBy(any(Order.class));
-        verify(criteriaBuilder, times(2)).isMember(anyString(), any(Expression.class));
-        verify(criteriaBuilder).and(rolesPredicates.toArray(new Predicate[0]));
+        verify(query, never()).orderBy(any(Order.class));
+        verify(rolesMaskPath).in(List.of(3));
         verify(criteriaBuilder).and(expectedPredicates.toArray(new Predicate[0]));
         assertEquals(conjuntionPredicate, result);
     }
@@ -102,11 +94,6 @@ class UserSpecificationUnitTest {
         Predicate nameLikePredicate = mock(Predicate.class);
         when(criteriaBuilder.like(namePath, "%" + "Test User" + "%")).thenReturn(nameLikePredicate);
 
-        Expression<Integer> nameLength = mock(Expression.class);
-        when(criteriaBuilder.length(namePath)).thenReturn(nameLength);
-        Order nameOrder = mock(Order.class);
-        when(criteriaBuilder.asc(nameLength)).thenReturn(nameOrder);
-
         Predicate conjuntionPredicate = mock(Predicate.class);
         List<Predicate> expectedPredicates = List.of(nameLikePredicate);
 
@@ -114,45 +101,66 @@ class UserSpecificationUnitTest {
 
         Predicate result = userSpecification.toPredicate(root, query, criteriaBuilder);
 
-        verify(criteriaBuilder, never()).isMember(anyString(), any(Expression.class));
+        verify(root, never()).get("rolesMask");
         verify(criteriaBuilder, never()).and(new ArrayList<>().toArray(new Predicate[0]));
         verify(criteriaBuilder).like(namePath, "%" + "Test User" + "%");
-        verify(criteriaBuilder).asc(nameLength);
-        verify(query).orderBy(nameOrder);
+        verify(query, never()).orderBy(any(Order.class));
         verify(criteriaBuilder).and(expectedPredicates.toArray(new Predicate[0]));
         assertEquals(conjuntionPredicate, result);
     }
 
     @Test
     void testToPredicateWithRolesPredicate() {
-        when(filters.getRoles()).thenReturn(List.of(UserRole.ADMIN.name(), UserRole.USER.name()));
+        when(filters.getRoles()).thenReturn(List.of(UserRole.USER.name()));
 
-        Path rolesPath = mock(Path.class);
-        when(root.get("roles")).thenReturn(rolesPath);
+        Path rolesMaskPath = mock(Path.class);
+        when(root.get("rolesMask")).thenReturn(rolesMaskPath);
 
-        Predicate rolesIsMemberPredicate = mock(Predicate.class);
-        when(criteriaBuilder.isMember(UserRole.ADMIN.name(), rolesPath)).thenReturn(rolesIsMemberPredicate);
-        when(criteriaBuilder.isMember(UserRole.USER.name(), rolesPath)).thenReturn(rolesIsMemberPredicate);
-        List<Predicate> rolePredicates = Collections.nCopies(2, rolesIsMemberPredicate);
-        Predicate rolesConjuntionPredicate = mock(Predicate.class);
-        when(criteriaBuilder.and(rolePredicates.toArray(new Predicate[0]))).thenReturn(rolesConjuntionPredicate);
+        Predicate rolesMaskInPredicate = mock(Predicate.class);
+        when(rolesMaskPath.in(List.of(2, 3))).thenReturn(rolesMaskInPredicate);
 
         Predicate conjuntionPredicate = mock(Predicate.class);
-        List<Predicate> expectedPredicates = List.of(rolesConjuntionPredicate);
+        List<Predicate> expectedPredicates = List.of(rolesMaskInPredicate);
 
         when(criteriaBuilder.and(expectedPredicates.toArray(new Predicate[0]))).thenReturn(conjuntionPredicate);
 
         Predicate result = userSpecification.toPredicate(root, query, criteriaBuilder);
 
         verify(criteriaBuilder, never()).like(any(Expression.class), anyString());
-        verify(criteriaBuilder, never()).asc(any(Expression.class));
         verify(query, never()).orderBy(any(Order.class));
-        verify(criteriaBuilder, times(2)).isMember(anyString(), any(Expression.class));
-        verify(criteriaBuilder).and(rolePredicates.toArray(new Predicate[0]));
+        verify(rolesMaskPath).in(List.of(2, 3));
         verify(criteriaBuilder).and(expectedPredicates.toArray(new Predicate[0]));
         assertEquals(conjuntionPredicate, result);
     }
 
+    @Test
+    void testToPredicateWithUnknownRoleMatchesNothing() {
+        when(filters.getRoles()).thenReturn(List.of("SUPERUSER"));
+
+        Predicate falsePredicate = mock(Predicate.class);
+        when(criteriaBuilder.disjunction()).thenReturn(falsePredicate);
+        Predicate conjuntionPredicate = mock(Predicate.class);
+        when(criteriaBuilder.and(new Predicate[]{falsePredicate})).thenReturn(conjuntionPredicate);
+
+        Predicate result = userSpecification.toPredicate(root, query, criteriaBuilder);
+
+        verify(root, never()).get("rolesMask");
+        assertEquals(conjuntionPredicate, result);
+    }
+
+    @Test
+    void testBestMatchWithoutFilters() {
+        assertThat(userSpecification.bestMatch().isUnsorted()).isTrue();
+    }
+
+    @Test
+    void testBestMatchOrdersByTheLengthsOfTheFilteredColumns() {
+        when(filters.getName()).thenReturn("Test User");
+        when(filters.getEmail()).thenReturn("test");
+
+        assertEquals(Sort.by("nameLength", "name", "emailLength", "email"), userSpecification.bestMatch());
+    }
+
     @Test
     void testEqualsAndHashCode() {
         UserSpecification duplicatedSocietySpecification = new UserSpecification(filters);
@@ -0,0 +1,67 @@
+package com.example.demo.unit.security;
+
+import com.example.demo.model.ApiKey;
+import com.example.demo.security.ApiKeyRestController;
+import com.example.demo.security.apikey.ApiKeyService;
+import com.example.demo.security.apikey.dto.ApiKeyRequest;
+import com.example.demo.security.apikey.dto.ApiKeyResponse;
+import com.example.demo.security.config.SecurityExpressions.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ApiKeyRestControllerUnitTest {
+
+    private ApiKeyRestController apiKeyRestController;
+
+    @Mock
+    private ApiKeyService apiKeyService;
+
+    @BeforeEach
+    public void setUp() {
+        apiKeyRestController = new ApiKeyRestController(apiKeyService);
+    }
+
+    @Test
+    void testGetApiKeys() {
+        List<ApiKeyResponse> apiKeys = List.of(
+            new ApiKeyResponse(new ApiKey(1, "Billing batch", "hash", UserRole.USER, 1000L), null));
+        when(apiKeyService.findAll()).thenReturn(apiKeys);
+
+        ResponseEntity<List<ApiKeyResponse>> result = apiKeyRestController.getApiKeys();
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody()).isEqualTo(apiKeys);
+    }
+
+    @Test
+    void testAddApiKey() {
+        ApiKeyRequest apiKeyRequest = new ApiKeyRequest("Billing batch", UserRole.USER);
+        ApiKeyResponse apiKey = new ApiKeyResponse(new ApiKey(1, "Billing batch", "hash", UserRole.USER, 1000L), "dk_key");
+        when(apiKeyService.createApiKey(apiKeyRequest)).thenReturn(apiKey);
+
+        ResponseEntity<ApiKeyResponse> result = apiKeyRestController.addApiKey(apiKeyRequest);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(result.getBody()).isEqualTo(apiKey);
+    }
+
+    @Test
+    void testDeleteApiKey() {
+        ResponseEntity<Void> result = apiKeyRestController.deleteApiKey(1);
+
+        verify(apiKeyService).deleteApiKey(1);
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+    }
+}
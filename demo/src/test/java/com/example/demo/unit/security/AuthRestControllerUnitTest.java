@@ -1,6 +1,8 @@
 package com.example.demo.unit.security;
 
+import com.example.demo.exception.TooManyRequestsException;
 import com.example.demo.security.AuthRestController;
+import com.example.demo.security.LoginThrottle;
 import com.example.demo.security.jwt.AuthService;
 import com.example.demo.security.jwt.dto.AuthResponse;
 import com.example.demo.security.jwt.dto.LoginRequest;
@@ -16,6 +18,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,15 +28,20 @@ class AuthRestControllerUnitTest {
 
     @Mock
     private AuthService authService;
+    @Mock
+    private LoginThrottle loginThrottle;
 
     @BeforeEach
     public void setUp() {
-        authRestController = new AuthRestController(authService);
+        authRestController = new AuthRestController(authService, loginThrottle);
     }
 
     @Test
     void testLogin() {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getRemoteAddr()).thenReturn("127.0.0.1");
         LoginRequest loginRequest = mock(LoginRequest.class);
+        when(loginRequest.getUsername()).thenReturn("test@gmail.com");
         String accessToken = mock(Cookie.class).getValue();
         String refreshToken = mock(Cookie.class).getValue();
         HttpHeaders headers = new HttpHeaders();
@@ -41,14 +49,29 @@ class AuthRestControllerUnitTest {
         ResponseEntity<AuthResponse> loginResponse = ResponseEntity.ok().headers(headers).body(authResponse);
         when(authService.login(loginRequest, accessToken, refreshToken)).thenReturn(loginResponse);
 
-        ResponseEntity<AuthResponse> result = authRestController.login(accessToken, refreshToken, loginRequest);
+        ResponseEntity<AuthResponse> result = authRestController.login(request, accessToken, refreshToken, loginRequest);
 
+        verify(loginThrottle).acquire("test@gmail.com", "127.0.0.1");
         verify(authService).login(loginRequest, accessToken, refreshToken);
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(result.getHeaders()).isEqualTo(headers);
         assertThat(result.getBody()).isEqualTo(authResponse);
     }
 
+    @Test
+    void whenLoginIsThrottled_thenShouldGiveTooManyRequestsException() {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getRemoteAddr()).thenReturn("127.0.0.1");
+        LoginRequest loginRequest = mock(LoginRequest.class);
+        when(loginRequest.getUsername()).thenReturn("test@gmail.com");
+        doThrow(new TooManyRequestsException(30)).when(loginThrottle).acquire("test@gmail.com", "127.0.0.1");
+
+        assertThatThrownBy(() -> authRestController.login(request, null, null, loginRequest))
+            .isInstanceOf(TooManyRequestsException.class);
+
+        verify(authService, never()).login(any(), any(), any());
+    }
+
     @Test
     void testRefreshToken() {
         String refreshToken = mock(Cookie.class).getValue();
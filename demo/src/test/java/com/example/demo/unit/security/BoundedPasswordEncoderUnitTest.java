@@ -0,0 +1,93 @@
+package com.example.demo.unit.security;
+
+import com.example.demo.exception.PasswordEncoderBusyException;
+import com.example.demo.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BoundedPasswordEncoderUnitTest {
+
+    private BoundedPasswordEncoder boundedPasswordEncoder;
+    private SimpleMeterRegistry meterRegistry;
+
+    @Mock
+    private PasswordEncoder delegate;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        boundedPasswordEncoder = new BoundedPasswordEncoder(delegate, 1, 1, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        boundedPasswordEncoder.shutdown();
+    }
+
+    @Test
+    void testEncodeAndMatches() {
+        when(delegate.encode("example password")).thenReturn("ZXhhbXBsZSBwYXNzd29yZA==");
+        when(delegate.matches("example password", "ZXhhbXBsZSBwYXNzd29yZA==")).thenReturn(true);
+
+        assertThat(boundedPasswordEncoder.encode("example password")).isEqualTo("ZXhhbXBsZSBwYXNzd29yZA==");
+        assertThat(boundedPasswordEncoder.matches("example password", "ZXhhbXBsZSBwYXNzd29yZA==")).isTrue();
+    }
+
+    @Test
+    void whenDelegateThrows_thenShouldRethrowSameException() {
+        when(delegate.encode("example password")).thenThrow(new IllegalArgumentException("error message"));
+
+        assertThatThrownBy(() -> boundedPasswordEncoder.encode("example password"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("error message");
+    }
+
+    @Test
+    void whenExecutorIsSaturated_thenShouldGivePasswordEncoderBusyException() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.encode("example password")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "ZXhhbXBsZSBwYXNzd29yZA==";
+        });
+
+        // One task runs and one waits in the queue, so the third one has to be rejected
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> boundedPasswordEncoder.encode("example password"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> boundedPasswordEncoder.encode("example password"));
+        await(() -> meterRegistry.get("executor.queued").tag("name", "passwordEncoder").gauge().value() == 1);
+
+        assertThatThrownBy(() -> boundedPasswordEncoder.encode("example password"))
+            .isInstanceOf(PasswordEncoderBusyException.class);
+        assertThat(meterRegistry.get("security.password.encoder.rejections").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("ZXhhbXBsZSBwYXNzd29yZA==");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("ZXhhbXBsZSBwYXNzd29yZA==");
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.demo.unit.security;
+
+import com.example.demo.exception.TooManyRequestsException;
+import com.example.demo.security.LoginThrottle;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoginThrottleUnitTest {
+
+    private LoginThrottle loginThrottle;
+    private SimpleMeterRegistry meterRegistry;
+
+    @Mock
+    private Clock clock;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loginThrottle = new LoginThrottle(3, 5, Duration.ofMinutes(1), 100, meterRegistry, clock);
+        when(clock.millis()).thenReturn(600_000L);
+    }
+
+    @Test
+    void whenAccountLimitIsExceeded_thenShouldGiveTooManyRequestsException() {
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.acquire("test@gmail.com", "127.0.0.1");
+        }
+
+        assertThatThrownBy(() -> loginThrottle.acquire("TEST@gmail.com", "127.0.0.2"))
+            .isInstanceOf(TooManyRequestsException.class)
+            .hasMessageContaining("Too many attempts");
+        assertThatCode(() -> loginThrottle.acquire("other@gmail.com", "127.0.0.1"))
+            .doesNotThrowAnyException();
+        assertThat(meterRegistry.get("security.login.throttle.rejections").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void whenClientLimitIsExceeded_thenShouldGiveTooManyRequestsException() {
+        for (int i = 0; i < 5; i++) {
+            loginThrottle.acquire("test" + i + "@gmail.com", "127.0.0.1");
+        }
+
+        assertThatThrownBy(() -> loginThrottle.acquire("new@gmail.com", "127.0.0.1"))
+            .isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> loginThrottle.acquire("new@gmail.com", "127.0.0.2"))
+            .doesNotThrowAnyException();
+    }
+
+    @Test
+    void whenAccountLimitIsExceeded_thenShouldNotUseUpClientLimit() {
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.acquire("test@gmail.com", "127.0.0.1");
+        }
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> loginThrottle.acquire("test@gmail.com", "127.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+        }
+
+        // Three of the five attempts of the client were made, the rejected ones are given back
+        loginThrottle.acquire("other@gmail.com", "127.0.0.1");
+        loginThrottle.acquire("another@gmail.com", "127.0.0.1");
+        assertThatThrownBy(() -> loginThrottle.acquire("third@gmail.com", "127.0.0.1"))
+            .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void whenWindowSlides_thenShouldReleaseAttemptsGradually() {
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.acquire("test@gmail.com", "127.0.0.1");
+        }
+
+        // Halfway through the next window half of the previous attempts still count
+        when(clock.millis()).thenReturn(690_000L);
+        loginThrottle.acquire("test@gmail.com", "127.0.0.1");
+        loginThrottle.acquire("test@gmail.com", "127.0.0.1");
+        assertThatThrownBy(() -> loginThrottle.acquire("test@gmail.com", "127.0.0.1"))
+            .isInstanceOf(TooManyRequestsException.class);
+
+        when(clock.millis()).thenReturn(780_000L);
+        assertThatCode(() -> loginThrottle.acquire("test@gmail.com", "127.0.0.1"))
+            .doesNotThrowAnyException();
+    }
+
+    @Test
+    void whenConcurrentAttempts_thenShouldNotExceedLimit() throws Exception {
+        loginThrottle = new LoginThrottle(50, 1000, Duration.ofMinutes(1), 100, meterRegistry, clock);
+        AtomicInteger accepted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<?>[] futures = new Future<?>[200];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = executor.submit(() -> {
+                    try {
+                        loginThrottle.acquire("test@gmail.com", "127.0.0.1");
+                        accepted.incrementAndGet();
+                    } catch (TooManyRequestsException e) {
+                        // Expected once the limit is reached
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(accepted.get()).isEqualTo(50);
+    }
+}
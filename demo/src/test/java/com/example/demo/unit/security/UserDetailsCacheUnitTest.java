@@ -0,0 +1,83 @@
+package com.example.demo.unit.security;
+
+import com.example.demo.security.UserDetailsCache;
+import com.example.demo.security.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+class UserDetailsCacheUnitTest {
+
+    private UserDetailsCache userDetailsCache;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger loads;
+    private Function<String, UserPrincipal> loader;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userDetailsCache = new UserDetailsCache(100, Duration.ofMinutes(5), meterRegistry);
+        loads = new AtomicInteger();
+        loader = email -> {
+            loads.incrementAndGet();
+            return new UserPrincipal(1, email, "password", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        };
+    }
+
+    @Test
+    void whenGetTwice_thenShouldLoadOnce() {
+        UserPrincipal first = userDetailsCache.get("test@gmail.com", loader);
+        UserPrincipal second = userDetailsCache.get("test@gmail.com", loader);
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(second).isEqualTo(first);
+        assertThat(userDetailsCache.getStats().hitCount()).isEqualTo(1);
+        assertThat(userDetailsCache.getStats().missCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "userDetails").tag("result", "hit")
+            .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void whenCredentialsAreErased_thenShouldNotAffectCachedUser() {
+        userDetailsCache.get("test@gmail.com", loader).eraseCredentials();
+
+        UserPrincipal result = userDetailsCache.get("test@gmail.com", loader);
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(result.getPassword()).isEqualTo("password");
+    }
+
+    @Test
+    void whenEvict_thenShouldLoadAgain() {
+        userDetailsCache.get("test@gmail.com", loader);
+
+        userDetailsCache.evict("test@gmail.com");
+        userDetailsCache.get("test@gmail.com", loader);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void whenUserIsNotFound_thenShouldNotCacheIt() {
+        Function<String, UserPrincipal> notFound = email -> {
+            loads.incrementAndGet();
+            throw new UsernameNotFoundException("User not found");
+        };
+
+        assertThatThrownBy(() -> userDetailsCache.get("test@gmail.com", notFound))
+            .isInstanceOf(UsernameNotFoundException.class);
+        userDetailsCache.get("test@gmail.com", loader);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+}
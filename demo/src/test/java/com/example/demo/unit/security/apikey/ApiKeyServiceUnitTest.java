@@ -0,0 +1,140 @@
+package com.example.demo.unit.security.apikey;
+
+import com.example.demo.exception.ApiKeyNotFoundException;
+import com.example.demo.model.ApiKey;
+import com.example.demo.repository.ApiKeyRepository;
+import com.example.demo.security.apikey.ApiKeyService;
+import com.example.demo.security.apikey.dto.ApiKeyRequest;
+import com.example.demo.security.apikey.dto.ApiKeyResponse;
+import com.example.demo.security.config.SecurityExpressions.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ApiKeyServiceUnitTest {
+
+    private ApiKeyService apiKeyService;
+    private ApiKey storedApiKey;
+
+    @Mock
+    private ApiKeyRepository apiKeyRepository;
+
+    @BeforeEach
+    public void setUp() {
+        apiKeyService = new ApiKeyService(apiKeyRepository, "b7Hq2Vx9LmR4tZp8Wc3Ns6Kd1Fg5Jy0E", 100,
+            Duration.ofMinutes(5), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testCreateApiKey() {
+        when(apiKeyRepository.save(any(ApiKey.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ApiKeyResponse result = apiKeyService.createApiKey(new ApiKeyRequest("Billing batch", UserRole.USER));
+
+        ArgumentCaptor<ApiKey> captor = ArgumentCaptor.forClass(ApiKey.class);
+        verify(apiKeyRepository).save(captor.capture());
+        assertThat(result.getKey()).startsWith(ApiKeyService.KEY_PREFIX);
+        assertThat(result.getName()).isEqualTo("Billing batch");
+        assertThat(result.getRole()).isEqualTo(UserRole.USER);
+        assertThat(captor.getValue().getKeyHash()).hasSize(64).doesNotContain(result.getKey());
+        assertThat(apiKeyService.createApiKey(new ApiKeyRequest("Billing batch", UserRole.USER)).getKey())
+            .isNotEqualTo(result.getKey());
+    }
+
+    @Test
+    void testAuthenticate() {
+        String key = createKey(7, UserRole.ADMIN);
+
+        Optional<UserDetails> first = apiKeyService.authenticate(key);
+        Optional<UserDetails> second = apiKeyService.authenticate(key);
+
+        assertThat(first).isPresent();
+        assertThat(first.get().getUsername()).isEqualTo(ApiKeyService.PRINCIPAL_PREFIX + 7);
+        assertThat(first.get().getAuthorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+        assertThat(second).isEqualTo(first);
+        verify(apiKeyRepository, times(1)).findByKeyHash(anyString());
+    }
+
+    @Test
+    void whenAuthenticateWithUnknownKey_thenShouldGiveOptionalEmptyAndCacheIt() {
+        String key = ApiKeyService.KEY_PREFIX + "A".repeat(43);
+        when(apiKeyRepository.findByKeyHash(anyString())).thenReturn(Optional.empty());
+
+        assertThat(apiKeyService.authenticate(key)).isNotPresent();
+        assertThat(apiKeyService.authenticate(key)).isNotPresent();
+
+        verify(apiKeyRepository, times(1)).findByKeyHash(anyString());
+    }
+
+    @Test
+    void whenAuthenticateWithMalformedKey_thenShouldNotReadRepository() {
+        assertThat(apiKeyService.authenticate(null)).isNotPresent();
+        assertThat(apiKeyService.authenticate("")).isNotPresent();
+        assertThat(apiKeyService.authenticate("dk_short")).isNotPresent();
+        assertThat(apiKeyService.authenticate("xx_" + "A".repeat(43))).isNotPresent();
+
+        verifyNoInteractions(apiKeyRepository);
+    }
+
+    @Test
+    void testDeleteApiKey() {
+        String key = createKey(7, UserRole.USER);
+        assertThat(apiKeyService.authenticate(key)).isPresent();
+        when(apiKeyRepository.findById(7L)).thenReturn(Optional.of(storedApiKey));
+        when(apiKeyRepository.findByKeyHash(anyString())).thenReturn(Optional.empty());
+
+        apiKeyService.deleteApiKey(7);
+
+        verify(apiKeyRepository).delete(storedApiKey);
+        assertThat(apiKeyService.authenticate(key)).isNotPresent();
+    }
+
+    @Test
+    void whenDeleteNotExistApiKey_thenShouldThrowApiKeyNotFoundException() {
+        when(apiKeyRepository.findById(7L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> apiKeyService.deleteApiKey(7))
+            .isInstanceOf(ApiKeyNotFoundException.class)
+            .hasMessage("API key 7 not found");
+        verify(apiKeyRepository, never()).delete(any());
+    }
+
+    @Test
+    void testFindAll() {
+        when(apiKeyRepository.findAll()).thenReturn(List.of(new ApiKey(7, "Billing batch", "hash", UserRole.USER, 1000L)));
+
+        List<ApiKeyResponse> result = apiKeyService.findAll();
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getId()).isEqualTo(7);
+        assertThat(result.get(0).getKey()).isNull();
+    }
+
+    // Issues a key through the service and makes the repository find it by the hash it was saved with
+    private String createKey(long id, UserRole role) {
+        ArgumentCaptor<ApiKey> captor = ArgumentCaptor.forClass(ApiKey.class);
+        when(apiKeyRepository.save(captor.capture())).thenAnswer(invocation -> invocation.getArgument(0));
+        String key = apiKeyService.createApiKey(new ApiKeyRequest("Billing batch", role)).getKey();
+        storedApiKey = captor.getValue();
+        storedApiKey.setId(id);
+        when(apiKeyRepository.findByKeyHash(anyString())).thenAnswer(invocation ->
+            storedApiKey.getKeyHash().equals(invocation.getArgument(0)) ? Optional.of(storedApiKey) : Optional.empty());
+        return key;
+    }
+}
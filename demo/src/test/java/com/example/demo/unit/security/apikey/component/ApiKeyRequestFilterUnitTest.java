@@ -0,0 +1,90 @@
+package com.example.demo.unit.security.apikey.component;
+
+import com.example.demo.security.apikey.ApiKeyService;
+import com.example.demo.security.apikey.component.ApiKeyRequestFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ApiKeyRequestFilterUnitTest {
+
+    private ApiKeyRequestFilter apiKeyRequestFilter;
+    private SimpleMeterRegistry meterRegistry;
+    private MockHttpServletRequest request;
+
+    @Mock
+    private ApiKeyService apiKeyService;
+    @Mock
+    private FilterChain filterChain;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        apiKeyRequestFilter = new ApiKeyRequestFilter(apiKeyService, meterRegistry);
+        request = new MockHttpServletRequest("GET", "/api/users");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testDoFilterWithValidKey() throws Exception {
+        UserDetails client = User.withUsername("api-key:7").password("").roles("ADMIN").build();
+        request.addHeader(ApiKeyRequestFilter.API_KEY_HEADER, "key");
+        when(apiKeyService.authenticate("key")).thenReturn(Optional.of(client));
+
+        apiKeyRequestFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        verify(filterChain).doFilter(any(), any());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getName()).isEqualTo("api-key:7");
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+        assertThat(requestCount("accepted")).isEqualTo(1);
+    }
+
+    @Test
+    void whenDoFilterWithInvalidKey_thenShouldNotAuthenticate() throws Exception {
+        request.addHeader(ApiKeyRequestFilter.API_KEY_HEADER, "invalid");
+        when(apiKeyService.authenticate("invalid")).thenReturn(Optional.empty());
+
+        apiKeyRequestFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        verify(filterChain).doFilter(any(), any());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(requestCount("rejected")).isEqualTo(1);
+    }
+
+    @Test
+    void whenDoFilterWithoutKey_thenShouldSkipFilter() throws Exception {
+        apiKeyRequestFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        verify(filterChain).doFilter(any(), any());
+        verifyNoInteractions(apiKeyService);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    private double requestCount(String outcome) {
+        return meterRegistry.get("security.api-key.authentication.requests").tag("outcome", outcome).counter().count();
+    }
+}
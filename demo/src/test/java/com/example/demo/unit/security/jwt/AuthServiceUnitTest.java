@@ -3,13 +3,16 @@ package com.example.demo.unit.security.jwt;
 import com.example.demo.security.jwt.AuthService;
 import com.example.demo.security.jwt.component.JwtCookieManager;
 import com.example.demo.security.jwt.component.JwtTokenProvider;
+import com.example.demo.security.jwt.component.TokenRevocationList;
 import com.example.demo.security.jwt.dto.AuthResponse;
 import com.example.demo.security.jwt.dto.LoginRequest;
 import com.example.demo.security.jwt.dto.Token;
+import com.example.demo.security.jwt.dto.TokenClaims;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -26,6 +29,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -45,6 +49,8 @@ class AuthServiceUnitTest {
     private JwtTokenProvider jwtTokenProvider;
     @Mock
     private JwtCookieManager cookieUtil;
+    @Mock
+    private TokenRevocationList tokenRevocationList;
 
     @BeforeEach
     public void setUp() {
@@ -52,7 +58,8 @@ class AuthServiceUnitTest {
             authenticationManager,
             userDetailsService,
             jwtTokenProvider,
-            cookieUtil);
+            cookieUtil,
+            tokenRevocationList);
     }
 
     @ParameterizedTest(name = "{0}")
@@ -246,4 +253,27 @@ class AuthServiceUnitTest {
             )
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void whenLogoutWithTokenCookies_thenShouldRevokeTokens() {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        Cookie accessTokenCookie = new Cookie(JwtCookieManager.ACCESS_TOKEN_COOKIE_NAME, "encryptedAccessToken");
+        Cookie refreshTokenCookie = new Cookie(JwtCookieManager.REFRESH_TOKEN_COOKIE_NAME, "encryptedRefreshToken");
+        Cookie otherCookie = new Cookie("other", "value");
+        when(request.getCookies()).thenReturn(new Cookie[]{accessTokenCookie, refreshTokenCookie, otherCookie});
+        when(cookieUtil.readToken("encryptedAccessToken")).thenReturn("accessToken");
+        when(cookieUtil.readToken("encryptedRefreshToken")).thenReturn("refreshToken");
+        when(jwtTokenProvider.parseToken("accessToken")).thenReturn(
+            Optional.of(new TokenClaims("accessTokenId", "username", 1L, List.of(), 1000L)));
+        when(jwtTokenProvider.parseToken("refreshToken")).thenReturn(Optional.empty());
+        HttpCookie httpCookieToken = mock(HttpCookie.class);
+        when(cookieUtil.deleteTokenCookie(any(Cookie.class))).thenReturn(httpCookieToken);
+
+        authService.logout(request);
+
+        verify(tokenRevocationList).revoke("accessTokenId", 1000L);
+        verify(tokenRevocationList, times(1)).revoke(anyString(), anyLong());
+        verify(jwtTokenProvider, never()).parseToken("value");
+        verify(cookieUtil, times(3)).deleteTokenCookie(any(Cookie.class));
+    }
+}
@@ -0,0 +1,311 @@
+package com.example.demo.unit.security.jwt.component;
+
+import com.example.demo.repository.RevokedTokenRepository;
+import com.example.demo.security.UserPrincipal;
+import com.example.demo.security.jwt.component.JwtCookieManager;
+import com.example.demo.security.jwt.component.JwtRequestFilter;
+import com.example.demo.security.jwt.component.JwtTokenProvider;
+import com.example.demo.security.jwt.component.TokenRevocationList;
+import com.example.demo.security.jwt.dto.TokenClaims;
+import com.example.demo.security.jwt.util.SampledFailureLog;
+import com.example.demo.security.jwt.util.SecurityCipher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtRequestFilterUnitTest {
+
+    private JwtTokenProvider jwtTokenProvider;
+    private final JwtCookieManager jwtCookieManager = new JwtCookieManager();
+    private MockHttpServletRequest request;
+    private SimpleMeterRegistry meterRegistry;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+    @Mock
+    private FilterChain filterChain;
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private final UserPrincipal user = new UserPrincipal(1, "test@gmail.com", "password",
+        List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+    @BeforeEach
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(userDetailsService,
+            new TokenRevocationList(revokedTokenRepository, Duration.ofMinutes(10)),
+            "guybew6584gyfuv6c4t6byuy45V6EcytDY4ECYRDy54vdy", JwtTokenProvider.TokenFormat.JWT);
+        meterRegistry = new SimpleMeterRegistry();
+        request = new MockHttpServletRequest("GET", "/api/users/1");
+        String token = jwtTokenProvider.generateToken(user).getTokenValue();
+        request.setCookies(new Cookie(JwtCookieManager.ACCESS_TOKEN_COOKIE_NAME, SecurityCipher.encrypt(token)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testDoFilterInStatefulMode() throws Exception {
+        JwtRequestFilter jwtRequestFilter = createJwtRequestFilter(false, Duration.ofMinutes(10));
+        when(userDetailsService.loadUserByUsername(user.getUsername())).thenReturn(user);
+
+        jwtRequestFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        verify(filterChain).doFilter(any(), any());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        verify(userDetailsService).loadUserByUsername(user.getUsername());
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getPrincipal()).isEqualTo(user);
+    }
+
+    @Test
+    void whenAuthenticationIsNeverRequested_thenShouldNotResolveToken() throws Exception {
+        JwtRequestFilter jwtRequestFilter = createJwtRequestFilter(false, Duration.ofMinutes(10));
+
+        jwtRequestFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        verify(filterChain).doFilter(any(), any());
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+        assertThat(requestCount("unresolved")).isEqualTo(1);
+        assertThat(requestCount("resolved")).isZero();
+    }
+
+    @Test
+    void whenAuthenticationIsRequestedDuringChain_thenShouldResolveTokenOnce() throws Exception {
+        JwtRequestFilter jwtRequestFilter = createJwtRequestFilter(false, Duration.ofMinutes(10));
+        when(userDetailsService.loadUserByUsername(user.getUsername())).thenReturn(user);
+        doAnswer(invocation -> {
+            SecurityContextHolder.getContext().getAuthentication();
+            return SecurityContextHolder.getContext().getAuthentication();
+        }).when(filterChain).doFilter(any(), any());
+
+        jwtRequestFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        verify(userDetailsService, times(1)).loadUserByUsername(user.getUsername());
+        assertThat(requestCount("resolved")).isEqualTo(1);
+        assertThat(requestCount("unresolved")).isZero();
+    }
+
+    @Test
+    void whenRequestIsForPublicPath_thenShouldSkipFilter() throws Exception {
+        JwtRequestFilter jwtRequestFilter = createJwtRequestFilter(false, Duration.ofMinutes(10));
+        MockHttpServletRequest publicRequest = new MockHttpServletRequest("POST", "/api/auth/login");
+        publicRequest.setCookies(request.getCookies());
+
+        jwtRequestFilter.doFilter(publicRequest, new MockHttpServletResponse(), filterChain);
+
+        verify(filterChain).doFilter(any(), any());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+        assertThat(requestCount("skipped")).isEqualTo(1);
+    }
+
+    @Test
+    void whenDoFilterInStatelessMode_thenShouldNotLoadUser() throws Exception {
+        JwtRequestFilter jwtRequestFilter = createJwtRequestFilter(true, Duration.ofMinutes(10));
+
+        jwtRequestFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+        verify(filterChain).doFilter(any(), any());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getPrincipal()).isInstanceOf(UserPrincipal.class);
+        assertThat(((UserPrincipal) authentication.getPrincipal()).getId()).isEqualTo(1L);
+        assertThat(authentication.getName()).isEqualTo("test@gmail.com");
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void whenCookieHoldsSealedToken_thenShouldAuthenticateWithoutCookieCipher() throws Exception {
+        JwtTokenProvider sealedJwtTokenProvider = new JwtTokenProvider(userDetailsService,
+            new TokenRevocationList(revokedTokenRepository, Duration.ofMinutes(10)),
+            "guybew6584gyfuv6c4t6byuy45V6EcytDY4ECYRDy54vdy", JwtTokenProvider.TokenFormat.SEALED);
+        JwtRequestFilter jwtRequestFilter = new JwtRequestFilter(userDetailsService, sealedJwtTokenProvider,
+            jwtCookieManager, true, Duration.ofMinutes(10), Duration.ofMinutes(5), List.of(), meterRegistry);
+        String token = sealedJwtTokenProvider.generateToken(user).getTokenValue();
+        String cookie = jwtCookieManager.createAccessTokenCookie(token).toString();
+        request.setCookies(new Cookie(JwtCookieManager.ACCESS_TOKEN_COOKIE_NAME, token));
+        requestAuthenticationInChain();
+
+        jwtRequestFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        assertThat(cookie).startsWith(JwtCookieManager.ACCESS_TOKEN_COOKIE_NAME + "=" + token + ";");
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getName()).isEqualTo("test@gmail.com");
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void whenDoFilterWithoutCookies_thenShouldNotAuthenticate() throws Exception {
+        JwtRequestFilter jwtRequestFilter = createJwtRequestFilter(true, Duration.ofMinutes(10));
+
+        jwtRequestFilter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), filterChain);
+
+        verify(filterChain).doFilter(any(), any());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void whenUserOfTokenNoLongerExists_thenShouldCountFailureAndNotAuthenticate() throws Exception {
+        JwtRequestFilter jwtRequestFilter = createJwtRequestFilter(false, Duration.ofMinutes(10));
+        when(userDetailsService.loadUserByUsername(user.getUsername()))
+            .thenThrow(new UsernameNotFoundException("User not found"));
+        requestAuthenticationInChain();
+
+        jwtRequestFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(meterRegistry.get(SampledFailureLog.METRIC_NAME).tag("source", "jwt-filter")
+            .tag("exception", "UsernameNotFoundException").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void whenAccessTokenIsFarFromExpiry_thenShouldNotRenewIt() throws Exception {
+        JwtRequestFilter jwtRequestFilter = createJwtRequestFilter(true, Duration.ofMinutes(10));
+        request.setCookies(request.getCookies()[0], refreshTokenCookie(user));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        requestAuthenticationInChain();
+
+        jwtRequestFilter.doFilter(request, response, filterChain);
+
+        assertThat(response.getHeaders(HttpHeaders.SET_COOKIE)).isEmpty();
+    }
+
+    @Test
+    void whenAccessTokenIsAboutToExpire_thenShouldRenewIt() throws Exception {
+        // Tokens last 90 minutes, so a 100 minute window treats a fresh token as about to expire
+        JwtRequestFilter jwtRequestFilter = createJwtRequestFilter(true, Duration.ofMinutes(100));
+        when(userDetailsService.loadUserByUsername(user.getUsername())).thenReturn(user);
+        request.setCookies(request.getCookies()[0], refreshTokenCookie(user));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        requestAuthenticationInChain();
+
+        jwtRequestFilter.doFilter(request, response, filterChain);
+
+        assertThat(response.getHeaders(HttpHeaders.SET_COOKIE)).hasSize(1);
+        assertThat(response.getCookie(JwtCookieManager.ACCESS_TOKEN_COOKIE_NAME)).isNotNull();
+        String renewedToken = SecurityCipher.decrypt(response.getCookie(JwtCookieManager.ACCESS_TOKEN_COOKIE_NAME).getValue());
+        assertThat(jwtTokenProvider.parseToken(renewedToken)).get()
+            .extracting(TokenClaims::getSubject).isEqualTo("test@gmail.com");
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+    }
+
+    @Test
+    void whenAccessTokenIsAboutToExpireInStatelessMode_thenShouldRenewItWithTheStoredAuthorities() throws Exception {
+        JwtRequestFilter jwtRequestFilter = createJwtRequestFilter(true, Duration.ofMinutes(100));
+        UserPrincipal admin = new UserPrincipal(1, "test@gmail.com", "password",
+            List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER")));
+        request.setCookies(
+            new Cookie(JwtCookieManager.ACCESS_TOKEN_COOKIE_NAME,
+                SecurityCipher.encrypt(jwtTokenProvider.generateToken(admin).getTokenValue())),
+            refreshTokenCookie(admin));
+        when(userDetailsService.loadUserByUsername(user.getUsername())).thenReturn(user);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        requestAuthenticationInChain();
+
+        jwtRequestFilter.doFilter(request, response, filterChain);
+
+        String renewedToken = SecurityCipher.decrypt(response.getCookie(JwtCookieManager.ACCESS_TOKEN_COOKIE_NAME).getValue());
+        assertThat(jwtTokenProvider.parseToken(renewedToken)).get()
+            .extracting(TokenClaims::getAuthorities).asList()
+            .extracting("authority").containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void whenUserOfTokenAboutToExpireNoLongerExists_thenShouldNotRenewIt() throws Exception {
+        JwtRequestFilter jwtRequestFilter = createJwtRequestFilter(true, Duration.ofMinutes(100));
+        when(userDetailsService.loadUserByUsername(user.getUsername()))
+            .thenThrow(new UsernameNotFoundException("User not found"));
+        request.setCookies(request.getCookies()[0], refreshTokenCookie(user));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        requestAuthenticationInChain();
+
+        jwtRequestFilter.doFilter(request, response, filterChain);
+
+        assertThat(response.getHeaders(HttpHeaders.SET_COOKIE)).isEmpty();
+    }
+
+    @Test
+    void whenAuthenticationIsResolvedAfterResponseIsCommitted_thenShouldNotRenewIt() throws Exception {
+        JwtRequestFilter jwtRequestFilter = createJwtRequestFilter(true, Duration.ofMinutes(100));
+        request.setCookies(request.getCookies()[0], refreshTokenCookie(user));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        doAnswer(invocation -> {
+            response.setCommitted(true);
+            return SecurityContextHolder.getContext().getAuthentication();
+        }).when(filterChain).doFilter(any(), any());
+
+        jwtRequestFilter.doFilter(request, response, filterChain);
+
+        assertThat(response.getHeaders(HttpHeaders.SET_COOKIE)).isEmpty();
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+    }
+
+    @Test
+    void whenAccessTokenIsAboutToExpireWithoutValidRefreshToken_thenShouldNotRenewIt() throws Exception {
+        JwtRequestFilter jwtRequestFilter = createJwtRequestFilter(true, Duration.ofMinutes(100));
+        UserPrincipal otherUser = new UserPrincipal(2, "other@gmail.com", "password",
+            List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        Cookie accessTokenCookie = request.getCookies()[0];
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        requestAuthenticationInChain();
+
+        request.setCookies(accessTokenCookie);
+        jwtRequestFilter.doFilter(request, response, filterChain);
+        request = new MockHttpServletRequest();
+        request.setCookies(accessTokenCookie, new Cookie(JwtCookieManager.REFRESH_TOKEN_COOKIE_NAME, "invalid"));
+        jwtRequestFilter.doFilter(request, response, filterChain);
+        request = new MockHttpServletRequest();
+        request.setCookies(accessTokenCookie, refreshTokenCookie(otherUser));
+        jwtRequestFilter.doFilter(request, response, filterChain);
+
+        assertThat(response.getHeaders(HttpHeaders.SET_COOKIE)).isEmpty();
+    }
+
+    private Cookie refreshTokenCookie(UserPrincipal user) {
+        String refreshToken = jwtTokenProvider.generateRefreshToken(user).getTokenValue();
+        return new Cookie(JwtCookieManager.REFRESH_TOKEN_COOKIE_NAME, SecurityCipher.encrypt(refreshToken));
+    }
+
+    private JwtRequestFilter createJwtRequestFilter(boolean stateless, Duration renewalWindow) {
+        return new JwtRequestFilter(userDetailsService, jwtTokenProvider, jwtCookieManager, stateless,
+            renewalWindow, Duration.ofMinutes(5), List.of("/api/auth/**", "/actuator/health"), meterRegistry);
+    }
+
+    // Stands in for the authorization filter, which asks for the authentication further down the chain
+    private void requestAuthenticationInChain() throws Exception {
+        doAnswer(invocation -> SecurityContextHolder.getContext().getAuthentication())
+            .when(filterChain).doFilter(any(), any());
+    }
+
+    private double requestCount(String outcome) {
+        return meterRegistry.get("security.jwt.authentication.requests").tag("outcome", outcome).counter().count();
+    }
+}
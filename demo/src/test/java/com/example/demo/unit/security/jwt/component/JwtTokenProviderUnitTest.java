@@ -0,0 +1,157 @@
+package com.example.demo.unit.security.jwt.component;
+
+import com.example.demo.model.RevokedToken;
+import com.example.demo.repository.RevokedTokenRepository;
+import com.example.demo.security.UserPrincipal;
+import com.example.demo.security.config.SecurityExpressions.UserRole;
+import com.example.demo.security.jwt.component.JwtTokenProvider;
+import com.example.demo.security.jwt.component.JwtTokenProvider.TokenFormat;
+import com.example.demo.security.jwt.component.TokenRevocationList;
+import com.example.demo.security.jwt.dto.TokenClaims;
+import com.example.demo.security.jwt.util.SealedTokenCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class JwtTokenProviderUnitTest {
+
+    private JwtTokenProvider jwtTokenProvider;
+
+    private TokenRevocationList tokenRevocationList;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @BeforeEach
+    public void setUp() {
+        tokenRevocationList = new TokenRevocationList(revokedTokenRepository, Duration.ofMinutes(10));
+        jwtTokenProvider = new JwtTokenProvider(userDetailsService, tokenRevocationList,
+            "guybew6584gyfuv6c4t6byuy45V6EcytDY4ECYRDy54vdy", TokenFormat.JWT);
+    }
+
+    @Test
+    void testParseToken() {
+        UserDetails user = new User("test@gmail.com", "password", List.of());
+        String token = jwtTokenProvider.generateToken(user).getTokenValue();
+
+        Optional<TokenClaims> result = jwtTokenProvider.parseToken(token);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getSubject()).isEqualTo("test@gmail.com");
+        assertThat(jwtTokenProvider.validateToken(token)).isTrue();
+        assertThat(jwtTokenProvider.getUsername(token)).isEqualTo("test@gmail.com");
+    }
+
+    @Test
+    void whenParseTokenSignedWithAnotherKey_thenShouldGiveOptionalEmpty() {
+        JwtTokenProvider otherJwtTokenProvider = new JwtTokenProvider(userDetailsService, tokenRevocationList,
+            "anotherSecretKeyWithTheSameLength4ECYRDy54vdy0", TokenFormat.JWT);
+        String token = otherJwtTokenProvider.generateToken(new User("test@gmail.com", "password", List.of()))
+            .getTokenValue();
+
+        assertThat(jwtTokenProvider.parseToken(token)).isNotPresent();
+        assertThat(jwtTokenProvider.validateToken(token)).isFalse();
+    }
+
+    @Test
+    void whenParseRevokedToken_thenShouldGiveOptionalEmpty() {
+        UserDetails user = new User("test@gmail.com", "password", List.of());
+        String token = jwtTokenProvider.generateToken(user).getTokenValue();
+        String otherToken = jwtTokenProvider.generateToken(user).getTokenValue();
+        TokenClaims claims = jwtTokenProvider.parseToken(token).orElseThrow();
+
+        tokenRevocationList.revoke(claims.getTokenId(), claims.getExpiresAt());
+
+        verify(revokedTokenRepository).saveLatest(new RevokedToken(claims.getTokenId(), claims.getExpiresAt()));
+        assertThat(jwtTokenProvider.parseToken(token)).isNotPresent();
+        assertThat(jwtTokenProvider.validateToken(token)).isFalse();
+        assertThat(jwtTokenProvider.parseToken(otherToken)).isPresent();
+    }
+
+    @Test
+    void whenParseMalformedToken_thenShouldGiveOptionalEmpty() {
+        assertThat(jwtTokenProvider.parseToken("malformed.token")).isNotPresent();
+        assertThat(jwtTokenProvider.parseToken(null)).isNotPresent();
+    }
+
+    @Test
+    void whenParseTokenOfUserPrincipal_thenShouldGiveUserIdAndAuthorities() {
+        UserDetails user = new UserPrincipal(1, "test@gmail.com", "password",
+            List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER")));
+        String token = jwtTokenProvider.generateToken(user).getTokenValue();
+
+        Optional<TokenClaims> result = jwtTokenProvider.parseToken(token);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getSubject()).isEqualTo("test@gmail.com");
+        assertThat(result.get().getUserId()).isEqualTo(1L);
+        assertThat(result.get().getAuthorities())
+            .containsExactly(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER"));
+        assertThat(result.get().getAuthorities().get(0)).isSameAs(UserRole.ADMIN.getAuthority());
+    }
+
+    @Test
+    void whenTokenFormatIsSealed_thenShouldIssueAndParseSealedTokens() {
+        JwtTokenProvider sealedJwtTokenProvider = new JwtTokenProvider(userDetailsService, tokenRevocationList,
+            "guybew6584gyfuv6c4t6byuy45V6EcytDY4ECYRDy54vdy", TokenFormat.SEALED);
+        UserDetails user = new UserPrincipal(1, "test@gmail.com", "password",
+            List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER")));
+        String sealedToken = sealedJwtTokenProvider.generateToken(user).getTokenValue();
+        String jwtToken = jwtTokenProvider.generateToken(user).getTokenValue();
+
+        Optional<TokenClaims> result = sealedJwtTokenProvider.parseToken(sealedToken);
+
+        assertThat(sealedToken).startsWith(SealedTokenCodec.PREFIX).hasSizeLessThan(jwtToken.length());
+        assertThat(result).isPresent();
+        assertThat(result.get().getSubject()).isEqualTo("test@gmail.com");
+        assertThat(result.get().getUserId()).isEqualTo(1L);
+        assertThat(result.get().getAuthorities())
+            .containsExactly(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER"));
+        assertThat(sealedJwtTokenProvider.getUsername(sealedToken)).isEqualTo("test@gmail.com");
+        assertThat(sealedJwtTokenProvider.parseToken(jwtToken)).isPresent();
+        assertThat(jwtTokenProvider.parseToken(sealedToken)).isPresent();
+    }
+
+    @Test
+    void whenTokenFormatIsSealedAndAuthorityIsNotARole_thenShouldIssueJwt() {
+        JwtTokenProvider sealedJwtTokenProvider = new JwtTokenProvider(userDetailsService, tokenRevocationList,
+            "guybew6584gyfuv6c4t6byuy45V6EcytDY4ECYRDy54vdy", TokenFormat.SEALED);
+        UserDetails user = new User("test@gmail.com", "password", List.of(new SimpleGrantedAuthority("READ")));
+
+        String token = sealedJwtTokenProvider.generateRefreshToken(user).getTokenValue();
+
+        assertThat(SealedTokenCodec.isSealed(token)).isFalse();
+        assertThat(sealedJwtTokenProvider.parseToken(token)).get()
+            .extracting(TokenClaims::getAuthorities).asList().containsExactly(new SimpleGrantedAuthority("READ"));
+    }
+
+    @Test
+    void whenParseRevokedSealedToken_thenShouldGiveOptionalEmpty() {
+        JwtTokenProvider sealedJwtTokenProvider = new JwtTokenProvider(userDetailsService, tokenRevocationList,
+            "guybew6584gyfuv6c4t6byuy45V6EcytDY4ECYRDy54vdy", TokenFormat.SEALED);
+        String token = sealedJwtTokenProvider.generateToken(new User("test@gmail.com", "password", List.of()))
+            .getTokenValue();
+        TokenClaims claims = sealedJwtTokenProvider.parseToken(token).orElseThrow();
+
+        tokenRevocationList.revoke(claims.getTokenId(), claims.getExpiresAt());
+
+        assertThat(sealedJwtTokenProvider.parseToken(token)).isNotPresent();
+        assertThat(sealedJwtTokenProvider.validateToken(token)).isFalse();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.demo.unit.security.jwt.component;
+
+import com.example.demo.model.RevokedToken;
+import com.example.demo.repository.RevokedTokenRepository;
+import com.example.demo.security.jwt.component.TokenRevocationList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationListUnitTest {
+
+    private TokenRevocationList tokenRevocationList;
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+    @Mock
+    private Clock clock;
+
+    @BeforeEach
+    public void setUp() {
+        tokenRevocationList = new TokenRevocationList(revokedTokenRepository, Duration.ofMinutes(10), clock);
+        when(clock.millis()).thenReturn(1_000_000L);
+    }
+
+    @Test
+    void testRevoke() {
+        tokenRevocationList.revoke("tokenId", 2_000_000L);
+
+        verify(revokedTokenRepository).saveLatest(new RevokedToken("tokenId", 2_000_000L));
+        assertThat(tokenRevocationList.isRevoked("tokenId")).isTrue();
+        assertThat(tokenRevocationList.isRevoked("otherTokenId")).isFalse();
+        assertThat(tokenRevocationList.isRevoked(null)).isFalse();
+    }
+
+    @Test
+    void whenRevokeExpiredToken_thenShouldNotStoreIt() {
+        tokenRevocationList.revoke("tokenId", 1_000_000L);
+
+        verify(revokedTokenRepository, never()).saveLatest(any(RevokedToken.class));
+        assertThat(tokenRevocationList.isRevoked("tokenId")).isFalse();
+    }
+
+    @Test
+    void testLoad() {
+        when(revokedTokenRepository.findByExpiresAtGreaterThan(1_000_000L))
+            .thenReturn(List.of(new RevokedToken("tokenId", 2_000_000L)));
+
+        tokenRevocationList.load();
+
+        assertThat(tokenRevocationList.isRevoked("tokenId")).isTrue();
+    }
+
+    @Test
+    void whenPurgeIntervalElapses_thenShouldForgetExpiredTokens() {
+        tokenRevocationList.load();
+        tokenRevocationList.revoke("tokenId", 1_200_000L);
+
+        when(clock.millis()).thenReturn(1_700_000L);
+        tokenRevocationList.revoke("otherTokenId", 2_000_000L);
+
+        verify(revokedTokenRepository).deleteExpired(1_700_000L);
+        assertThat(tokenRevocationList.isRevoked("tokenId")).isFalse();
+        assertThat(tokenRevocationList.isRevoked("otherTokenId")).isTrue();
+    }
+
+    @Test
+    void whenRevokeSharedTokenIdLaterExpiryFirst_thenShouldKeepLaterExpiry() {
+        tokenRevocationList.load();
+        tokenRevocationList.revoke("subject:1000", 2_000_000L);
+        tokenRevocationList.revoke("subject:1000", 1_200_000L);
+
+        assertRevokedAfterEarlierExpiry("subject:1000");
+    }
+
+    @Test
+    void whenRevokeSharedTokenIdEarlierExpiryFirst_thenShouldKeepLaterExpiry() {
+        tokenRevocationList.load();
+        tokenRevocationList.revoke("subject:1000", 1_200_000L);
+        tokenRevocationList.revoke("subject:1000", 2_000_000L);
+
+        assertRevokedAfterEarlierExpiry("subject:1000");
+    }
+
+    @Test
+    void whenLoadSharedTokenId_thenShouldKeepLaterExpiry() {
+        when(revokedTokenRepository.findByExpiresAtGreaterThan(1_000_000L))
+            .thenReturn(List.of(new RevokedToken("subject:1000", 2_000_000L), new RevokedToken("subject:1000", 1_200_000L)));
+        tokenRevocationList.load();
+
+        assertRevokedAfterEarlierExpiry("subject:1000");
+    }
+
+    // Purges past the earlier expiry, the token with the later one must still be revoked
+    private void assertRevokedAfterEarlierExpiry(String tokenId) {
+        when(clock.millis()).thenReturn(1_700_000L);
+        tokenRevocationList.revoke("otherTokenId", 2_000_000L);
+
+        verify(revokedTokenRepository).deleteExpired(1_700_000L);
+        assertThat(tokenRevocationList.isRevoked(tokenId)).isTrue();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.unit.security.jwt.util;
+
+import com.example.demo.security.jwt.util.SampledFailureLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+
+import javax.crypto.AEADBadTagException;
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SampledFailureLogUnitTest {
+
+    private SampledFailureLog failureLog;
+    private SimpleMeterRegistry meterRegistry;
+
+    @Mock
+    private Logger log;
+    @Mock
+    private Clock clock;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        failureLog = new SampledFailureLog(log, "test", meterRegistry, 2, Duration.ofMinutes(1), clock);
+        when(clock.millis()).thenReturn(600_000L);
+    }
+
+    @Test
+    void whenFailuresExceedSampleRate_thenShouldCountAllAndLogOnlySample() {
+        for (int i = 0; i < 5; i++) {
+            failureLog.failure("Decryption error", new AEADBadTagException());
+        }
+        failureLog.failure("Decryption error", new IllegalArgumentException());
+
+        verify(log, times(2)).warn(anyString(), any(), any(), any());
+        assertThat(failureCount("AEADBadTagException")).isEqualTo(5);
+        assertThat(failureCount("IllegalArgumentException")).isEqualTo(1);
+    }
+
+    @Test
+    void whenIntervalPasses_thenShouldLogAgainWithSuppressedCount() {
+        for (int i = 0; i < 5; i++) {
+            failureLog.failure("Decryption error", new AEADBadTagException());
+        }
+        when(clock.millis()).thenReturn(660_000L);
+
+        failureLog.failure("Decryption error", new AEADBadTagException());
+
+        verify(log).warn(anyString(), eq("Decryption error"), any(AEADBadTagException.class), eq(3L));
+    }
+
+    @Test
+    void whenDebugIsEnabled_thenShouldLogWithStackTrace() {
+        when(log.isDebugEnabled()).thenReturn(true);
+        AEADBadTagException exception = new AEADBadTagException();
+
+        failureLog.failure("Decryption error", exception);
+
+        verify(log).debug(anyString(), eq("Decryption error"), eq(exception), eq(0L), eq(exception));
+        verify(log, never()).warn(anyString(), any(), any(), any());
+    }
+
+    private double failureCount(String exception) {
+        return meterRegistry.get(SampledFailureLog.METRIC_NAME).tag("source", "test")
+            .tag("exception", exception).counter().count();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.demo.unit.security.jwt.util;
+
+import com.example.demo.security.jwt.dto.TokenClaims;
+import com.example.demo.security.jwt.util.SealedTokenCodec;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SealedTokenCodecUnitTest {
+
+    private final SealedTokenCodec sealedTokenCodec = new SealedTokenCodec("guybew6584gyfuv6c4t6byuy45V6EcytDY4ECYRDy54vdy");
+
+    @Test
+    void testSealAndOpen() {
+        UUID tokenId = UUID.randomUUID();
+        int rolesMask = SealedTokenCodec.rolesMask(
+            List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER")));
+
+        String token = sealedTokenCodec.seal(tokenId, "test@gmail.com", 1L, rolesMask, 1000L);
+        Optional<TokenClaims> result = sealedTokenCodec.open(token);
+
+        assertThat(token).startsWith(SealedTokenCodec.PREFIX);
+        assertThat(SealedTokenCodec.isSealed(token)).isTrue();
+        assertThat(result).isPresent();
+        assertThat(result.get().getTokenId()).isEqualTo(tokenId.toString());
+        assertThat(result.get().getSubject()).isEqualTo("test@gmail.com");
+        assertThat(result.get().getUserId()).isEqualTo(1L);
+        assertThat(result.get().getExpiresAt()).isEqualTo(1000L);
+        assertThat(result.get().getAuthorities())
+            .containsExactly(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER"));
+    }
+
+    @Test
+    void whenSealWithoutUserIdOrRoles_thenShouldOpenWithoutThem() {
+        String token = sealedTokenCodec.seal(UUID.randomUUID(), "test@gmail.com", null, 0, 1000L);
+
+        Optional<TokenClaims> result = sealedTokenCodec.open(token);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getUserId()).isNull();
+        assertThat(result.get().getAuthorities()).isEmpty();
+    }
+
+    @Test
+    void whenAuthorityIsNotAKnownRole_thenRolesMaskShouldBeNegative() {
+        assertThat(SealedTokenCodec.rolesMask(List.of(new SimpleGrantedAuthority("ROLE_USER")))).isEqualTo(2);
+        assertThat(SealedTokenCodec.rolesMask(List.of(new SimpleGrantedAuthority("ROLE_OTHER")))).isNegative();
+        assertThat(SealedTokenCodec.rolesMask(List.of(new SimpleGrantedAuthority("USER")))).isNegative();
+    }
+
+    @Test
+    void whenOpenTamperedOrForeignToken_thenShouldGiveOptionalEmpty() {
+        String token = sealedTokenCodec.seal(UUID.randomUUID(), "test@gmail.com", 1L, 1, 1000L);
+        byte[] sealed = Base64.getUrlDecoder().decode(token.substring(SealedTokenCodec.PREFIX.length()));
+        sealed[sealed.length - 1] ^= 1;
+        String tampered = SealedTokenCodec.PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(sealed);
+        String foreign = new SealedTokenCodec("anotherSecretKeyWithTheSameLength4ECYRDy54vdy0")
+            .seal(UUID.randomUUID(), "test@gmail.com", 1L, 1, 1000L);
+
+        assertThat(sealedTokenCodec.open(tampered)).isNotPresent();
+        assertThat(sealedTokenCodec.open(foreign)).isNotPresent();
+        assertThat(sealedTokenCodec.open(SealedTokenCodec.PREFIX + "invalid value")).isNotPresent();
+        assertThat(sealedTokenCodec.open(SealedTokenCodec.PREFIX)).isNotPresent();
+        assertThat(sealedTokenCodec.open("eyXXXXXXXXXXXXXX")).isNotPresent();
+        assertThat(sealedTokenCodec.open(null)).isNotPresent();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.demo.unit.security.jwt.util;
+
+import com.example.demo.security.jwt.util.SecurityCipher;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SecurityCipherUnitTest {
+
+    @Test
+    void testEncryptAndDecrypt() {
+        String encrypted = SecurityCipher.encrypt("eyXXXXXXXXXXXXXX");
+
+        assertThat(encrypted).isNotNull().isNotEqualTo("eyXXXXXXXXXXXXXX");
+        assertThat(SecurityCipher.encrypt("eyXXXXXXXXXXXXXX")).isNotEqualTo(encrypted);
+        assertThat(SecurityCipher.decrypt(encrypted)).isEqualTo("eyXXXXXXXXXXXXXX");
+    }
+
+    @Test
+    void whenEncryptOrDecryptNull_thenShouldGiveNull() {
+        assertThat(SecurityCipher.encrypt(null)).isNull();
+        assertThat(SecurityCipher.decrypt(null)).isNull();
+    }
+
+    @Test
+    void whenDecryptTamperedValue_thenShouldGiveNull() {
+        byte[] encrypted = Base64.getDecoder().decode(SecurityCipher.encrypt("eyXXXXXXXXXXXXXX"));
+        encrypted[encrypted.length - 1] ^= 1;
+
+        assertThat(SecurityCipher.decrypt(Base64.getEncoder().encodeToString(encrypted))).isNull();
+        assertThat(SecurityCipher.decrypt("invalid value")).isNull();
+        assertThat(SecurityCipher.decrypt(SecurityCipher.encrypt("eyYYYYYYYYYYYYYY"))).isEqualTo("eyYYYYYYYYYYYYYY");
+    }
+
+    @Test
+    void whenEncryptAndDecryptConcurrently_thenShouldGiveOriginalValues() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> tasks = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String value = "token-" + i;
+                tasks.add(() -> value.equals(SecurityCipher.decrypt(SecurityCipher.encrypt(value))));
+            }
+            for (Future<Boolean> result : executor.invokeAll(tasks)) {
+                assertThat(result.get()).isTrue();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -1,11 +1,21 @@
 package com.example.demo.unit.service;
 
+import com.example.demo.dto.GeneratorTypeView;
 import com.example.demo.exception.GeneratorTypeNotFoundException;
 import com.example.demo.model.GeneratorType;
 import com.example.demo.repository.GeneratorTypeRepository;
 import com.example.demo.repository.criteria.GeneratorTypeCriteria;
+import com.example.demo.repository.cursor.Cursor;
+import com.example.demo.repository.cursor.CursorCodec;
+import com.example.demo.repository.cursor.CursorPage;
+import com.example.demo.repository.page.CountStrategy;
+import com.example.demo.repository.page.CountedPage;
+import com.example.demo.repository.page.PageLoader;
+import com.example.demo.repository.search.TrigramIndex;
+import com.example.demo.repository.page.ParallelCounter;
 import com.example.demo.repository.specification.GeneratorTypeSpecification;
 import com.example.demo.service.GeneratorTypeServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,8 +25,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -29,27 +42,72 @@ import static org.mockito.Mockito.*;
 class GeneratorTypeServiceImplUnitTest {
 
     private GeneratorTypeServiceImpl generatorTypeServiceImpl;
+    private final CursorCodec cursorCodec = new CursorCodec("cursorSecret");
+    private final PageLoader pageLoader = new PageLoader(CountStrategy.EXACT, 100, Duration.ofMinutes(1),
+        new ParallelCounter(false, 1, Duration.ofSeconds(1), new SimpleMeterRegistry()), new SimpleMeterRegistry());
 
     @Mock
     private GeneratorTypeRepository generatorTypeRepository;
 
     @BeforeEach
     public void setUp() {
-        generatorTypeServiceImpl = new GeneratorTypeServiceImpl(generatorTypeRepository);
+        generatorTypeServiceImpl = new GeneratorTypeServiceImpl(generatorTypeRepository, cursorCodec, pageLoader,
+            new TrigramIndex(null, false));
     }
 
+
+    @Test
+    void whenFindAllAfterCursorWithMoreResults_thenShouldGivePageWithNextCursor() {
+        GeneratorTypeCriteria filters = mock(GeneratorTypeCriteria.class);
+        Specification<GeneratorType> specification = new GeneratorTypeSpecification(filters);
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("name"));
+        Cursor cursor = Cursor.first("name", Sort.Direction.ASC);
+        List<GeneratorTypeView> generatorTypes = List.of(
+            new GeneratorTypeView(1, "Test 1"),
+            new GeneratorTypeView(2, "Test 2"),
+            new GeneratorTypeView(3, "Test 3"));
+
+        when(generatorTypeRepository.findAll(specification, GeneratorTypeView.PROJECTION, cursor, 3))
+            .thenReturn(generatorTypes);
+
+        CursorPage<GeneratorTypeView> result = generatorTypeServiceImpl.findAll(filters, "", pageable, null);
+
+        verify(generatorTypeRepository).findAll(specification, GeneratorTypeView.PROJECTION, cursor, 3);
+        assertThat(result.getContent()).containsExactly(generatorTypes.get(0), generatorTypes.get(1));
+        assertThat(result.isLast()).isFalse();
+        assertThat(cursorCodec.decode(result.getNext(), GeneratorType.class, Sort.unsorted(), List.of("name")))
+            .isEqualTo(cursor.after("Test 2", 2L));
+    }
+
+    @Test
+    void whenFindAllWithoutCountStrategy_thenShouldCountExactlyAndReportIt() {
+        GeneratorTypeCriteria filters = mock(GeneratorTypeCriteria.class);
+        Specification<GeneratorType> specification = new GeneratorTypeSpecification(filters);
+        Pageable pageable = PageRequest.of(0, 20);
+        List<GeneratorTypeView> generatorTypes = List.of(new GeneratorTypeView(1, "Test GeneratorType"));
+
+        when(generatorTypeRepository.findAll(specification, GeneratorTypeView.PROJECTION, pageable))
+            .thenReturn(new PageImpl<>(generatorTypes, pageable, 1));
+
+        Slice<GeneratorTypeView> result = generatorTypeServiceImpl.findAll(filters, (CountStrategy) null, pageable, null);
+
+        verify(generatorTypeRepository).findAll(specification, GeneratorTypeView.PROJECTION, pageable);
+        assertThat(result).isInstanceOf(CountedPage.class);
+        assertThat(((CountedPage<GeneratorTypeView>) result).getCountStrategy()).isEqualTo(CountStrategy.EXACT);
+        assertThat(result.getContent()).containsExactlyElementsOf(generatorTypes);
+    }
     @Test
     void whenFindAllWithUnmatchedFilters_thenShouldGiveEmptyPage() {
         GeneratorTypeCriteria filters = mock(GeneratorTypeCriteria.class);
         Specification<GeneratorType> specification = new GeneratorTypeSpecification(filters);
         Pageable pageable = PageRequest.of(0, 20);
-        Page<GeneratorType> page = new PageImpl<>(new ArrayList<>(), pageable, 0);
+        Page<GeneratorTypeView> page = new PageImpl<>(new ArrayList<>(), pageable, 0);
 
-        when(generatorTypeRepository.findAll(specification, pageable)).thenReturn(page);
+        when(generatorTypeRepository.findAll(specification, GeneratorTypeView.PROJECTION, pageable)).thenReturn(page);
 
-        Page<GeneratorType> result = generatorTypeServiceImpl.findAll(filters, pageable);
+        Slice<GeneratorTypeView> result = generatorTypeServiceImpl.findAll(filters, CountStrategy.EXACT, pageable, null);
 
-        verify(generatorTypeRepository).findAll(specification, pageable);
+        verify(generatorTypeRepository).findAll(specification, GeneratorTypeView.PROJECTION, pageable);
         assertThat(result).isNotNull();
         assertThat(result.getNumberOfElements()).isZero();
         assertThat(result.isEmpty()).isTrue();
@@ -62,18 +120,18 @@ class GeneratorTypeServiceImplUnitTest {
         GeneratorTypeCriteria filters = mock(GeneratorTypeCriteria.class);
         Specification<GeneratorType> specification = new GeneratorTypeSpecification(filters);
         Pageable pageable = PageRequest.of(0, 20);
-        List<GeneratorType> generatorTypes = List.of(
-            new GeneratorType("Test GeneratorType 1"),
-            new GeneratorType("Test GeneratorType 2"),
-            new GeneratorType("Test GeneratorType 3")
+        List<GeneratorTypeView> generatorTypes = List.of(
+            new GeneratorTypeView(1, "Test GeneratorType 1"),
+            new GeneratorTypeView(2, "Test GeneratorType 2"),
+            new GeneratorTypeView(3, "Test GeneratorType 3")
         );
-        Page<GeneratorType> page = new PageImpl<>(generatorTypes, pageable, 3);
+        Page<GeneratorTypeView> page = new PageImpl<>(generatorTypes, pageable, 3);
 
-        when(generatorTypeRepository.findAll(specification, pageable)).thenReturn(page);
+        when(generatorTypeRepository.findAll(specification, GeneratorTypeView.PROJECTION, pageable)).thenReturn(page);
 
-        Page<GeneratorType> result = generatorTypeServiceImpl.findAll(filters, pageable);
+        Slice<GeneratorTypeView> result = generatorTypeServiceImpl.findAll(filters, CountStrategy.EXACT, pageable, null);
 
-        verify(generatorTypeRepository).findAll(specification, pageable);
+        verify(generatorTypeRepository).findAll(specification, GeneratorTypeView.PROJECTION, pageable);
         assertThat(result).isNotNull();
         assertThat(result.getNumberOfElements()).isEqualTo(3);
         assertThat(result.getContent()).containsAll(generatorTypes);
@@ -82,24 +140,25 @@ class GeneratorTypeServiceImplUnitTest {
 
     @Test
     void whenFindByIdGeneratorTypeDoesNotExist_thenShouldGiveOptionalEmpty() {
-        when(generatorTypeRepository.findById((long) 1)).thenReturn(Optional.empty());
+        when(generatorTypeRepository.findById((long) 1, GeneratorTypeView.PROJECTION)).thenReturn(Optional.empty());
 
-        Optional<GeneratorType> resultGeneratorType = generatorTypeServiceImpl.findById(1);
+        Optional<GeneratorTypeView> resultGeneratorType = generatorTypeServiceImpl.findById(1, null);
 
-        verify(generatorTypeRepository).findById((long) 1);
+        verify(generatorTypeRepository).findById((long) 1, GeneratorTypeView.PROJECTION);
         assertThat(resultGeneratorType)
             .isNotPresent();
     }
 
     @Test
     void testFindById() {
-        GeneratorType expectedGeneratorType = new GeneratorType(1, "Test GeneratorType");
+        GeneratorTypeView expectedGeneratorType = new GeneratorTypeView(1, "Test GeneratorType");
 
-        when(generatorTypeRepository.findById((long) 1)).thenReturn(Optional.of(expectedGeneratorType));
+        when(generatorTypeRepository.findById((long) 1, GeneratorTypeView.PROJECTION))
+            .thenReturn(Optional.of(expectedGeneratorType));
 
-        Optional<GeneratorType> resultGeneratorType = generatorTypeServiceImpl.findById(1);
+        Optional<GeneratorTypeView> resultGeneratorType = generatorTypeServiceImpl.findById(1, null);
 
-        verify(generatorTypeRepository).findById((long) 1);
+        verify(generatorTypeRepository).findById((long) 1, GeneratorTypeView.PROJECTION);
         assertThat(resultGeneratorType)
             .isPresent()
             .contains((expectedGeneratorType));
@@ -1,11 +1,22 @@
 package com.example.demo.unit.service;
 
+import com.example.demo.dto.SocietyView;
+import com.example.demo.exception.InvalidFieldsException;
 import com.example.demo.exception.SocietyNotFoundException;
 import com.example.demo.model.Society;
 import com.example.demo.repository.SocietyRepository;
 import com.example.demo.repository.criteria.SocietyCriteria;
+import com.example.demo.repository.cursor.Cursor;
+import com.example.demo.repository.cursor.CursorCodec;
+import com.example.demo.repository.cursor.CursorPage;
+import com.example.demo.repository.page.CountStrategy;
+import com.example.demo.repository.page.CountedPage;
+import com.example.demo.repository.page.PageLoader;
+import com.example.demo.repository.search.TrigramIndex;
+import com.example.demo.repository.page.ParallelCounter;
 import com.example.demo.repository.specification.SocietySpecification;
 import com.example.demo.service.SocietyServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,8 +26,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -29,27 +43,71 @@ import static org.mockito.Mockito.*;
 class SocietyServiceImplUnitTest {
 
     private SocietyServiceImpl societyServiceImpl;
+    private final CursorCodec cursorCodec = new CursorCodec("cursorSecret");
+    private final PageLoader pageLoader = new PageLoader(CountStrategy.EXACT, 100, Duration.ofMinutes(1),
+        new ParallelCounter(false, 1, Duration.ofSeconds(1), new SimpleMeterRegistry()), new SimpleMeterRegistry());
 
     @Mock
     private SocietyRepository societyRepository;
 
     @BeforeEach
     public void setUp() {
-        societyServiceImpl = new SocietyServiceImpl(societyRepository);
+        societyServiceImpl = new SocietyServiceImpl(societyRepository, cursorCodec, pageLoader,
+            new TrigramIndex(null, false));
     }
 
+
+    @Test
+    void whenFindAllAfterCursorWithMoreResults_thenShouldGivePageWithNextCursor() {
+        SocietyCriteria filters = mock(SocietyCriteria.class);
+        Specification<Society> specification = new SocietySpecification(filters);
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("name"));
+        Cursor cursor = Cursor.first("name", Sort.Direction.ASC);
+        List<SocietyView> societies = List.of(
+            new SocietyView(1, "XXXXXXXXXX", "Test 1"),
+            new SocietyView(2, "YYYYYYYYYY", "Test 2"),
+            new SocietyView(3, "ZZZZZZZZZZ", "Test 3"));
+
+        when(societyRepository.findAll(specification, SocietyView.PROJECTION, cursor, 3)).thenReturn(societies);
+
+        CursorPage<SocietyView> result = societyServiceImpl.findAll(filters, "", pageable, null);
+
+        verify(societyRepository).findAll(specification, SocietyView.PROJECTION, cursor, 3);
+        assertThat(result.getContent()).containsExactly(societies.get(0), societies.get(1));
+        assertThat(result.isLast()).isFalse();
+        assertThat(cursorCodec.decode(result.getNext(), Society.class, Sort.unsorted(), List.of("name")))
+            .isEqualTo(cursor.after("Test 2", 2L));
+    }
+
+    @Test
+    void whenFindAllWithoutCountStrategy_thenShouldCountExactlyAndReportIt() {
+        SocietyCriteria filters = mock(SocietyCriteria.class);
+        Specification<Society> specification = new SocietySpecification(filters);
+        Pageable pageable = PageRequest.of(0, 20);
+        List<SocietyView> societies = List.of(new SocietyView(1, "XXXXXXXXXX", "Test Society"));
+
+        when(societyRepository.findAll(specification, SocietyView.PROJECTION, pageable))
+            .thenReturn(new PageImpl<>(societies, pageable, 1));
+
+        Slice<SocietyView> result = societyServiceImpl.findAll(filters, (CountStrategy) null, pageable, null);
+
+        verify(societyRepository).findAll(specification, SocietyView.PROJECTION, pageable);
+        assertThat(result).isInstanceOf(CountedPage.class);
+        assertThat(((CountedPage<SocietyView>) result).getCountStrategy()).isEqualTo(CountStrategy.EXACT);
+        assertThat(result.getContent()).containsExactlyElementsOf(societies);
+    }
     @Test
     void whenFindAllWithUnmatchedFilters_thenShouldGiveEmptyPage() {
         SocietyCriteria filters = mock(SocietyCriteria.class);
         Specification<Society> specification = new SocietySpecification(filters);
         Pageable pageable = PageRequest.of(0, 20);
-        Page<Society> page = new PageImpl<>(new ArrayList<>(), pageable, 0);
+        Page<SocietyView> page = new PageImpl<>(new ArrayList<>(), pageable, 0);
 
-        when(societyRepository.findAll(specification, pageable)).thenReturn(page);
+        when(societyRepository.findAll(specification, SocietyView.PROJECTION, pageable)).thenReturn(page);
 
-        Page<Society> result = societyServiceImpl.findAll(filters, pageable);
+        Slice<SocietyView> result = societyServiceImpl.findAll(filters, CountStrategy.EXACT, pageable, null);
 
-        verify(societyRepository).findAll(specification, pageable);
+        verify(societyRepository).findAll(specification, SocietyView.PROJECTION, pageable);
         assertThat(result).isNotNull();
         assertThat(result.getNumberOfElements()).isZero();
         assertThat(result.isEmpty()).isTrue();
@@ -62,18 +120,18 @@ class SocietyServiceImplUnitTest {
         SocietyCriteria filters = mock(SocietyCriteria.class);
         Specification<Society> specification = new SocietySpecification(filters);
         Pageable pageable = PageRequest.of(0, 20);
-        List<Society> societies = List.of(
-            new Society("XXXXXXXXXX","Test Society 1"),
-            new Society("YYYYYYYYYY","Test Society 2"),
-            new Society("ZZZZZZZZZZ","Test Society 3")
+        List<SocietyView> societies = List.of(
+            new SocietyView(1, "XXXXXXXXXX", "Test Society 1"),
+            new SocietyView(2, "YYYYYYYYYY", "Test Society 2"),
+            new SocietyView(3, "ZZZZZZZZZZ", "Test Society 3")
         );
-        Page<Society> page = new PageImpl<>(societies, pageable, 3);
+        Page<SocietyView> page = new PageImpl<>(societies, pageable, 3);
 
-        when(societyRepository.findAll(specification, pageable)).thenReturn(page);
+        when(societyRepository.findAll(specification, SocietyView.PROJECTION, pageable)).thenReturn(page);
 
-        Page<Society> result = societyServiceImpl.findAll(filters, pageable);
+        Slice<SocietyView> result = societyServiceImpl.findAll(filters, CountStrategy.EXACT, pageable, null);
 
-        verify(societyRepository).findAll(specification, pageable);
+        verify(societyRepository).findAll(specification, SocietyView.PROJECTION, pageable);
         assertThat(result).isNotNull();
         assertThat(result.getNumberOfElements()).isEqualTo(3);
         assertThat(result.getContent()).containsAll(societies);
@@ -82,24 +140,33 @@ class SocietyServiceImplUnitTest {
 
     @Test
     void whenFindByIdSocietyDoesNotExist_thenShouldGiveOptionalEmpty() {
-        when(societyRepository.findById((long) 1)).thenReturn(Optional.empty());
+        when(societyRepository.findById((long) 1, SocietyView.PROJECTION)).thenReturn(Optional.empty());
 
-        Optional<Society> resultSociety = societyServiceImpl.findById(1);
+        Optional<SocietyView> resultSociety = societyServiceImpl.findById(1, null);
 
-        verify(societyRepository).findById((long) 1);
+        verify(societyRepository).findById((long) 1, SocietyView.PROJECTION);
         assertThat(resultSociety)
             .isNotPresent();
     }
 
+    @Test
+    void whenFindByIdWithUnknownField_thenShouldGiveInvalidFieldsException() {
+        assertThatThrownBy(() -> societyServiceImpl.findById(1, List.of("name", "address")))
+            .isInstanceOf(InvalidFieldsException.class)
+            .hasMessage("Unknown field address, fields are id, cifDni, name");
+
+        verify(societyRepository, never()).findById(anyLong(), any());
+    }
+
     @Test
     void testFindById() {
-        Society expectedSociety = new Society(1, "XXXXXXXXXX", "Test Society");
+        SocietyView expectedSociety = new SocietyView(1, "XXXXXXXXXX", "Test Society");
 
-        when(societyRepository.findById((long) 1)).thenReturn(Optional.of(expectedSociety));
+        when(societyRepository.findById((long) 1, SocietyView.PROJECTION)).thenReturn(Optional.of(expectedSociety));
 
-        Optional<Society> resultSociety = societyServiceImpl.findById(1);
+        Optional<SocietyView> resultSociety = societyServiceImpl.findById(1, null);
 
-        verify(societyRepository).findById((long) 1);
+        verify(societyRepository).findById((long) 1, SocietyView.PROJECTION);
         assertThat(resultSociety)
             .isPresent()
             .contains((expectedSociety));
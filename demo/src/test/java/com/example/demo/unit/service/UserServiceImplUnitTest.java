@@ -1,13 +1,25 @@
 package com.example.demo.unit.service;
 
+import com.example.demo.dto.UserView;
 import com.example.demo.exception.UserNotFoundException;
 import com.example.demo.model.User;
 import com.example.demo.repository.UserRepository;
 import com.example.demo.repository.criteria.UserCriteria;
+import com.example.demo.repository.cursor.Cursor;
+import com.example.demo.repository.cursor.CursorCodec;
+import com.example.demo.repository.cursor.CursorPage;
+import com.example.demo.repository.page.CountStrategy;
+import com.example.demo.repository.page.CountedPage;
+import com.example.demo.repository.page.PageLoader;
+import com.example.demo.repository.search.TrigramIndex;
+import com.example.demo.repository.page.ParallelCounter;
 import com.example.demo.repository.specification.UserSpecification;
+import com.example.demo.security.UserDetailsCache;
+import com.example.demo.security.UserPrincipal;
 import com.example.demo.security.config.SecurityExpressions.UserRole;
 import com.example.demo.service.UserServiceImpl;
 import jakarta.servlet.http.HttpServletRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,10 +29,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.security.Principal;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -33,29 +49,75 @@ import static org.mockito.Mockito.*;
 class UserServiceImplUnitTest {
 
     private UserServiceImpl userServiceImpl;
+    private final CursorCodec cursorCodec = new CursorCodec("cursorSecret");
+    private final PageLoader pageLoader = new PageLoader(CountStrategy.EXACT, 100, Duration.ofMinutes(1),
+        new ParallelCounter(false, 1, Duration.ofSeconds(1), new SimpleMeterRegistry()), new SimpleMeterRegistry());
 
     @Mock
     private UserRepository userRepository;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private UserDetailsCache userDetailsCache;
 
     @BeforeEach
     public void setUp() {
-        userServiceImpl = new UserServiceImpl(userRepository, passwordEncoder);
+        userServiceImpl = new UserServiceImpl(userRepository, passwordEncoder, userDetailsCache, cursorCodec, pageLoader,
+            new TrigramIndex(null, false));
+    }
+
+
+    @Test
+    void whenFindAllAfterCursorWithMoreResults_thenShouldGivePageWithNextCursor() {
+        UserCriteria filters = mock(UserCriteria.class);
+        Specification<User> specification = new UserSpecification(filters);
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("name"));
+        Cursor cursor = Cursor.first("name", Sort.Direction.ASC);
+        List<UserView> users = List.of(
+            new UserView(1, "Test 1", "test1@gmail.com", List.of(UserRole.USER.name())),
+            new UserView(2, "Test 2", "test2@gmail.com", List.of(UserRole.USER.name())),
+            new UserView(3, "Test 3", "test3@gmail.com", List.of(UserRole.USER.name())));
+
+        when(userRepository.findAll(specification, UserView.PROJECTION, cursor, 3)).thenReturn(users);
+
+        CursorPage<UserView> result = userServiceImpl.findAll(filters, "", pageable, null);
+
+        verify(userRepository).findAll(specification, UserView.PROJECTION, cursor, 3);
+        assertThat(result.getContent()).containsExactly(users.get(0), users.get(1));
+        assertThat(result.isLast()).isFalse();
+        assertThat(cursorCodec.decode(result.getNext(), User.class, Sort.unsorted(), List.of("name")))
+            .isEqualTo(cursor.after("Test 2", 2L));
     }
 
+    @Test
+    void whenFindAllWithoutCountStrategy_thenShouldCountExactlyAndReportIt() {
+        UserCriteria filters = mock(UserCriteria.class);
+        Specification<User> specification = new UserSpecification(filters);
+        Pageable pageable = PageRequest.of(0, 20);
+        List<UserView> users = List.of(new UserView(1, "Test User", "test@gmail.com", List.of(UserRole.USER.name())));
+
+        when(userRepository.findAll(specification, UserView.PROJECTION, pageable))
+            .thenReturn(new PageImpl<>(users, pageable, 1));
+
+        Slice<UserView> result = userServiceImpl.findAll(filters, (CountStrategy) null, pageable, null);
+
+        verify(userRepository).findAll(specification, UserView.PROJECTION, pageable);
+        assertThat(result).isInstanceOf(CountedPage.class);
+        assertThat(((CountedPage<UserView>) result).getCountStrategy()).isEqualTo(CountStrategy.EXACT);
+        assertThat(result.getContent()).containsExactlyElementsOf(users);
+    }
     @Test
     void whenFindAllWithUnmatchedFilters_thenShouldGiveEmptyPage() {
         UserCriteria filters = mock(UserCriteria.class);
         Specification<User> specification = new UserSpecification(filters);
         Pageable pageable = PageRequest.of(0, 20);
-        Page<User> page = new PageImpl<>(new ArrayList<>(), pageable, 0);
+        Page<UserView> page = new PageImpl<>(new ArrayList<>(), pageable, 0);
 
-        when(userRepository.findAll(specification, pageable)).thenReturn(page);
+        when(userRepository.findAll(specification, UserView.PROJECTION, pageable)).thenReturn(page);
 
-        Page<User> result = userServiceImpl.findAll(filters, pageable);
+        Slice<UserView> result = userServiceImpl.findAll(filters, CountStrategy.EXACT, pageable, null);
 
-        verify(userRepository).findAll(specification, pageable);
+        verify(userRepository).findAll(specification, UserView.PROJECTION, pageable);
         assertThat(result).isNotNull();
         assertThat(result.getNumberOfElements()).isZero();
         assertThat(result.isEmpty()).isTrue();
@@ -68,26 +130,24 @@ class UserServiceImplUnitTest {
         UserCriteria filters = mock(UserCriteria.class);
         Specification<User> specification = new UserSpecification(filters);
         Pageable pageable = PageRequest.of(0, 20);
-        List<User> users = List.of(
-            new User(1,
+        List<UserView> users = List.of(
+            new UserView(1,
                 "Test User",
                 "test@gmail.com",
-                "ZXhhbXBsZSBwYXNzd29yZA==",
                 List.of(UserRole.ADMIN.name(), UserRole.USER.name())
             ),
-            new User(2,
+            new UserView(2,
                 "Distinct User",
                 "other@gmail.com",
-                "yYyYyYyYyYyYyYyYy==",
                 List.of(UserRole.USER.name()))
         );
-        Page<User> page = new PageImpl<>(users, pageable, 2);
+        Page<UserView> page = new PageImpl<>(users, pageable, 2);
 
-        when(userRepository.findAll(specification, pageable)).thenReturn(page);
+        when(userRepository.findAll(specification, UserView.PROJECTION, pageable)).thenReturn(page);
 
-        Page<User> result = userServiceImpl.findAll(filters, pageable);
+        Slice<UserView> result = userServiceImpl.findAll(filters, CountStrategy.EXACT, pageable, null);
 
-        verify(userRepository).findAll(specification, pageable);
+        verify(userRepository).findAll(specification, UserView.PROJECTION, pageable);
         assertThat(result).isNotNull();
         assertThat(result.getNumberOfElements()).isEqualTo(2);
         assertThat(result.getContent()).containsAll(users);
@@ -96,29 +156,28 @@ class UserServiceImplUnitTest {
 
     @Test
     void whenFindByIdUserDoesNotExist_thenShouldGiveOptionalEmpty() {
-        when(userRepository.findById((long) 1)).thenReturn(Optional.empty());
+        when(userRepository.findById((long) 1, UserView.PROJECTION)).thenReturn(Optional.empty());
 
-        Optional<User> resultUser = userServiceImpl.findById(1);
+        Optional<UserView> resultUser = userServiceImpl.findById(1, null);
 
-        verify(userRepository).findById((long) 1);
+        verify(userRepository).findById((long) 1, UserView.PROJECTION);
         assertThat(resultUser)
             .isNotPresent();
     }
 
     @Test
     void testFindById() {
-        User expectedUser = new User(1,
+        UserView expectedUser = new UserView(1,
             "Test User",
             "test@gmail.com",
-            "ZXhhbXBsZSBwYXNzd29yZA==",
             List.of(UserRole.ADMIN.name(), UserRole.USER.name())
         );
 
-        when(userRepository.findById((long) 1)).thenReturn(Optional.of(expectedUser));
+        when(userRepository.findById((long) 1, UserView.PROJECTION)).thenReturn(Optional.of(expectedUser));
 
-        Optional<User> resultUser = userServiceImpl.findById(1);
+        Optional<UserView> resultUser = userServiceImpl.findById(1, null);
 
-        verify(userRepository).findById((long) 1);
+        verify(userRepository).findById((long) 1, UserView.PROJECTION);
         assertThat(resultUser)
             .isPresent()
             .contains((expectedUser));
@@ -228,6 +287,8 @@ class UserServiceImplUnitTest {
         verify(userRepository).findById((long) 1);
         verify(passwordEncoder).encode("new example password");
         verify(userRepository).save(newUser);
+        verify(userDetailsCache).evict("test@gmail.com");
+        verify(userDetailsCache).evict("newtest@gmail.com");
         assertThat(resultUser).isEqualTo(expectedUser);
     }
 
@@ -241,6 +302,7 @@ class UserServiceImplUnitTest {
 
         verify(userRepository).findById((long) 1);
         verify(userRepository, never()).delete(any(User.class));
+        verify(userDetailsCache, never()).evict(anyString());
     }
 
     @Test
@@ -257,6 +319,7 @@ class UserServiceImplUnitTest {
 
         verify(userRepository).findById((long) 1);
         verify(userRepository).delete(user);
+        verify(userDetailsCache).evict("test@gmail.com");
     }
 
     @Test
@@ -295,4 +358,56 @@ class UserServiceImplUnitTest {
             .isPresent()
             .contains((currentUser));
     }
-}
\ No newline at end of file
+
+    @Test
+    void whenGetCurrentUserIdIsNotAuthenticated_thenShouldGiveOptionalEmpty() {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getUserPrincipal()).thenReturn(null);
+
+        Optional<Long> resultUserId = userServiceImpl.getCurrentUserId(request);
+
+        verify(request).getUserPrincipal();
+        verify(userRepository, never()).findByEmail(anyString());
+        assertThat(resultUserId)
+            .isNotPresent();
+    }
+
+    @Test
+    void whenGetCurrentUserIdWithUserPrincipal_thenShouldNotQueryRepository() {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        UserPrincipal principal = new UserPrincipal(1, "test@gmail.com", "", List.of());
+        when(request.getUserPrincipal()).thenReturn(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        Optional<Long> resultUserId = userServiceImpl.getCurrentUserId(request);
+
+        verify(request).getUserPrincipal();
+        verify(userRepository, never()).findByEmail(anyString());
+        assertThat(resultUserId)
+            .isPresent()
+            .contains(1L);
+    }
+
+    @Test
+    void testGetCurrentUserId() {
+        User currentUser = new User(1,
+            "Test User",
+            "test@gmail.com",
+            "ZXhhbXBsZSBwYXNzd29yZA==",
+            List.of(UserRole.ADMIN.name(), UserRole.USER.name())
+        );
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        Principal userPrincipal = mock(Principal.class);
+        when(request.getUserPrincipal()).thenReturn(userPrincipal);
+        when(userPrincipal.getName()).thenReturn(currentUser.getEmail());
+        when(userRepository.findByEmail(currentUser.getEmail())).thenReturn(Optional.of(currentUser));
+
+        Optional<Long> resultUserId = userServiceImpl.getCurrentUserId(request);
+
+        verify(request).getUserPrincipal();
+        verify(userRepository).findByEmail(currentUser.getEmail());
+        assertThat(resultUserId)
+            .isPresent()
+            .contains(1L);
+    }
+}
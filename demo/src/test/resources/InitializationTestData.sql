@@ -1,14 +1,11 @@
-INSERT INTO user (ID, NAME, EMAIL, PASSWORD)
-VALUES (1, 'admin', 'admin@gmail.com', '$2a$10$gDc4SqW9Y9VsPNDV63krR.yNGhVkVBdRFUU9GUV6VhuSfi6neNr8K');
+INSERT INTO user (ID, NAME, EMAIL, NAME_NORMALIZED, EMAIL_NORMALIZED, NAME_LENGTH, EMAIL_LENGTH, ROLES_MASK)
+VALUES (1, 'admin', 'admin@gmail.com', 'admin', 'admin@gmail.com', 5, 15, 3);
 
-INSERT INTO user_roles (USER_ID, ROLES)
-VALUES (1, 'USER');
+INSERT INTO user (ID, NAME, EMAIL, NAME_NORMALIZED, EMAIL_NORMALIZED, NAME_LENGTH, EMAIL_LENGTH, ROLES_MASK)
+VALUES (2, 'user', 'user@gmail.com', 'user', 'user@gmail.com', 4, 14, 2);
 
-INSERT INTO user_roles (USER_ID, ROLES)
-VALUES (1, 'ADMIN');
+INSERT INTO user_credential (USER_ID, PASSWORD)
+VALUES (1, '$2a$10$gDc4SqW9Y9VsPNDV63krR.yNGhVkVBdRFUU9GUV6VhuSfi6neNr8K');
 
-INSERT INTO user (ID, NAME, EMAIL, PASSWORD)
-VALUES (2, 'user', 'user@gmail.com', '$2a$10$1ok3CeCSVd/GyiguPQwAS.Nw3tvOoBcX0n4ZCn9wV5mpFy3Z74Z2.');
-
-INSERT INTO user_roles (USER_ID, ROLES)
-VALUES (2, 'USER');
\ No newline at end of file
+INSERT INTO user_credential (USER_ID, PASSWORD)
+VALUES (2, '$2a$10$1ok3CeCSVd/GyiguPQwAS.Nw3tvOoBcX0n4ZCn9wV5mpFy3Z74Z2.');
\ No newline at end of file